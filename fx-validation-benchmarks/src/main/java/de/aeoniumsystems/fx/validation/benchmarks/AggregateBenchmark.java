@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import de.aeoniumsystems.fx.validation.FXValidationAggregate;
+import de.aeoniumsystems.fx.validation.RequiredValidator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The combined validation state of a controller with 10, 100 and 1,000
+ * validators: the cost of a single validator changing its state, and of
+ * building the aggregate.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregateBenchmark {
+
+  /**
+   * Gives access to the validation state.
+   */
+  static class ToggleValidator extends RequiredValidator {
+
+    void toggle(boolean valid) {
+      this.setValid(valid);
+    }
+  }
+
+  @Param({"10", "100", "1000"})
+  public int validators;
+
+  private ToggleValidator[] instances;
+
+  private FXValidationAggregate aggregate;
+
+  private int next = 0;
+
+  @Setup
+  public void setup() {
+    instances = new ToggleValidator[validators];
+    for (int i = 0; i < validators; i++) {
+      instances[i] = new ToggleValidator();
+      instances[i].toggle(true);
+    }
+    aggregate = build();
+  }
+
+  private FXValidationAggregate build() {
+    FXValidationAggregate result = new FXValidationAggregate();
+    for (ToggleValidator instance : instances) {
+      result.add(instance);
+    }
+    return result;
+  }
+
+  /**
+   * One validator changes its state, round robin.
+   *
+   * @return The combined state
+   */
+  @Benchmark
+  public boolean toggleOne() {
+    ToggleValidator instance = instances[next];
+    next = (next + 1) % instances.length;
+    instance.toggle(!instance.isValid());
+    return aggregate.isValid();
+  }
+
+  @Benchmark
+  public FXValidationAggregate buildAggregate() {
+    return build();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import de.aeoniumsystems.fx.validation.FXValidatorService;
+import de.aeoniumsystems.fx.validation.annotations.FXNotNull;
+import de.aeoniumsystems.fx.validation.annotations.FXNumber;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.annotations.FXValidationChecked;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+
+/**
+ * A typical form controller, built in code instead of FXML.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public class BenchmarkForm {
+
+  @FXRequired
+  public TextField firstName = new TextField();
+
+  @FXRequired
+  public TextField lastName = new TextField();
+
+  @FXString(minLength = 5, maxLength = 5, pattern = "[0-9]*")
+  public TextField zip = new TextField();
+
+  @FXRequired
+  public TextField city = new TextField();
+
+  @FXString(pattern = "[^@]+@[^@]+")
+  public TextField email = new TextField();
+
+  @FXNumber(min = 0, max = 150)
+  public TextField age = new TextField();
+
+  @FXNotNull
+  public ComboBox<String> country = new ComboBox<>();
+
+  @FXValidationChecked
+  public Button save = new Button("Save");
+
+  @FXValidationChecked
+  public BooleanProperty valid = new SimpleBooleanProperty(false);
+
+  public VBox root = new VBox();
+
+  public BenchmarkForm() {
+    row("First name", firstName);
+    row("Last name", lastName);
+    row("ZIP", zip);
+    row("City", city);
+    row("E-mail", email);
+    row("Age", age);
+    row("Country", country);
+    root.getChildren().add(save);
+  }
+
+  private void row(String text, Control control) {
+    Label label = new Label(text);
+    label.setLabelFor(control);
+    Label message = new Label();
+    message.setLabelFor(control);
+    message.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+    root.getChildren().addAll(new Node[]{label, control, message});
+  }
+}
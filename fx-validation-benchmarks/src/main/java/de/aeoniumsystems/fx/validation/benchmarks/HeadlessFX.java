@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit on the headless Monocle platform, so the
+ * benchmarks run without a display. The benchmarks work on detached scene
+ * graphs, which may be modified on the benchmark thread.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class HeadlessFX {
+
+  private static boolean started = false;
+
+  private HeadlessFX() {
+    // static helper
+  }
+
+  /**
+   * Start the toolkit, if not yet done. System properties given on the command
+   * line take precedence, e.g. <code>-Dglass.platform=gtk</code> for a real
+   * display.
+   *
+   * @throws InterruptedException If interrupted while waiting for the toolkit.
+   */
+  public static synchronized void start() throws InterruptedException {
+    if (started) {
+      return;
+    }
+    setIfAbsent("glass.platform", "Monocle");
+    setIfAbsent("monocle.platform", "Headless");
+    setIfAbsent("prism.order", "sw");
+    setIfAbsent("java.awt.headless", "true");
+
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      Platform.startup(latch::countDown);
+    } catch (IllegalStateException ex) {
+      // already running
+      latch.countDown();
+    }
+    latch.await();
+    Platform.setImplicitExit(false);
+    started = true;
+  }
+
+  private static void setIfAbsent(String key, String value) {
+    if (System.getProperty(key) == null) {
+      System.setProperty(key, value);
+    }
+  }
+}
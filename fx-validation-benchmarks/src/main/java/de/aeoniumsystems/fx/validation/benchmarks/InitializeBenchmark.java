@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import de.aeoniumsystems.fx.validation.FXValidatorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end wiring of a form: label discovery, annotation processing,
+ * validator creation and binding of the checked controls - and dispose, so the
+ * forms do not pile up.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitializeBenchmark {
+
+  @Setup
+  public void setup() throws Exception {
+    HeadlessFX.start();
+  }
+
+  @Benchmark
+  public BenchmarkForm initializeAndDispose() {
+    BenchmarkForm form = new BenchmarkForm();
+    FXValidatorService.initialize(form.root, form);
+    FXValidatorService.dispose(form);
+    return form;
+  }
+
+  @Benchmark
+  public BenchmarkForm createOnly() {
+    return new BenchmarkForm();
+  }
+}
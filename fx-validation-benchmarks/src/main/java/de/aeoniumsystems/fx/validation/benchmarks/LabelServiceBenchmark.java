@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import de.aeoniumsystems.fx.validation.utils.LabelService;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Label discovery on synthetic forms of 100 and 1,000 rows, each row a label
+ * and a text field, spread over tabs and titled panes.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelServiceBenchmark {
+
+  private static final int ROWS_PER_GROUP = 10;
+
+  @Param({"100", "1000"})
+  public int rows;
+
+  private Parent fresh;
+
+  private Parent initialized;
+
+  @Setup(Level.Trial)
+  public void setupTrial() throws Exception {
+    HeadlessFX.start();
+    initialized = createForm(rows);
+    LabelService.initialize(initialized);
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    fresh = createForm(rows);
+  }
+
+  /**
+   * Create a form: groups of rows in titled panes, every other group in a
+   * tab.
+   *
+   * @param rows The number of rows
+   * @return The root node
+   */
+  static Parent createForm(int rows) {
+    VBox root = new VBox();
+    TabPane tabPane = new TabPane();
+    root.getChildren().add(tabPane);
+    for (int group = 0; group * ROWS_PER_GROUP < rows; group++) {
+      VBox content = new VBox();
+      for (int row = group * ROWS_PER_GROUP; row < Math.min(rows, (group + 1) * ROWS_PER_GROUP); row++) {
+        TextField field = new TextField();
+        Label label = new Label("Row " + row);
+        label.setLabelFor(field);
+        content.getChildren().add(new HBox(label, field));
+      }
+      if (group % 2 == 0) {
+        tabPane.getTabs().add(new Tab("Group " + group, content));
+      } else {
+        root.getChildren().add(new TitledPane("Group " + group, content));
+      }
+    }
+    return root;
+  }
+
+  @Benchmark
+  public Parent initializeFresh() {
+    LabelService.initialize(fresh);
+    return fresh;
+  }
+
+  @Benchmark
+  public Parent initializeAgain() {
+    LabelService.initialize(initialized);
+    return initialized;
+  }
+
+  @Benchmark
+  public Parent watchFresh() {
+    LabelService.watch(fresh);
+    return fresh;
+  }
+}
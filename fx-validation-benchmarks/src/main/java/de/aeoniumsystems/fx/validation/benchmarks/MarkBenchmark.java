@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import de.aeoniumsystems.fx.validation.DefaultFXValidationHandler;
+import de.aeoniumsystems.fx.validation.FXValidatorService;
+import de.aeoniumsystems.fx.validation.utils.LabelService;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Marking a control with a label and a message label: repeatedly with the same
+ * state, and alternating between valid and invalid.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkBenchmark {
+
+  private TextField control;
+
+  private boolean valid = false;
+
+  @Setup
+  public void setup() throws Exception {
+    HeadlessFX.start();
+
+    control = new TextField();
+    Label label = new Label("Name");
+    label.setLabelFor(control);
+    Label message = new Label();
+    message.setLabelFor(control);
+    message.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+    LabelService.initialize(new VBox(label, control, message));
+  }
+
+  @Benchmark
+  public TextField markValid() {
+    DefaultFXValidationHandler.mark(control, true, null);
+    return control;
+  }
+
+  @Benchmark
+  public TextField markInvalid() {
+    DefaultFXValidationHandler.mark(control, false, "Please enter a name.");
+    return control;
+  }
+
+  @Benchmark
+  public TextField markToggle() {
+    valid = !valid;
+    DefaultFXValidationHandler.mark(control, valid, valid ? null : "Please enter a name.");
+    return control;
+  }
+}
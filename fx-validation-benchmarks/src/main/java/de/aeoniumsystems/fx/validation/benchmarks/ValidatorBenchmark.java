@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.benchmarks;
+
+import de.aeoniumsystems.fx.validation.FXAbstractValidator;
+import de.aeoniumsystems.fx.validation.NumberValidator;
+import de.aeoniumsystems.fx.validation.RequiredValidator;
+import de.aeoniumsystems.fx.validation.StringValidator;
+import de.aeoniumsystems.fx.validation.annotations.FXNumber;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.control.Control;
+import javafx.scene.control.TextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The built-in validators on valid and invalid input - both the classic
+ * {@link FXAbstractValidator#validate(Control, Annotation)}, which throws on
+ * invalid input, and the exception-free
+ * {@link FXAbstractValidator#evaluate(Control, Annotation)}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+  /**
+   * Holder of the benchmarked annotations.
+   */
+  static class Annotations {
+
+    @FXString(minLength = 2, maxLength = 8, pattern = "[a-z]*")
+    TextField string;
+
+    @FXNumber(min = 5, max = 15)
+    TextField number;
+
+    @FXRequired
+    TextField required;
+  }
+
+  private FXString fxString;
+  private FXNumber fxNumber;
+  private FXRequired fxRequired;
+
+  private StringValidator stringValidator;
+  private NumberValidator numberValidator;
+  private RequiredValidator requiredValidator;
+
+  private TextField validString;
+  private TextField invalidString;
+  private TextField validNumber;
+  private TextField invalidNumber;
+  private TextField filled;
+  private TextField empty;
+
+  @Setup
+  public void setup() throws Exception {
+    HeadlessFX.start();
+
+    fxString = Annotations.class.getDeclaredField("string").getAnnotation(FXString.class);
+    fxNumber = Annotations.class.getDeclaredField("number").getAnnotation(FXNumber.class);
+    fxRequired = Annotations.class.getDeclaredField("required").getAnnotation(FXRequired.class);
+
+    validString = new TextField("valid");
+    invalidString = new TextField("NOT valid");
+    validNumber = new TextField("7.5");
+    invalidNumber = new TextField("7,5x");
+    filled = new TextField("x");
+    empty = new TextField("");
+
+    stringValidator = prepare(new StringValidator(), validString, fxString);
+    numberValidator = prepare(new NumberValidator(), validNumber, fxNumber);
+    requiredValidator = prepare(new RequiredValidator(), filled, fxRequired);
+  }
+
+  private static <T extends Control, A extends Annotation, V extends FXAbstractValidator<T, A>> V prepare(V validator, T control, A annotation) {
+    validator.setControl(control);
+    validator.setAnnotation(annotation);
+    validator.prepare();
+    return validator;
+  }
+
+  private static <T extends Control, A extends Annotation> Object validate(FXAbstractValidator<T, A> validator, T control, A annotation) {
+    try {
+      validator.validate(control, annotation);
+      return null;
+    } catch (ValidationException ex) {
+      return ex;
+    }
+  }
+
+  @Benchmark
+  public Object stringValid() {
+    return validate(stringValidator, validString, fxString);
+  }
+
+  @Benchmark
+  public Object stringInvalid() {
+    return validate(stringValidator, invalidString, fxString);
+  }
+
+  @Benchmark
+  public Object stringEvaluateInvalid() {
+    return stringValidator.evaluate(invalidString, fxString);
+  }
+
+  @Benchmark
+  public Object numberValid() {
+    return validate(numberValidator, validNumber, fxNumber);
+  }
+
+  @Benchmark
+  public Object numberInvalid() {
+    return validate(numberValidator, invalidNumber, fxNumber);
+  }
+
+  @Benchmark
+  public Object numberEvaluateInvalid() {
+    return numberValidator.evaluate(invalidNumber, fxNumber);
+  }
+
+  @Benchmark
+  public Object requiredValid() {
+    return validate(requiredValidator, filled, fxRequired);
+  }
+
+  @Benchmark
+  public Object requiredInvalid() {
+    return validate(requiredValidator, empty, fxRequired);
+  }
+
+  @Benchmark
+  public Object requiredEvaluateInvalid() {
+    return requiredValidator.evaluate(empty, fxRequired);
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rules of one class: the constrained fields and record components, with
+ * a getter and the compiled rules each. Computed once per class, see
+ * {@link ValidationEngine}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class BeanRules {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * A constrained property.
+   */
+  record Property(String name, MethodHandle getter, Rule[] rules) {
+
+    Object get(Object bean) {
+      try {
+        return getter.invokeExact(bean);
+      } catch (RuntimeException | Error ex) {
+        throw ex;
+      } catch (Throwable ex) {
+        throw new IllegalStateException("Cannot read " + name + " of " + bean.getClass().getName(), ex);
+      }
+    }
+  }
+
+  static final BeanRules NONE = new BeanRules(new Property[0]);
+
+  private final Property[] properties;
+
+  private BeanRules(Property[] properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Collect the constrained fields of a class and its superclasses, in
+   * declaration order - superclass fields first. For records, the values are
+   * read through the accessors of the record components; the annotations are
+   * taken from the fields, where the compiler puts them for annotations that
+   * target fields.
+   *
+   * @param type The class
+   * @param engine The engine that compiles and caches the rules.
+   * @return The rules of the class
+   */
+  static BeanRules of(Class<?> type, ValidationEngine engine) {
+    List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> c = type; c != null && c != Object.class && c != Record.class; c = c.getSuperclass()) {
+      hierarchy.add(0, c);
+    }
+
+    List<Property> properties = new ArrayList<>();
+    for (Class<?> c : hierarchy) {
+      for (Field field : c.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+          continue;
+        }
+        List<Rule> rules = new ArrayList<>(1);
+        for (Annotation annotation : field.getDeclaredAnnotations()) {
+          Rule rule = engine.ruleFor(annotation);
+          if (rule != null) {
+            rules.add(rule);
+          }
+        }
+        if (!rules.isEmpty()) {
+          properties.add(new Property(field.getName(), getter(c, field), rules.toArray(new Rule[rules.size()])));
+        }
+      }
+    }
+    return properties.isEmpty() ? NONE : new BeanRules(properties.toArray(new Property[properties.size()]));
+  }
+
+  private static MethodHandle getter(Class<?> type, Field field) {
+    try {
+      if (type.isRecord()) {
+        Method accessor = type.getDeclaredMethod(field.getName());
+        return MethodHandles.lookup().unreflect(accessible(accessor)).asType(GETTER_TYPE);
+      }
+      return MethodHandles.lookup().unreflectGetter(accessible(field)).asType(GETTER_TYPE);
+    } catch (ReflectiveOperationException ex) {
+      throw new IllegalArgumentException("Cannot access " + field.getName() + " of " + type.getName(), ex);
+    }
+  }
+
+  private static <T extends AccessibleObject> T accessible(T member) {
+    if (!member.trySetAccessible()) {
+      throw new IllegalArgumentException(member + " is not accessible - open its package to fx-validation-core.");
+    }
+    return member;
+  }
+
+  /**
+   * Get the rules of a property.
+   *
+   * @param name The name of the field or record component
+   * @return The rules, <code>null</code> if the property is not constrained.
+   */
+  Rule[] rulesOf(String name) {
+    for (Property property : this.properties) {
+      if (property.name().equals(name)) {
+        return property.rules();
+      }
+    }
+    return null;
+  }
+
+  boolean isEmpty() {
+    return this.properties.length == 0;
+  }
+
+  /**
+   * Check all properties of an object.
+   *
+   * @param bean The object
+   * @param index The position in a batch, -1 for a single object.
+   * @param violations The violations found so far, <code>null</code> if none.
+   * @return The violations, <code>null</code> if there are none - so a valid
+   * object does not allocate anything.
+   */
+  List<Violation> check(Object bean, int index, List<Violation> violations) {
+    for (Property property : this.properties) {
+      final Object value = property.get(bean);
+      for (Rule rule : property.rules()) {
+        ValidationResult result = rule.check(value);
+        if (!result.isValid()) {
+          if (violations == null) {
+            violations = new ArrayList<>(2);
+          }
+          violations.add(new Violation(index, bean, property.name(), result));
+        }
+      }
+    }
+    return violations;
+  }
+}
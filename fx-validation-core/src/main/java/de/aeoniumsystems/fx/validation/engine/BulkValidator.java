@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Validates large CSV or TSV files against the constraints of a class, e.g.,
+ * the DTO or controller class whose annotated fields the rows get imported
+ * into. The columns are mapped to the constrained fields by the names in the
+ * header row; other columns are ignored.
+ * <p>
+ * The file is streamed: one thread reads and parses it through a fixed NIO
+ * buffer, the rows are validated in chunks on the executor, and at most a few
+ * chunks per core are in flight at any time - so the file is never held in
+ * memory, regardless of its size. The violations are written to the report in
+ * the order of the file, one per line:</p>
+ * <pre>
+ * row&lt;TAB&gt;column&lt;TAB&gt;message key
+ * </pre>
+ * <p>
+ * The row is the line number the record starts on, the header being line
+ * 1.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public class BulkValidator {
+
+  private final ValidationEngine engine;
+
+  private final Class<?> type;
+
+  private final char delimiter;
+
+  private Charset charset = StandardCharsets.UTF_8;
+
+  private int chunkSize = 4096;
+
+  private Executor executor = ForkJoinPool.commonPool();
+
+  private int maxChunksInFlight = 2 * Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Create a validator.
+   *
+   * @param engine The engine that provides the rules.
+   * @param type The class with the constrained fields.
+   * @param delimiter The field delimiter
+   */
+  public BulkValidator(ValidationEngine engine, Class<?> type, char delimiter) {
+    this.engine = engine;
+    this.type = type;
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * Create a validator for comma separated values, with the shared engine.
+   *
+   * @param type The class with the constrained fields.
+   * @return The validator
+   */
+  public static BulkValidator csv(Class<?> type) {
+    return new BulkValidator(ValidationEngine.shared(), type, ',');
+  }
+
+  /**
+   * Create a validator for tab separated values, with the shared engine.
+   *
+   * @param type The class with the constrained fields.
+   * @return The validator
+   */
+  public static BulkValidator tsv(Class<?> type) {
+    return new BulkValidator(ValidationEngine.shared(), type, '\t');
+  }
+
+  /**
+   * Validate a file.
+   *
+   * @param file The file
+   * @param report The writer for the violations
+   * @return The summary
+   * @throws IOException If reading the file or writing the report fails.
+   */
+  public BulkReport validate(Path file, Writer report) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            Reader reader = Channels.newReader(channel, this.charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE), -1)) {
+      return this.validate(reader, report);
+    }
+  }
+
+  /**
+   * Validate delimiter separated values from a reader.
+   *
+   * @param input The input, starting with the header row.
+   * @param report The writer for the violations
+   * @return The summary
+   * @throws IOException If reading the input or writing the report fails.
+   */
+  public BulkReport validate(Reader input, Writer report) throws IOException {
+    final DelimitedParser parser = new DelimitedParser(input, this.delimiter);
+    final String[] header = parser.next();
+    if (header == null) {
+      return new BulkReport(0, 0);
+    }
+    if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+      header[0] = header[0].substring(1);
+    }
+    final Columns columns = this.map(header);
+
+    final Deque<CompletableFuture<Result>> inFlight = new ArrayDeque<>();
+    long rows = 0;
+    long violations = 0;
+    Chunk chunk = new Chunk(this.chunkSize);
+    try {
+      String[] record;
+      while ((record = parser.next()) != null) {
+        if (record.length == 1 && record[0].isEmpty()) {
+          continue;
+        }
+        rows++;
+        chunk.add(parser.recordLine(), record);
+        if (chunk.size == this.chunkSize) {
+          inFlight.add(this.submit(chunk, columns));
+          chunk = new Chunk(this.chunkSize);
+          // write finished chunks in order, and wait if too many are in flight
+          while (!inFlight.isEmpty() && (inFlight.peek().isDone() || inFlight.size() >= this.maxChunksInFlight)) {
+            violations += write(inFlight.poll(), report);
+          }
+        }
+      }
+      if (chunk.size > 0) {
+        inFlight.add(this.submit(chunk, columns));
+      }
+      while (!inFlight.isEmpty()) {
+        violations += write(inFlight.poll(), report);
+      }
+    } finally {
+      for (CompletableFuture<Result> future : inFlight) {
+        future.cancel(false);
+      }
+    }
+    report.flush();
+    return new BulkReport(rows, violations);
+  }
+
+  /**
+   * Map the header to the constrained fields.
+   */
+  private Columns map(String[] header) {
+    final BeanRules rules = this.engine.rulesOf(this.type);
+    List<Integer> indexes = new ArrayList<>();
+    List<Rule[]> columnRules = new ArrayList<>();
+    for (int i = 0; i < header.length; i++) {
+      Rule[] found = rules.rulesOf(header[i].trim());
+      if (found != null) {
+        indexes.add(i);
+        columnRules.add(found);
+      }
+    }
+    int[] index = new int[indexes.size()];
+    String[] names = new String[indexes.size()];
+    for (int i = 0; i < index.length; i++) {
+      index[i] = indexes.get(i);
+      names[i] = header[index[i]].trim();
+    }
+    return new Columns(index, names, columnRules.toArray(new Rule[columnRules.size()][]));
+  }
+
+  private CompletableFuture<Result> submit(Chunk chunk, Columns columns) {
+    return CompletableFuture.supplyAsync(() -> check(chunk, columns), this.executor);
+  }
+
+  /**
+   * Validate the rows of a chunk. A missing column counts as an empty value.
+   */
+  private static Result check(Chunk chunk, Columns columns) {
+    final StringBuilder text = new StringBuilder();
+    int count = 0;
+    for (int row = 0; row < chunk.size; row++) {
+      final String[] record = chunk.records[row];
+      for (int c = 0; c < columns.index.length; c++) {
+        final int index = columns.index[c];
+        final String value = index < record.length ? record[index] : "";
+        for (Rule rule : columns.rules[c]) {
+          ValidationResult result = rule.check(value);
+          if (!result.isValid()) {
+            text.append(chunk.lines[row]).append('\t')
+                    .append(columns.names[c]).append('\t')
+                    .append(result.getKey()).append('\n');
+            count++;
+          }
+        }
+      }
+    }
+    return new Result(text, count);
+  }
+
+  private static int write(CompletableFuture<Result> future, Writer report) throws IOException {
+    final Result result = future.join();
+    report.append(result.text());
+    return result.count();
+  }
+
+  public Charset getCharset() {
+    return charset;
+  }
+
+  public void setCharset(Charset charset) {
+    this.charset = charset;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Set the number of rows validated as one task.
+   *
+   * @param chunkSize The number of rows, at least 1.
+   */
+  public void setChunkSize(int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be positive.");
+    }
+    this.chunkSize = chunkSize;
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  public int getMaxChunksInFlight() {
+    return maxChunksInFlight;
+  }
+
+  /**
+   * Set the number of chunks that may be parsed but not written yet - this
+   * bounds the memory used.
+   *
+   * @param maxChunksInFlight The number of chunks, at least 1.
+   */
+  public void setMaxChunksInFlight(int maxChunksInFlight) {
+    if (maxChunksInFlight < 1) {
+      throw new IllegalArgumentException("The number of chunks in flight must be positive.");
+    }
+    this.maxChunksInFlight = maxChunksInFlight;
+  }
+
+  /**
+   * The mapped columns: their index in the records, their names and their
+   * rules.
+   */
+  private record Columns(int[] index, String[] names, Rule[][] rules) {
+  }
+
+  private record Result(CharSequence text, int count) {
+  }
+
+  /**
+   * A chunk of records, with the lines they start on.
+   */
+  private static final class Chunk {
+
+    final String[][] records;
+
+    final long[] lines;
+
+    int size = 0;
+
+    Chunk(int capacity) {
+      this.records = new String[capacity][];
+      this.lines = new long[capacity];
+    }
+
+    void add(long line, String[] record) {
+      this.records[this.size] = record;
+      this.lines[this.size] = line;
+      this.size++;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A streaming parser for delimiter separated values - CSV and TSV. Fields may
+ * be quoted with double quotes; quoted fields may contain delimiters, line
+ * breaks and doubled quotes. The parser reads through a fixed buffer, so only
+ * the current record is held in memory.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class DelimitedParser {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final Reader reader;
+
+  private final char delimiter;
+
+  private final char[] buffer = new char[BUFFER_SIZE];
+
+  private int position = 0;
+
+  private int limit = 0;
+
+  /**
+   * The line the next record starts on, 1-based.
+   */
+  private long line = 1;
+
+  private long recordLine = 0;
+
+  private final StringBuilder field = new StringBuilder(64);
+
+  private final List<String> fields = new ArrayList<>();
+
+  DelimitedParser(Reader reader, char delimiter) {
+    this.reader = reader;
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * The line the last record read has started on.
+   *
+   * @return The 1-based line number
+   */
+  long recordLine() {
+    return this.recordLine;
+  }
+
+  private int read() throws IOException {
+    if (this.position == this.limit) {
+      this.limit = this.reader.read(this.buffer, 0, this.buffer.length);
+      this.position = 0;
+      if (this.limit <= 0) {
+        this.limit = 0;
+        return -1;
+      }
+    }
+    return this.buffer[this.position++];
+  }
+
+  private int peek() throws IOException {
+    int c = this.read();
+    if (c >= 0) {
+      this.position--;
+    }
+    return c;
+  }
+
+  /**
+   * Read the next record.
+   *
+   * @return The fields, or <code>null</code> at the end of the input.
+   * @throws IOException If reading fails.
+   */
+  String[] next() throws IOException {
+    int c = this.read();
+    if (c < 0) {
+      return null;
+    }
+    this.recordLine = this.line;
+    this.fields.clear();
+    this.field.setLength(0);
+    boolean quoted = false;
+    boolean atFieldStart = true;
+    while (true) {
+      if (c < 0) {
+        break;
+      }
+      if (quoted) {
+        if (c == '"') {
+          if (this.peek() == '"') {
+            this.read();
+            this.field.append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          if (c == '\n') {
+            this.line++;
+          }
+          this.field.append((char) c);
+        }
+      } else if (c == '"' && atFieldStart) {
+        quoted = true;
+        atFieldStart = false;
+      } else if (c == this.delimiter) {
+        this.fields.add(this.field.toString());
+        this.field.setLength(0);
+        atFieldStart = true;
+        c = this.read();
+        continue;
+      } else if (c == '\n' || c == '\r') {
+        if (c == '\r' && this.peek() == '\n') {
+          this.read();
+        }
+        this.line++;
+        break;
+      } else {
+        this.field.append((char) c);
+        atFieldStart = false;
+      }
+      c = this.read();
+    }
+    this.fields.add(this.field.toString());
+    return this.fields.toArray(new String[this.fields.size()]);
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import java.lang.annotation.Annotation;
+
+/**
+ * Compiles constraint annotations into rules - the service provider interface
+ * of the {@link ValidationEngine}. Providers are looked up with the
+ * {@link java.util.ServiceLoader}, so a module that defines constraint
+ * annotations registers its provider in
+ * <code>META-INF/services/de.aeoniumsystems.fx.validation.engine.RuleProvider</code>.
+ * The fx-validation module does so for its JavaFX annotations, e.g.,
+ * <code>@FXString</code>.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public interface RuleProvider {
+
+  /**
+   * Compile an annotation into a rule. This is called once per distinct
+   * annotation, the engine caches the rules.
+   *
+   * @param annotation The annotation
+   * @return The rule, or <code>null</code> if the annotation is not a
+   * constraint of this provider.
+   */
+  Rule compile(Annotation annotation);
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Validates plain values, POJOs and records against constraint annotations,
+ * without JavaFX - e.g., for server-side import jobs that have to apply the
+ * same rules as the UI:
+ * <pre>
+ * List&lt;Violation&gt; violations = ValidationEngine.shared().validate(customer);
+ * </pre>
+ * The annotations are compiled into {@link Rule rules} by the registered
+ * {@link RuleProvider providers}. Rules are cached per distinct annotation,
+ * and the constrained properties of a class are looked up once per class, so
+ * validating an object does not use reflection beyond reading the values. The
+ * engine is thread-safe; {@link #validateAll(List)} validates large batches on
+ * all cores.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class ValidationEngine {
+
+  /**
+   * Marker for annotations that are not constraints - the rule cache does not
+   * take <code>null</code> values.
+   */
+  private static final Rule NO_RULE = value -> ValidationResult.VALID;
+
+  private final List<RuleProvider> providers;
+
+  /**
+   * The rules by annotation - annotations are equal if their members are, so
+   * equal constraints on different fields share one rule.
+   */
+  private final Map<Annotation, Rule> rules = new ConcurrentHashMap<>();
+
+  private final ClassValue<BeanRules> metadata = new ClassValue<>() {
+    @Override
+    protected BeanRules computeValue(Class<?> type) {
+      return BeanRules.of(type, ValidationEngine.this);
+    }
+  };
+
+  /**
+   * Create an engine with the given rule providers.
+   *
+   * @param providers The providers, asked in the given order.
+   */
+  public ValidationEngine(Iterable<? extends RuleProvider> providers) {
+    List<RuleProvider> list = new ArrayList<>();
+    for (RuleProvider provider : providers) {
+      list.add(Objects.requireNonNull(provider));
+    }
+    this.providers = Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Get the shared engine, with the rule providers registered with the
+   * {@link ServiceLoader}.
+   *
+   * @return The shared engine
+   */
+  public static ValidationEngine shared() {
+    return Shared.INSTANCE;
+  }
+
+  private static final class Shared {
+
+    static final ValidationEngine INSTANCE = new ValidationEngine(
+            ServiceLoader.load(RuleProvider.class, ValidationEngine.class.getClassLoader()));
+  }
+
+  /**
+   * Get the compiled rule of a constraint annotation.
+   *
+   * @param annotation The annotation
+   * @return The rule, or <code>null</code> if no provider supports the
+   * annotation.
+   */
+  public Rule ruleFor(Annotation annotation) {
+    Rule rule = this.rules.computeIfAbsent(annotation, this::compile);
+    return rule != NO_RULE ? rule : null;
+  }
+
+  private Rule compile(Annotation annotation) {
+    for (RuleProvider provider : this.providers) {
+      Rule rule = provider.compile(annotation);
+      if (rule != null) {
+        return rule;
+      }
+    }
+    return NO_RULE;
+  }
+
+  /**
+   * Check a plain value against a constraint annotation.
+   *
+   * @param annotation The annotation
+   * @param value The value
+   * @return The result
+   * @throws IllegalArgumentException If the annotation is not a supported
+   * constraint.
+   */
+  public ValidationResult check(Annotation annotation, Object value) {
+    Rule rule = this.ruleFor(annotation);
+    if (rule == null) {
+      throw new IllegalArgumentException("Not a supported constraint: " + annotation);
+    }
+    return rule.check(value);
+  }
+
+  /**
+   * Validate the constrained fields or record components of an object.
+   *
+   * @param bean The object, must not be <code>null</code>.
+   * @return The violations, empty if the object is valid.
+   */
+  public List<Violation> validate(Object bean) {
+    List<Violation> violations = this.rulesOf(bean).check(bean, -1, null);
+    return violations != null ? violations : List.of();
+  }
+
+  /**
+   * Check whether an object satisfies all its constraints.
+   *
+   * @param bean The object, must not be <code>null</code>.
+   * @return true, if there are no violations.
+   */
+  public boolean isValid(Object bean) {
+    return this.rulesOf(bean).check(bean, -1, null) == null;
+  }
+
+  /**
+   * Validate a batch of objects in parallel, on the common fork/join pool.
+   *
+   * @param beans The objects, must not contain <code>null</code>.
+   * @return The violations of all objects, ordered by their position in the
+   * batch - see {@link Violation#index()}.
+   */
+  public List<Violation> validateAll(List<?> beans) {
+    return IntStream.range(0, beans.size()).parallel()
+            .mapToObj(index -> {
+              Object bean = beans.get(index);
+              List<Violation> violations = this.rulesOf(bean).check(bean, index, null);
+              return violations != null ? violations : List.<Violation>of();
+            })
+            .flatMap(List::stream)
+            .toList();
+  }
+
+  /**
+   * Check whether a class has constrained properties at all.
+   *
+   * @param type The class
+   * @return true, if any field or record component has a supported constraint.
+   */
+  public boolean isConstrained(Class<?> type) {
+    return !this.metadata.get(type).isEmpty();
+  }
+
+  /**
+   * Get the rules of a class, e.g., for validating values that are not read
+   * from an instance, see {@link BulkValidator}.
+   *
+   * @param type The class
+   * @return The rules
+   */
+  BeanRules rulesOf(Class<?> type) {
+    return this.metadata.get(type);
+  }
+
+  private BeanRules rulesOf(Object bean) {
+    return this.metadata.get(Objects.requireNonNull(bean, "Object must not be null.").getClass());
+  }
+}
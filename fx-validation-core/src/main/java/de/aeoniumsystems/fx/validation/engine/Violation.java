@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+
+/**
+ * A failed constraint of an object.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param index The position of the object in a batch, -1 for a single object.
+ * @param bean The validated object
+ * @param property The name of the field or record component
+ * @param result The failure result of the rule
+ */
+public record Violation(int index, Object bean, String property, ValidationResult result) {
+
+  /**
+   * The key of the message, for looking it up in a resource bundle.
+   *
+   * @return The key
+   */
+  public String key() {
+    return result.getKey();
+  }
+
+  /**
+   * The default message, with the placeholder rendered.
+   *
+   * @return The message
+   */
+  public String message() {
+    return result.getMessage();
+  }
+}
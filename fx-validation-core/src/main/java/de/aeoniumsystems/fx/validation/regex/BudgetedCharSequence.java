@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+/**
+ * Wraps a character sequence and counts the characters read - a backtracking
+ * regex engine reads characters over and over again, so the number of reads
+ * is a measure of its steps. When the budget is used up, the next read throws
+ * a {@link MatchBudgetExceededException}, which aborts the match.
+ * <p>
+ * Sub-sequences share the budget of the sequence they have been taken from.
+ * Instances are not thread-safe, use one per match.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class BudgetedCharSequence implements CharSequence {
+
+  private final CharSequence text;
+
+  private final int offset;
+
+  private final int length;
+
+  private final long budget;
+
+  private final long[] remaining;
+
+  /**
+   * Wrap a text.
+   *
+   * @param text The text
+   * @param budget The maximum number of characters to read.
+   */
+  public BudgetedCharSequence(CharSequence text, long budget) {
+    this(text, 0, text.length(), budget, new long[]{budget});
+  }
+
+  private BudgetedCharSequence(CharSequence text, int offset, int length, long budget, long[] remaining) {
+    this.text = text;
+    this.offset = offset;
+    this.length = length;
+    this.budget = budget;
+    this.remaining = remaining;
+  }
+
+  @Override
+  public int length() {
+    return this.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (--this.remaining[0] < 0) {
+      throw new MatchBudgetExceededException("Match budget exceeded after reading " + this.getUsed() + " characters.");
+    }
+    return this.text.charAt(this.offset + index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > this.length || start > end) {
+      throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + this.length);
+    }
+    return new BudgetedCharSequence(this.text, this.offset + start, end - start, this.budget, this.remaining);
+  }
+
+  /**
+   * The remaining budget.
+   *
+   * @return The number of characters that may still be read.
+   */
+  public long getRemaining() {
+    return Math.max(0, this.remaining[0]);
+  }
+
+  /**
+   * The used budget, shared with all sub-sequences.
+   *
+   * @return The number of characters read.
+   */
+  public long getUsed() {
+    return this.budget - this.getRemaining();
+  }
+
+  @Override
+  public String toString() {
+    return this.text.subSequence(this.offset, this.offset + this.length).toString();
+  }
+}
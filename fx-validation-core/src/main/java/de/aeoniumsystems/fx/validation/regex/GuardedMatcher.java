@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Matches with <code>java.util.regex</code>, but aborts runaway backtracking:
+ * the text is wrapped in a {@link BudgetedCharSequence}, and a match that
+ * exceeds the budget counts as a mismatch.
+ * <p>
+ * The budget grows with the input: a match may read <code>budget +
+ * budgetPerChar * length</code> characters, so long input against a harmless
+ * pattern like <code>[a-z]*</code> completes, while catastrophic backtracking,
+ * which grows exponentially, is still aborted. An aborted match is logged as a
+ * warning once per pattern, repeated aborts only at level FINE.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class GuardedMatcher implements TextMatcher {
+
+  private static final Logger LOG = Logger.getLogger(GuardedMatcher.class.getName());
+
+  /**
+   * Default number of character reads per input character - a linear match
+   * reads each character a few times.
+   */
+  public static final int DEFAULT_BUDGET_PER_CHAR = 16;
+
+  /**
+   * The maximum number of patterns remembered as warned - the bound of the
+   * {@link PatternCache}. A pattern evicted from the set gets warned again.
+   */
+  static final int WARNED_LIMIT = PatternCache.DEFAULT_MAXIMUM_SIZE;
+
+  /**
+   * Patterns whose aborted matches have been logged as a warning.
+   */
+  private static final Set<String> WARNED = ConcurrentHashMap.newKeySet();
+
+  private final Pattern pattern;
+
+  private final long budget;
+
+  private final long budgetPerChar;
+
+  /**
+   * Create a matcher with {@link #DEFAULT_BUDGET_PER_CHAR}.
+   *
+   * @param pattern The compiled pattern
+   * @param budget The base number of character reads per match.
+   */
+  public GuardedMatcher(Pattern pattern, long budget) {
+    this(pattern, budget, DEFAULT_BUDGET_PER_CHAR);
+  }
+
+  /**
+   * Create a matcher.
+   *
+   * @param pattern The compiled pattern
+   * @param budget The base number of character reads per match.
+   * @param budgetPerChar The additional character reads per input character.
+   */
+  public GuardedMatcher(Pattern pattern, long budget, long budgetPerChar) {
+    if (budget < 1) {
+      throw new IllegalArgumentException("Budget must be positive: " + budget);
+    }
+    if (budgetPerChar < 0) {
+      throw new IllegalArgumentException("Budget per character must not be negative: " + budgetPerChar);
+    }
+    this.pattern = pattern;
+    this.budget = budget;
+    this.budgetPerChar = budgetPerChar;
+  }
+
+  /**
+   * The budget of a match.
+   *
+   * @param length The length of the input
+   * @return The maximum number of character reads.
+   */
+  public long budgetFor(int length) {
+    return this.budget + this.budgetPerChar * length;
+  }
+
+  @Override
+  public boolean matches(CharSequence text) {
+    final long limit = this.budgetFor(text.length());
+    try {
+      return this.pattern.matcher(new BudgetedCharSequence(text, limit)).matches();
+    } catch (MatchBudgetExceededException ex) {
+      LOG.log(firstAbort(this.pattern.pattern()) ? Level.WARNING : Level.FINE,
+              "Matching \"{0}\" against {1} characters exceeded the budget of {2} steps, input is treated as not matching.",
+              new Object[]{this.pattern.pattern(), text.length(), limit});
+      return false;
+    }
+  }
+
+  /**
+   * Remember a pattern as warned, evicting other patterns beyond the limit.
+   *
+   * @param regex The pattern
+   * @return true, if the pattern has not been warned yet.
+   */
+  private static boolean firstAbort(String regex) {
+    if (!WARNED.add(regex)) {
+      return false;
+    }
+    if (WARNED.size() > WARNED_LIMIT) {
+      Iterator<String> iterator = WARNED.iterator();
+      while (WARNED.size() > WARNED_LIMIT && iterator.hasNext()) {
+        if (!iterator.next().equals(regex)) {
+          iterator.remove();
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The number of patterns remembered as warned.
+   *
+   * @return The size of the set
+   */
+  static int warnedCount() {
+    return WARNED.size();
+  }
+
+  public Pattern getPattern() {
+    return pattern;
+  }
+
+  public long getBudget() {
+    return budget;
+  }
+
+  public long getBudgetPerChar() {
+    return budgetPerChar;
+  }
+}
@@ -0,0 +1,628 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * A regex engine with matching time linear in the length of the text: the
+ * expression is compiled into a Thompson NFA that is simulated for all states
+ * in parallel (a "Pike VM"), so there is no backtracking at all.
+ * <p>
+ * The engine supports the subset of the <code>java.util.regex</code> syntax
+ * that needs no backtracking: literals and escaped characters,
+ * <code>.</code>, character classes with ranges and negation, the predefined
+ * classes <code>\d \D \w \W \s \S</code>, groups (capturing groups are
+ * treated as non-capturing), alternation, the greedy and lazy quantifiers
+ * <code>* + ? {n} {n,} {n,m}</code>, and <code>^</code> and <code>$</code>
+ * at the very start and end of the expression. Supported flags are
+ * <code>CASE_INSENSITIVE</code> (ASCII), <code>DOTALL</code>,
+ * <code>UNIX_LINES</code> and <code>MULTILINE</code>. Backreferences,
+ * lookaround, possessive quantifiers, word boundaries, Unicode properties and
+ * other constructs are rejected by {@link #compile(String, int)}.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class LinearMatcher implements TextMatcher {
+
+  private static final int SUPPORTED_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.DOTALL | Pattern.UNIX_LINES | Pattern.MULTILINE;
+
+  /**
+   * Upper bound of the program size - counted quantifiers get expanded.
+   */
+  private static final int MAX_PROGRAM_SIZE = 10_000;
+
+  private static final int CHAR = 0;
+  private static final int SPLIT = 1;
+  private static final int JMP = 2;
+  private static final int MATCH = 3;
+
+  private final String regex;
+
+  private final int[] ops;
+
+  private final int[] xs;
+
+  private final int[] ys;
+
+  private final IntPredicate[] predicates;
+
+  private LinearMatcher(String regex, Program program) {
+    this.regex = regex;
+    final int size = program.ops.size();
+    this.ops = new int[size];
+    this.xs = new int[size];
+    this.ys = new int[size];
+    this.predicates = program.predicates.toArray(new IntPredicate[size]);
+    for (int pc = 0; pc < size; pc++) {
+      this.ops[pc] = program.ops.get(pc);
+      this.xs[pc] = program.xs.get(pc);
+      this.ys[pc] = program.ys.get(pc);
+    }
+  }
+
+  /**
+   * Compile a regular expression.
+   *
+   * @param regex The regular expression
+   * @param flags The flags, see {@link Pattern#compile(String, int)}
+   * @return The matcher
+   * @throws IllegalArgumentException If the expression or the flags are not
+   * supported by this engine.
+   */
+  public static LinearMatcher compile(String regex, int flags) {
+    if ((flags & ~SUPPORTED_FLAGS) != 0) {
+      throw new IllegalArgumentException("Unsupported flags: " + flags);
+    }
+    Parser parser = new Parser(regex, flags);
+    Node node = parser.parse();
+    Program program = new Program();
+    program.emit(node);
+    program.add(MATCH, null);
+    return new LinearMatcher(regex, program);
+  }
+
+  /**
+   * Check whether this engine supports the expression.
+   *
+   * @param regex The regular expression
+   * @param flags The flags
+   * @return true, if {@link #compile(String, int)} would succeed.
+   */
+  public static boolean isSupported(String regex, int flags) {
+    try {
+      compile(regex, flags);
+      return true;
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean matches(CharSequence text) {
+    final int size = this.ops.length;
+    int[] current = new int[size];
+    int[] next = new int[size];
+    final int[] marks = new int[size];
+    final int[] stack = new int[2 * size + 2];
+    int generation = 1;
+
+    int currentSize = this.addThread(current, 0, 0, marks, generation, stack);
+    final int length = text.length();
+    int i = 0;
+    while (i < length && currentSize > 0) {
+      final int c = Character.codePointAt(text, i);
+      i += Character.charCount(c);
+      generation++;
+
+      int nextSize = 0;
+      for (int t = 0; t < currentSize; t++) {
+        final int pc = current[t];
+        if (this.ops[pc] == CHAR && this.predicates[pc].test(c)) {
+          nextSize = this.addThread(next, nextSize, pc + 1, marks, generation, stack);
+        }
+      }
+      int[] swap = current;
+      current = next;
+      next = swap;
+      currentSize = nextSize;
+    }
+    if (i < length) {
+      return false;
+    }
+    for (int t = 0; t < currentSize; t++) {
+      if (this.ops[current[t]] == MATCH) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add the state and all states reachable without consuming a character.
+   *
+   * @return The new size of the list
+   */
+  private int addThread(int[] list, int size, int start, int[] marks, int generation, int[] stack) {
+    int sp = 0;
+    stack[sp++] = start;
+    while (sp > 0) {
+      final int pc = stack[--sp];
+      if (marks[pc] == generation) {
+        continue;
+      }
+      marks[pc] = generation;
+      switch (this.ops[pc]) {
+        case JMP:
+          stack[sp++] = this.xs[pc];
+          break;
+        case SPLIT:
+          stack[sp++] = this.ys[pc];
+          stack[sp++] = this.xs[pc];
+          break;
+        default:
+          list[size++] = pc;
+      }
+    }
+    return size;
+  }
+
+  public String getRegex() {
+    return regex;
+  }
+
+  @Override
+  public String toString() {
+    return "LinearMatcher[" + this.regex + "]";
+  }
+
+  private interface Node {
+  }
+
+  private record Leaf(IntPredicate predicate) implements Node {
+  }
+
+  private record Concat(List<Node> nodes) implements Node {
+  }
+
+  private record Alternation(List<Node> nodes) implements Node {
+  }
+
+  /**
+   * @param max The maximum count, -1 for unbounded.
+   */
+  private record Repeat(Node node, int min, int max) implements Node {
+  }
+
+  /**
+   * The NFA program under construction.
+   */
+  private static final class Program {
+
+    private final List<Integer> ops = new ArrayList<>();
+    private final List<Integer> xs = new ArrayList<>();
+    private final List<Integer> ys = new ArrayList<>();
+    private final List<IntPredicate> predicates = new ArrayList<>();
+
+    private int add(int op, IntPredicate predicate) {
+      if (this.ops.size() >= MAX_PROGRAM_SIZE) {
+        throw new IllegalArgumentException("Expression too large for the linear engine.");
+      }
+      this.ops.add(op);
+      this.xs.add(0);
+      this.ys.add(0);
+      this.predicates.add(predicate);
+      return this.ops.size() - 1;
+    }
+
+    private int size() {
+      return this.ops.size();
+    }
+
+    private void emit(Node node) {
+      if (node instanceof Leaf leaf) {
+        this.add(CHAR, leaf.predicate());
+
+      } else if (node instanceof Concat concat) {
+        for (Node child : concat.nodes()) {
+          this.emit(child);
+        }
+
+      } else if (node instanceof Alternation alternation) {
+        List<Integer> jumps = new ArrayList<>();
+        List<Node> nodes = alternation.nodes();
+        for (int i = 0; i < nodes.size() - 1; i++) {
+          final int split = this.add(SPLIT, null);
+          this.xs.set(split, split + 1);
+          this.emit(nodes.get(i));
+          jumps.add(this.add(JMP, null));
+          this.ys.set(split, this.size());
+        }
+        this.emit(nodes.get(nodes.size() - 1));
+        for (int jump : jumps) {
+          this.xs.set(jump, this.size());
+        }
+
+      } else if (node instanceof Repeat repeat) {
+        for (int i = 0; i < repeat.min(); i++) {
+          this.emit(repeat.node());
+        }
+        if (repeat.max() < 0) {
+          final int split = this.add(SPLIT, null);
+          this.xs.set(split, split + 1);
+          this.emit(repeat.node());
+          final int jump = this.add(JMP, null);
+          this.xs.set(jump, split);
+          this.ys.set(split, this.size());
+        } else {
+          List<Integer> splits = new ArrayList<>();
+          for (int i = repeat.min(); i < repeat.max(); i++) {
+            final int split = this.add(SPLIT, null);
+            this.xs.set(split, split + 1);
+            splits.add(split);
+            this.emit(repeat.node());
+          }
+          for (int split : splits) {
+            this.ys.set(split, this.size());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Recursive descent parser for the supported subset.
+   */
+  private static final class Parser {
+
+    private final int[] cps;
+
+    private final int flags;
+
+    private int pos = 0;
+
+    /**
+     * The class of the last parsed escape, if it was not a single character.
+     */
+    private IntPredicate escapeClass;
+
+    Parser(String regex, int flags) {
+      this.cps = regex.codePoints().toArray();
+      this.flags = flags;
+    }
+
+    Node parse() {
+      Node node = this.parseAlternation();
+      if (this.pos < this.cps.length) {
+        throw unsupported("unbalanced parenthesis");
+      }
+      return node;
+    }
+
+    private IllegalArgumentException unsupported(String what) {
+      return new IllegalArgumentException("Not supported by the linear engine: " + what + " at index " + this.pos);
+    }
+
+    private boolean at(int c) {
+      return this.pos < this.cps.length && this.cps[this.pos] == c;
+    }
+
+    private Node parseAlternation() {
+      List<Node> alternatives = new ArrayList<>();
+      alternatives.add(this.parseConcat());
+      while (this.at('|')) {
+        this.pos++;
+        alternatives.add(this.parseConcat());
+      }
+      return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    private Node parseConcat() {
+      List<Node> nodes = new ArrayList<>();
+      while (this.pos < this.cps.length && !this.at('|') && !this.at(')')) {
+        nodes.add(this.parseRepeat());
+      }
+      return nodes.size() == 1 ? nodes.get(0) : new Concat(nodes);
+    }
+
+    private Node parseRepeat() {
+      Node node = this.parseAtom();
+      while (this.pos < this.cps.length) {
+        final int c = this.cps[this.pos];
+        int min;
+        int max;
+        if (c == '*') {
+          min = 0;
+          max = -1;
+          this.pos++;
+        } else if (c == '+') {
+          min = 1;
+          max = -1;
+          this.pos++;
+        } else if (c == '?') {
+          min = 0;
+          max = 1;
+          this.pos++;
+        } else if (c == '{') {
+          this.pos++;
+          min = this.parseNumber();
+          max = min;
+          if (this.at(',')) {
+            this.pos++;
+            max = this.at('}') ? -1 : this.parseNumber();
+          }
+          if (!this.at('}')) {
+            throw unsupported("malformed bound");
+          }
+          this.pos++;
+        } else {
+          break;
+        }
+        if (this.at('?')) {
+          // lazy quantifiers match the same texts, as only whole texts are matched
+          this.pos++;
+        } else if (this.at('+')) {
+          throw unsupported("possessive quantifier");
+        }
+        node = new Repeat(node, min, max);
+      }
+      return node;
+    }
+
+    private int parseNumber() {
+      int start = this.pos;
+      int value = 0;
+      while (this.pos < this.cps.length && this.cps[this.pos] >= '0' && this.cps[this.pos] <= '9') {
+        value = value * 10 + (this.cps[this.pos] - '0');
+        if (value > MAX_PROGRAM_SIZE) {
+          throw unsupported("bound too large");
+        }
+        this.pos++;
+      }
+      if (this.pos == start) {
+        throw unsupported("malformed bound");
+      }
+      return value;
+    }
+
+    private Node parseAtom() {
+      final int c = this.cps[this.pos++];
+      switch (c) {
+        case '(':
+          if (this.at('?')) {
+            if (this.pos + 1 < this.cps.length && this.cps[this.pos + 1] == ':') {
+              this.pos += 2;
+            } else {
+              throw unsupported("special group");
+            }
+          }
+          Node group = this.parseAlternation();
+          if (!this.at(')')) {
+            throw unsupported("unclosed group");
+          }
+          this.pos++;
+          return group;
+        case '[':
+          return new Leaf(this.parseClass());
+        case '.':
+          return new Leaf(this.dot());
+        case '\\':
+          int escaped = this.parseEscape();
+          return new Leaf(escaped >= 0 ? this.literal(escaped) : this.escapeClass);
+        case '^':
+          if (this.pos == 1) {
+            return new Concat(List.of());
+          }
+          throw unsupported("inner anchor");
+        case '$':
+          if (this.pos == this.cps.length) {
+            return new Concat(List.of());
+          }
+          throw unsupported("inner anchor");
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+          throw unsupported("dangling quantifier");
+        default:
+          return new Leaf(this.literal(c));
+      }
+    }
+
+    /**
+     * Parse an escape sequence, the backslash has been consumed.
+     *
+     * @return The code point, or -1 if the escape is a class - see
+     * {@link #escapeClass}.
+     */
+    private int parseEscape() {
+      if (this.pos >= this.cps.length) {
+        throw unsupported("trailing backslash");
+      }
+      final int c = this.cps[this.pos++];
+      switch (c) {
+        case 'd':
+          this.escapeClass = Parser::isDigit;
+          return -1;
+        case 'D':
+          this.escapeClass = ((IntPredicate) Parser::isDigit).negate();
+          return -1;
+        case 'w':
+          this.escapeClass = Parser::isWord;
+          return -1;
+        case 'W':
+          this.escapeClass = ((IntPredicate) Parser::isWord).negate();
+          return -1;
+        case 's':
+          this.escapeClass = Parser::isSpace;
+          return -1;
+        case 'S':
+          this.escapeClass = ((IntPredicate) Parser::isSpace).negate();
+          return -1;
+        case 't':
+          return '\t';
+        case 'n':
+          return '\n';
+        case 'r':
+          return '\r';
+        case 'f':
+          return '\f';
+        case 'a':
+          return 0x07;
+        case 'e':
+          return 0x1B;
+        case 'x':
+          if (this.at('{')) {
+            this.pos++;
+            int value = this.parseHex(Integer.MAX_VALUE);
+            if (!this.at('}')) {
+              throw unsupported("malformed hex escape");
+            }
+            this.pos++;
+            return value;
+          }
+          return this.parseHex(2);
+        case 'u':
+          return this.parseHex(4);
+        default:
+          if (Character.isLetterOrDigit(c)) {
+            throw unsupported("escape \\" + Character.toString(c));
+          }
+          return c;
+      }
+    }
+
+    private int parseHex(int digits) {
+      int value = 0;
+      int count = 0;
+      while (count < digits && this.pos < this.cps.length && Character.digit(this.cps[this.pos], 16) >= 0) {
+        value = value * 16 + Character.digit(this.cps[this.pos], 16);
+        this.pos++;
+        count++;
+      }
+      if (count == 0 || (digits != Integer.MAX_VALUE && count != digits)) {
+        throw unsupported("malformed hex escape");
+      }
+      return value;
+    }
+
+    private IntPredicate parseClass() {
+      boolean negate = false;
+      if (this.at('^')) {
+        negate = true;
+        this.pos++;
+      }
+      List<IntPredicate> items = new ArrayList<>();
+      boolean first = true;
+      while (true) {
+        if (this.pos >= this.cps.length) {
+          throw unsupported("unclosed class");
+        }
+        int c = this.cps[this.pos];
+        if (c == ']' && !first) {
+          this.pos++;
+          break;
+        }
+        first = false;
+        if (c == '[') {
+          throw unsupported("nested class");
+        }
+        if (c == '&' && this.pos + 1 < this.cps.length && this.cps[this.pos + 1] == '&') {
+          throw unsupported("class intersection");
+        }
+        this.pos++;
+        int low = c;
+        if (c == '\\') {
+          low = this.parseEscape();
+          if (low < 0) {
+            items.add(this.escapeClass);
+            continue;
+          }
+        }
+        if (this.at('-') && this.pos + 1 < this.cps.length && this.cps[this.pos + 1] != ']') {
+          this.pos++;
+          int high = this.cps[this.pos++];
+          if (high == '\\') {
+            high = this.parseEscape();
+            if (high < 0) {
+              throw unsupported("class in range");
+            }
+          } else if (high == '[') {
+            throw unsupported("nested class");
+          }
+          final int from = low;
+          final int to = high;
+          items.add((int ch) -> ch >= from && ch <= to);
+        } else {
+          final int single = low;
+          items.add((int ch) -> ch == single);
+        }
+      }
+
+      final IntPredicate[] predicates = items.toArray(new IntPredicate[items.size()]);
+      IntPredicate union = (int ch) -> {
+        for (IntPredicate predicate : predicates) {
+          if (predicate.test(ch)) {
+            return true;
+          }
+        }
+        return false;
+      };
+      union = this.caseless(union);
+      return negate ? union.negate() : union;
+    }
+
+    private IntPredicate literal(int c) {
+      return this.caseless((int ch) -> ch == c);
+    }
+
+    private IntPredicate caseless(IntPredicate predicate) {
+      if ((this.flags & Pattern.CASE_INSENSITIVE) == 0) {
+        return predicate;
+      }
+      return (int ch) -> predicate.test(ch)
+              || (ch < 128 && Character.isLetter(ch) && predicate.test(ch ^ 0x20));
+    }
+
+    private IntPredicate dot() {
+      if ((this.flags & Pattern.DOTALL) != 0) {
+        return (int ch) -> true;
+      }
+      if ((this.flags & Pattern.UNIX_LINES) != 0) {
+        return (int ch) -> ch != '\n';
+      }
+      return (int ch) -> ch != '\n' && ch != '\r' && ch != 0x85 && ch != 0x2028 && ch != 0x2029;
+    }
+
+    private static boolean isDigit(int c) {
+      return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWord(int c) {
+      return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isSpace(int c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+  }
+}
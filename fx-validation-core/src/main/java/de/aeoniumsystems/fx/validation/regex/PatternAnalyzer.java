@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Static analysis of regular expressions for catastrophic backtracking. The
+ * analysis is a heuristic: it reports nested quantifiers, i.e., a repeated
+ * group that contains an element with a variable repetition count itself - like <code>(a+)+</code>,
+ * <code>(\w+\s?)*</code> or <code>(.*,){20}</code>. Such expressions may
+ * need exponential time in a backtracking engine for some non-matching input.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class PatternAnalyzer {
+
+  private PatternAnalyzer() {
+    // static helper
+  }
+
+  /**
+   * Check the expression for nested quantifiers.
+   *
+   * @param regex The regular expression
+   * @return true, if the expression may backtrack catastrophically.
+   */
+  public static boolean hasNestedQuantifiers(String regex) {
+    // per open group: does it contain a repeated element?
+    Deque<boolean[]> groups = new ArrayDeque<>();
+    boolean[] current = new boolean[1];
+    // does the element before the current position end with a closed group that
+    // contained a repetition?
+    boolean lastWasRepeatingGroup = false;
+
+    final int length = regex.length();
+    int i = 0;
+    while (i < length) {
+      final char c = regex.charAt(i);
+      switch (c) {
+        case '\\':
+          i += 2;
+          lastWasRepeatingGroup = false;
+          continue;
+        case '[':
+          i = skipClass(regex, i);
+          lastWasRepeatingGroup = false;
+          continue;
+        case '(':
+          groups.push(current);
+          current = new boolean[1];
+          lastWasRepeatingGroup = false;
+          i++;
+          continue;
+        case ')':
+          boolean inner = current[0];
+          current = groups.isEmpty() ? new boolean[1] : groups.pop();
+          current[0] |= inner;
+          lastWasRepeatingGroup = inner;
+          i++;
+          continue;
+        default:
+          break;
+      }
+
+      int end = quantifierEnd(regex, i);
+      if (end > i) {
+        if (lastWasRepeatingGroup && maxCount(regex, i) > 1) {
+          return true;
+        }
+        if (maxCount(regex, i) > 1 && minCount(regex, i) != maxCount(regex, i)) {
+          current[0] = true;
+        }
+        lastWasRepeatingGroup = false;
+        i = end;
+        continue;
+      }
+      lastWasRepeatingGroup = false;
+      i++;
+    }
+    return false;
+  }
+
+  /**
+   * Skip a character class, including nested classes and escapes.
+   *
+   * @return The index after the class
+   */
+  private static int skipClass(String regex, int start) {
+    int depth = 0;
+    int i = start;
+    while (i < regex.length()) {
+      final char c = regex.charAt(i);
+      if (c == '\\') {
+        i += 2;
+        continue;
+      }
+      if (c == '[') {
+        depth++;
+        // a ']' right after the opening bracket is a literal
+        if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+          i++;
+        }
+        if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+          i++;
+        }
+      } else if (c == ']') {
+        depth--;
+        if (depth == 0) {
+          return i + 1;
+        }
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Find the end of a quantifier at the given position.
+   *
+   * @return The index after the quantifier, or <code>start</code> if there is
+   * none.
+   */
+  private static int quantifierEnd(String regex, int start) {
+    final char c = regex.charAt(start);
+    int end;
+    if (c == '*' || c == '+' || c == '?') {
+      end = start + 1;
+    } else if (c == '{') {
+      int close = regex.indexOf('}', start);
+      if (close < 0) {
+        return start;
+      }
+      end = close + 1;
+    } else {
+      return start;
+    }
+    // lazy or possessive modifier
+    if (end < regex.length() && (regex.charAt(end) == '?' || regex.charAt(end) == '+')) {
+      end++;
+    }
+    return end;
+  }
+
+  /**
+   * The minimum count of the quantifier at the given position.
+   */
+  private static int minCount(String regex, int start) {
+    final char c = regex.charAt(start);
+    if (c == '+') {
+      return 1;
+    }
+    if (c != '{') {
+      return 0;
+    }
+    String bounds = regex.substring(start + 1, regex.indexOf('}', start));
+    int comma = bounds.indexOf(',');
+    return parse(comma < 0 ? bounds : bounds.substring(0, comma));
+  }
+
+  /**
+   * The maximum count of the quantifier at the given position,
+   * <code>Integer.MAX_VALUE</code> if unbounded.
+   */
+  private static int maxCount(String regex, int start) {
+    final char c = regex.charAt(start);
+    if (c == '*' || c == '+') {
+      return Integer.MAX_VALUE;
+    }
+    if (c == '?') {
+      return 1;
+    }
+    String bounds = regex.substring(start + 1, regex.indexOf('}', start));
+    int comma = bounds.indexOf(',');
+    if (comma < 0) {
+      return parse(bounds);
+    }
+    String max = bounds.substring(comma + 1).trim();
+    return max.isEmpty() ? Integer.MAX_VALUE : parse(max);
+  }
+
+  private static int parse(String number) {
+    try {
+      return Integer.parseInt(number.trim());
+    } catch (NumberFormatException ex) {
+      return 0;
+    }
+  }
+}
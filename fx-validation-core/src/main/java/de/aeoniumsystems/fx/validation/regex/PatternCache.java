@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * A bounded, thread-safe cache of compiled regular expressions, keyed by the
+ * expression and the compile flags. Compiled patterns are immutable and can be
+ * shared, so forms that use the same <code>@FXString(pattern=...)</code> many
+ * times - e.g., one form per table row - compile it only once.
+ * <p>
+ * When the cache exceeds its maximum size, an arbitrary other entry gets
+ * evicted. Hit, miss and eviction counters are kept for monitoring.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class PatternCache {
+
+  /**
+   * The maximum size of the shared cache.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+  private static final PatternCache SHARED = new PatternCache(DEFAULT_MAXIMUM_SIZE);
+
+  private final Map<Key, Pattern> patterns = new ConcurrentHashMap<>();
+
+  private final int maximumSize;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * The cache key.
+   *
+   * @param regex The regular expression
+   * @param flags The compile flags
+   */
+  private record Key(String regex, int flags) {
+  }
+
+  /**
+   * Create a cache.
+   *
+   * @param maximumSize The maximum number of cached patterns, at least 1.
+   */
+  public PatternCache(int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * The process-wide cache used by the validation rules.
+   *
+   * @return The shared cache
+   */
+  public static PatternCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Get the compiled pattern, compile it if it is not cached yet.
+   *
+   * @param regex The regular expression
+   * @param flags The compile flags, see {@link Pattern#compile(String, int)}
+   * @return The compiled pattern
+   * @throws java.util.regex.PatternSyntaxException If the expression is
+   * invalid - invalid expressions are not cached.
+   */
+  public Pattern get(String regex, int flags) {
+    final Key key = new Key(regex, flags);
+    Pattern pattern = this.patterns.get(key);
+    if (pattern != null) {
+      this.hits.increment();
+      return pattern;
+    }
+
+    this.misses.increment();
+    final Pattern compiled = Pattern.compile(regex, flags);
+    pattern = this.patterns.putIfAbsent(key, compiled);
+    if (pattern != null) {
+      // compiled concurrently by another thread
+      return pattern;
+    }
+    if (this.patterns.size() > this.maximumSize) {
+      this.evict(key);
+    }
+    return compiled;
+  }
+
+  public Pattern get(String regex) {
+    return this.get(regex, 0);
+  }
+
+  private void evict(Key keep) {
+    Iterator<Key> iterator = this.patterns.keySet().iterator();
+    while (this.patterns.size() > this.maximumSize && iterator.hasNext()) {
+      Key key = iterator.next();
+      if (!key.equals(keep)) {
+        iterator.remove();
+        this.evictions.increment();
+      }
+    }
+  }
+
+  /**
+   * Remove all cached patterns, the counters are not reset.
+   */
+  public void clear() {
+    this.patterns.clear();
+  }
+
+  public int size() {
+    return this.patterns.size();
+  }
+
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "PatternCache[size=" + this.size() + ", hits=" + this.getHitCount()
+            + ", misses=" + this.getMissCount() + ", evictions=" + this.getEvictionCount() + "]";
+  }
+}
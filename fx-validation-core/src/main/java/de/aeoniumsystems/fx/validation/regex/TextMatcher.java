@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.regex.Pattern;
+
+/**
+ * Matches a whole text against a regular expression. Implementations are
+ * immutable and thread-safe.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@FunctionalInterface
+public interface TextMatcher {
+
+  /**
+   * Check whether the entire text matches.
+   *
+   * @param text The text
+   * @return true, if the entire text matches.
+   */
+  boolean matches(CharSequence text);
+
+  /**
+   * A matcher backed by <code>java.util.regex</code>, without any limits.
+   *
+   * @param pattern The compiled pattern
+   * @return The matcher
+   */
+  static TextMatcher of(Pattern pattern) {
+    return (CharSequence text) -> pattern.matcher(text).matches();
+  }
+}
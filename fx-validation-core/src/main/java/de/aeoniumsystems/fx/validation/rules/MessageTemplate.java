@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message with an optional <code>%d</code> placeholder, split into its
+ * literal parts once, so rendering it is a plain concatenation instead of a
+ * {@link String#format(String, Object...)} call that parses the format again
+ * each time. Besides <code>%d</code>, only <code>%%</code> is interpreted (as a
+ * literal percent sign) - any other <code>%</code> sequence is kept as is.
+ * Messages without <code>%d</code> are not interpreted at all, so
+ * <code>%%</code> stays as it is there.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class MessageTemplate {
+
+  private final String source;
+
+  /**
+   * The literal parts - between two parts, the value is inserted.
+   */
+  private final String[] parts;
+
+  private MessageTemplate(String source, String[] parts) {
+    this.source = source;
+    this.parts = parts;
+  }
+
+  /**
+   * Compile a message.
+   *
+   * @param message The message, must not be <code>null</code>.
+   * @return The template
+   */
+  public static MessageTemplate compile(String message) {
+    // like String.format was only applied to messages with %d, a message
+    // without placeholder is kept literally, including any %%
+    if (!message.contains("%d")) {
+      return new MessageTemplate(message, new String[]{message});
+    }
+    List<String> parts = new ArrayList<>(2);
+    StringBuilder part = new StringBuilder(message.length());
+    int i = 0;
+    while (i < message.length()) {
+      char c = message.charAt(i);
+      if (c == '%' && i + 1 < message.length()) {
+        char next = message.charAt(i + 1);
+        if (next == 'd') {
+          parts.add(part.toString());
+          part.setLength(0);
+          i += 2;
+          continue;
+        }
+        if (next == '%') {
+          part.append('%');
+          i += 2;
+          continue;
+        }
+      }
+      part.append(c);
+      i++;
+    }
+    parts.add(part.toString());
+    return new MessageTemplate(message, parts.toArray(new String[parts.size()]));
+  }
+
+  /**
+   * Whether the message contains a placeholder at all.
+   *
+   * @return true, if rendering depends on the value.
+   */
+  public boolean hasPlaceholder() {
+    return this.parts.length > 1;
+  }
+
+  /**
+   * Render the message.
+   *
+   * @param value The value for the placeholders
+   * @return The message with all placeholders replaced by the value.
+   */
+  public String render(int value) {
+    if (this.parts.length == 1) {
+      return this.parts[0];
+    }
+    final String text = Integer.toString(value);
+    StringBuilder builder = new StringBuilder(this.source.length() + text.length());
+    builder.append(this.parts[0]);
+    for (int i = 1; i < this.parts.length; i++) {
+      builder.append(text).append(this.parts[i]);
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public String toString() {
+    return this.source;
+  }
+}
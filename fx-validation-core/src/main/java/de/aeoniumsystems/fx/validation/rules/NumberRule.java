@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+import java.math.BigDecimal;
+
+/**
+ * Compiled form of a numeric constraint.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param scanner The scanner for the accepted number syntax.
+ * @param checkMin Whether the minimum is checked at all.
+ * @param min The minimum value.
+ * @param checkMax Whether the maximum is checked at all.
+ * @param max The maximum value.
+ * @param failure The result for invalid input.
+ */
+public record NumberRule(NumberScanner scanner, boolean checkMin, double min, boolean checkMax, double max, ValidationResult failure) implements Rule {
+
+  /**
+   * Check whether the text can be parsed as a number within the range.
+   *
+   * @param text The text
+   * @return The shared valid result, or the failure result.
+   */
+  public ValidationResult check(CharSequence text) {
+    final double value = scanner.scan(text);
+    if (Double.isNaN(value)) {
+      return failure;
+    }
+    return check(value);
+  }
+
+  /**
+   * Check a value: <code>null</code> is valid, text is scanned with the
+   * scanner of the rule, and numbers are checked against the integer and scale
+   * constraints of the scanner and the range.
+   *
+   * @param value The value
+   * @return The shared valid result, or the failure result.
+   */
+  @Override
+  public ValidationResult check(Object value) {
+    if (value == null) {
+      return ValidationResult.VALID;
+    }
+    if (value instanceof CharSequence text) {
+      return check(text);
+    }
+    if (value instanceof BigDecimal decimal) {
+      return checkScale(decimal) ? check(decimal.doubleValue()) : failure;
+    }
+    if (value instanceof Float f) {
+      if (f.isNaN() || f.isInfinite()) {
+        return failure;
+      }
+      // the shortest decimal of the float, not of its widened double value
+      if (limitsScale() && !checkScale(new BigDecimal(Float.toString(f)))) {
+        return failure;
+      }
+      return check(f.doubleValue());
+    }
+    if (value instanceof Double d) {
+      if (d.isNaN() || d.isInfinite()) {
+        return failure;
+      }
+      if (limitsScale() && !checkScale(BigDecimal.valueOf(d))) {
+        return failure;
+      }
+      return check(d.doubleValue());
+    }
+    if (value instanceof Number number) {
+      return check(number.doubleValue());
+    }
+    return check(value.toString());
+  }
+
+  private boolean limitsScale() {
+    return scanner.isInteger() || scanner.getScale() != NumberScanner.UNLIMITED_SCALE;
+  }
+
+  private boolean checkScale(BigDecimal decimal) {
+    return decimal.signum() == 0 || scanner.acceptsScale(decimal.stripTrailingZeros().scale());
+  }
+
+  /**
+   * Check whether the number is within the range.
+   *
+   * @param value The value
+   * @return The shared valid result, or the failure result.
+   */
+  public ValidationResult check(double value) {
+    if (checkMin && !(value >= min)) {
+      return failure;
+    }
+    if (checkMax && !(value <= max)) {
+      return failure;
+    }
+    return ValidationResult.VALID;
+  }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scans decimal numbers from a character sequence without allocation and
+ * without exceptions - unparseable input yields <code>NaN</code>. Intended for
+ * validation on each keystroke, where most intermediate inputs ("-", "1e", "")
+ * are not numbers yet.
+ * <p>
+ * Accepted are an optional sign, digits with optional grouping separators
+ * between them, an optional decimal separator with fraction digits and an
+ * optional exponent. Other than {@link java.text.DecimalFormat#parse(String)},
+ * the scanner checks the sizes of the digit groups: after the first group, each
+ * group has the grouping size of the locale - so "1.5", a German user typing
+ * the wrong decimal separator, is not read as 15. Leading and trailing
+ * whitespace is ignored. Other than
+ * {@link Double#parseDouble(String)}, the scanner does not accept "NaN",
+ * "Infinity", hexadecimal notation or type suffixes like "1d".</p>
+ * <p>
+ * The integer and scale constraints apply to the value, not to its notation:
+ * see {@link #acceptsScale(int)}.</p>
+ * <p>
+ * Values with up to 15 significant digits and a decimal exponent of at most 22
+ * are computed exactly (and correctly rounded) from a long mantissa and a power
+ * of ten. Longer input falls back to {@link Double#parseDouble(String)} on the
+ * already validated text.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class NumberScanner {
+
+  /**
+   * Scale that does not limit the number of fraction digits.
+   */
+  public static final int UNLIMITED_SCALE = -1;
+
+  /**
+   * Grouping separator of scanners without grouping.
+   */
+  private static final char NO_GROUPING = 0;
+
+  /**
+   * Plain decimal numbers with '.' as decimal separator and no grouping - the
+   * syntax of {@link Double#parseDouble(String)}.
+   */
+  public static final NumberScanner DEFAULT = new NumberScanner('.', NO_GROUPING, 0, false, UNLIMITED_SCALE);
+
+  /**
+   * The separators and the grouping size of a locale.
+   */
+  private record Symbols(char decimalSeparator, char groupingSeparator, int groupingSize) {
+
+    static Symbols of(Locale locale) {
+      DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+      NumberFormat format = NumberFormat.getInstance(locale);
+      int groupingSize = format instanceof DecimalFormat decimalFormat && decimalFormat.isGroupingUsed()
+              ? decimalFormat.getGroupingSize() : 0;
+      return new Symbols(symbols.getDecimalSeparator(),
+              groupingSize > 0 ? symbols.getGroupingSeparator() : NO_GROUPING, groupingSize);
+    }
+  }
+
+  private static final Map<Locale, Symbols> SYMBOLS = new ConcurrentHashMap<>();
+
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private final char decimalSeparator;
+
+  private final char groupingSeparator;
+
+  /**
+   * The number of digits of each group after the first one.
+   */
+  private final int groupingSize;
+
+  private final boolean integer;
+
+  private final int scale;
+
+  private NumberScanner(char decimalSeparator, char groupingSeparator, int groupingSize, boolean integer, int scale) {
+    this.decimalSeparator = decimalSeparator;
+    this.groupingSeparator = groupingSeparator;
+    this.groupingSize = groupingSize;
+    this.integer = integer;
+    this.scale = scale;
+  }
+
+  /**
+   * Create a scanner.
+   *
+   * @param integer Accept integer values only - "4.0" and "4e2" are integers.
+   * @param scale The maximum number of fraction digits without trailing zeros,
+   * or {@link #UNLIMITED_SCALE}.
+   * @param locale The locale providing decimal and grouping separator and the
+   * grouping size - the symbols are cached per locale. With <code>null</code>, '.' is the decimal
+   * separator and grouping is not accepted.
+   * @return The scanner
+   */
+  public static NumberScanner of(boolean integer, int scale, Locale locale) {
+    if (locale == null) {
+      if (!integer && scale == UNLIMITED_SCALE) {
+        return DEFAULT;
+      }
+      return new NumberScanner('.', NO_GROUPING, 0, integer, scale);
+    }
+    Symbols symbols = SYMBOLS.computeIfAbsent(locale, Symbols::of);
+    return new NumberScanner(symbols.decimalSeparator(), symbols.groupingSeparator(), symbols.groupingSize(),
+            integer, scale);
+  }
+
+  /**
+   * Scan the text as a number.
+   *
+   * @param text The text, may be <code>null</code>.
+   * @return The value, or <code>NaN</code> if the text is not a number.
+   */
+  public double scan(CharSequence text) {
+    if (text == null) {
+      return Double.NaN;
+    }
+    int start = 0;
+    int end = text.length();
+    while (start < end && text.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && text.charAt(end - 1) <= ' ') {
+      end--;
+    }
+
+    int i = start;
+    boolean negative = false;
+    if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      negative = text.charAt(i) == '-';
+      i++;
+    }
+
+    long mantissa = 0;
+    int significantDigits = 0;
+    int digits = 0;
+    int exponent = 0;
+    // scale of the value: fraction digits minus trailing zeros minus exponent
+    int fractionDigits = 0;
+    int trailingZeros = 0;
+    int explicitExponent = 0;
+
+    // integer part, grouping separators only between digits, and all groups
+    // but the first of the grouping size
+    boolean afterDigit = false;
+    boolean grouped = false;
+    int groupDigits = 0;
+    for (; i < end; i++) {
+      final char c = text.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits++;
+        trailingZeros = c == '0' ? trailingZeros + 1 : 0;
+        if (mantissa != 0 || c != '0') {
+          significantDigits++;
+          if (significantDigits <= MAX_EXACT_DIGITS) {
+            mantissa = mantissa * 10 + (c - '0');
+          } else {
+            exponent++;
+          }
+        }
+        afterDigit = true;
+        groupDigits++;
+      } else if (afterDigit && this.isGroupingSeparator(c) && i + 1 < end && isDigit(text.charAt(i + 1))) {
+        if (grouped ? groupDigits != this.groupingSize : groupDigits > this.groupingSize) {
+          return Double.NaN;
+        }
+        afterDigit = false;
+        grouped = true;
+        groupDigits = 0;
+      } else {
+        break;
+      }
+    }
+    if (grouped && groupDigits != this.groupingSize) {
+      return Double.NaN;
+    }
+
+    // fraction
+    if (i < end && text.charAt(i) == this.decimalSeparator) {
+      i++;
+      for (; i < end && isDigit(text.charAt(i)); i++) {
+        final char c = text.charAt(i);
+        digits++;
+        fractionDigits++;
+        trailingZeros = c == '0' ? trailingZeros + 1 : 0;
+        if (mantissa != 0 || c != '0') {
+          significantDigits++;
+          if (significantDigits <= MAX_EXACT_DIGITS) {
+            mantissa = mantissa * 10 + (c - '0');
+            exponent--;
+          }
+        } else {
+          exponent--;
+        }
+      }
+    }
+    if (digits == 0) {
+      return Double.NaN;
+    }
+
+    // exponent
+    if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+        negativeExponent = text.charAt(i) == '-';
+        i++;
+      }
+      int exponentDigits = 0;
+      for (; i < end && isDigit(text.charAt(i)); i++) {
+        exponentDigits++;
+        if (explicitExponent < 100_000) {
+          explicitExponent = explicitExponent * 10 + (text.charAt(i) - '0');
+        }
+      }
+      if (exponentDigits == 0) {
+        return Double.NaN;
+      }
+      if (negativeExponent) {
+        explicitExponent = -explicitExponent;
+      }
+      exponent += explicitExponent;
+    }
+    if (i != end) {
+      return Double.NaN;
+    }
+    if ((this.integer || this.scale != UNLIMITED_SCALE)
+            && !this.acceptsScale(mantissa == 0 ? 0 : fractionDigits - trailingZeros - explicitExponent)) {
+      return Double.NaN;
+    }
+
+    final double value;
+    if (mantissa == 0) {
+      value = 0.0;
+    } else if (significantDigits <= MAX_EXACT_DIGITS && exponent >= -22 && exponent <= 22) {
+      // exact mantissa and power of ten - a single, correctly rounded operation
+      value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+    } else {
+      return this.parseValidated(text, start, end);
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Slow path for long or extreme input: normalize the (already validated)
+   * text and let the JDK parse it.
+   */
+  private double parseValidated(CharSequence text, int start, int end) {
+    StringBuilder normalized = new StringBuilder(end - start);
+    for (int i = start; i < end; i++) {
+      final char c = text.charAt(i);
+      if (c == this.decimalSeparator) {
+        normalized.append('.');
+      } else if (!this.isGroupingSeparator(c)) {
+        normalized.append(c);
+      }
+    }
+    return Double.parseDouble(normalized.toString());
+  }
+
+  /**
+   * Check the scale of a value, i.e., the number of fraction digits without
+   * trailing zeros - the scale of {@link java.math.BigDecimal#stripTrailingZeros()}.
+   * Text and numbers share this rule: "1.50" has the scale 1 like the double
+   * 1.5, "1.0" and "1e3" are integers, and "1.5e-3" has the scale 4.
+   *
+   * @param valueScale The scale of the value, negative for integers with
+   * trailing zeros.
+   * @return Whether the scale is within the integer and scale constraints.
+   */
+  public boolean acceptsScale(int valueScale) {
+    if (this.integer) {
+      return valueScale <= 0;
+    }
+    return this.scale == UNLIMITED_SCALE || valueScale <= this.scale;
+  }
+
+  private boolean isGroupingSeparator(char c) {
+    if (this.groupingSeparator == NO_GROUPING) {
+      return false;
+    }
+    // locales grouping with (narrow) no-break spaces accept plain spaces, too
+    return c == this.groupingSeparator
+            || (c == ' ' && (this.groupingSeparator == '\u00A0' || this.groupingSeparator == '\u202F'));
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  public char getDecimalSeparator() {
+    return decimalSeparator;
+  }
+
+  public char getGroupingSeparator() {
+    return groupingSeparator;
+  }
+
+  public int getGroupingSize() {
+    return groupingSize;
+  }
+
+  public boolean isInteger() {
+    return integer;
+  }
+
+  public int getScale() {
+    return scale;
+  }
+}
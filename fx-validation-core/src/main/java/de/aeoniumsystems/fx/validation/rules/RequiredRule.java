@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+/**
+ * Compiled form of a "required" constraint.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param failure The result for empty input.
+ */
+public record RequiredRule(ValidationResult failure) implements Rule {
+
+  /**
+   * Check whether the text is not empty.
+   *
+   * @param text The text
+   * @return The shared valid result, or the failure result.
+   */
+  public ValidationResult check(CharSequence text) {
+    return text.length() > 0 ? ValidationResult.VALID : failure;
+  }
+
+  /**
+   * Check whether a value is present and - if it is text - not empty.
+   *
+   * @param value The value
+   * @return The shared valid result, or the failure result.
+   */
+  @Override
+  public ValidationResult check(Object value) {
+    if (value == null) {
+      return failure;
+    }
+    return value instanceof CharSequence text ? check(text) : ValidationResult.VALID;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+import de.aeoniumsystems.fx.validation.regex.TextMatcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of a string constraint. The failure messages are already
+ * rendered, i.e., a <code>%d</code> placeholder has been replaced by the
+ * actual length - the results keep the length for localized messages, see
+ * {@link ValidationResult#invalid(String, int)}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param minLength The required minimum length, 0 if not checked.
+ * @param maxLength The allowed maximum length, 0 if not checked.
+ * @param pattern The compiled regex pattern, or <code>null</code> if not
+ * checked.
+ * @param matcher The matcher for the pattern, according to the match mode.
+ * @param tooShort Result for a too short input.
+ * @param tooLong Result for a too long input.
+ * @param noMatch Result for an input not matching the pattern.
+ */
+public record StringRule(int minLength, int maxLength, Pattern pattern, TextMatcher matcher,
+        ValidationResult tooShort, ValidationResult tooLong, ValidationResult noMatch) implements Rule {
+
+  /**
+   * Check a value: <code>null</code> is valid, other values than text are
+   * checked by their string representation.
+   *
+   * @param value The value
+   * @return The shared valid result, or one of the failure results.
+   */
+  @Override
+  public ValidationResult check(Object value) {
+    if (value == null) {
+      return ValidationResult.VALID;
+    }
+    return check(value instanceof CharSequence text ? text : value.toString());
+  }
+
+  /**
+   * Check the given text against the rule.
+   *
+   * @param text The text
+   * @return The shared valid result, or one of the failure results.
+   */
+  public ValidationResult check(CharSequence text) {
+    if (minLength > 0 && text.length() < minLength) {
+      return tooShort;
+    }
+    if (maxLength > 0 && text.length() > maxLength) {
+      return tooLong;
+    }
+    if (matcher != null && !matcher.matches(text)) {
+      return noMatch;
+    }
+    return ValidationResult.VALID;
+  }
+}
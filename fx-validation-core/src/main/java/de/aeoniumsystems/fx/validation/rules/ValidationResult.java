@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+/**
+ * The result of a validation: either valid, or invalid with a message. The
+ * result for valid input is a shared constant, and the compiled rules keep
+ * their failure results preallocated, so evaluating a rule does not allocate
+ * anything - in contrast to throwing a <code>ValidationException</code>.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class ValidationResult {
+
+  /**
+   * The shared result for valid input.
+   */
+  public static final ValidationResult VALID = new ValidationResult(true, false, null, null, false, 0);
+
+  /**
+   * The shared result of an asynchronous validation that has not completed
+   * yet. A pending result is not valid.
+   */
+  public static final ValidationResult PENDING = new ValidationResult(false, true, "Validation is pending.", null, false, 0);
+
+  private final boolean valid;
+
+  private final boolean pending;
+
+  private final String message;
+
+  /**
+   * The message as given, i.e., before the placeholder has been rendered.
+   */
+  private final String key;
+
+  private final boolean hasArgument;
+
+  private final int argument;
+
+  private ValidationResult(boolean valid, boolean pending, String message, String key, boolean hasArgument, int argument) {
+    this.valid = valid;
+    this.pending = pending;
+    this.message = message;
+    this.key = key;
+    this.hasArgument = hasArgument;
+    this.argument = argument;
+  }
+
+  /**
+   * Create a result for invalid input. Rules should create their failure
+   * results once and reuse them.
+   *
+   * @param message The message, or a key for the resource bundle.
+   * @return The result
+   */
+  public static ValidationResult invalid(String message) {
+    return new ValidationResult(false, false, message, message, false, 0);
+  }
+
+  /**
+   * Create a result for invalid input, with a message that contains a
+   * <code>%d</code> placeholder for the given argument, e.g., a length limit.
+   * The message is rendered once here; the argument is kept, so a localized
+   * message from a resource bundle can be rendered with it as well.
+   *
+   * @param message The message, or a key for the resource bundle.
+   * @param argument The value for the placeholder
+   * @return The result
+   */
+  public static ValidationResult invalid(String message, int argument) {
+    return new ValidationResult(false, false, MessageTemplate.compile(message).render(argument), message, true, argument);
+  }
+
+  public boolean isValid() {
+    return valid;
+  }
+
+  public boolean isPending() {
+    return pending;
+  }
+
+  /**
+   * The message of a failed validation.
+   *
+   * @return The message or a key for the resource bundle, <code>null</code>
+   * for valid results.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * The key of the message in a resource bundle, i.e., the message as given
+   * to the annotation - before the placeholder has been rendered.
+   *
+   * @return The key, <code>null</code> for valid results.
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Render a localized message with the argument of this result. Messages of
+   * results without an argument are taken as they are.
+   *
+   * @param localized The template of the localized message.
+   * @return The rendered message
+   */
+  public String render(MessageTemplate localized) {
+    return hasArgument ? localized.render(argument) : localized.toString();
+  }
+
+  @Override
+  public String toString() {
+    if (pending) {
+      return "ValidationResult[pending]";
+    }
+    return valid ? "ValidationResult[valid]" : "ValidationResult[invalid: " + message + "]";
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.engine.ValidationEngineTest.Order;
+import de.aeoniumsystems.fx.validation.engine.ValidationEngineTest.TestProvider;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit test for {@link BulkValidator}.
+ *
+ * @author robert rohm
+ */
+public class BulkValidatorTest {
+
+  private static BulkValidator validator(char delimiter) {
+    return new BulkValidator(new ValidationEngine(List.of(new TestProvider())), Order.class, delimiter);
+  }
+
+  @Test
+  public void testCsv() throws Exception {
+    System.out.println("CSV");
+    String csv = "id,code,quantity\n"
+            + "1,A-12,3\n"
+            + "2,X,3\n"
+            + "3,\"A,12\",100\n"
+            + "4,\"multi\nline\",5\r\n"
+            + "\n"
+            + "5,\"A\"\"123456789\",7\n";
+    StringWriter report = new StringWriter();
+    BulkReport summary = validator(',').validate(new StringReader(csv), report);
+
+    assertEquals(5, summary.rows());
+    assertEquals(3, summary.violations());
+    assertEquals("3\tcode\tAt least %d characters.\n"
+            + "4\tquantity\tout.of.range\n"
+            + "8\tcode\tAt most %d characters.\n", report.toString());
+  }
+
+  @Test
+  public void testTsvWithMissingColumns() throws Exception {
+    System.out.println("TSV with missing columns");
+    String tsv = "quantity\tcomment\tcode\n"
+            + "5\tfine\tA-12\n"
+            + "0\n";
+    StringWriter report = new StringWriter();
+    BulkReport summary = validator('\t').validate(new StringReader(tsv), report);
+
+    assertEquals(2, summary.rows());
+    assertEquals("3\tquantity\tout.of.range\n"
+            + "3\tcode\tAt least %d characters.\n", report.toString());
+  }
+
+  @Test
+  public void testFileInParallelChunks(@TempDir Path directory) throws Exception {
+    System.out.println("file in parallel chunks");
+    Path file = directory.resolve("orders.csv");
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("﻿code,quantity\n");
+      for (int i = 0; i < 200_000; i++) {
+        writer.write(i % 1000 == 0 ? "X," : "A-12,");
+        writer.write(Integer.toString(1 + i % 99));
+        writer.write('\n');
+      }
+    }
+
+    BulkValidator validator = validator(',');
+    validator.setChunkSize(1000);
+    validator.setMaxChunksInFlight(3);
+    StringWriter report = new StringWriter();
+    BulkReport summary = validator.validate(file, report);
+
+    assertEquals(200_000, summary.rows());
+    assertEquals(200, summary.violations());
+    String[] lines = report.toString().split("\n");
+    assertEquals(200, lines.length);
+    for (int i = 0; i < lines.length; i++) {
+      assertEquals((2 + i * 1000) + "\tcode\tAt least %d characters.", lines[i]);
+    }
+    assertTrue(!summary.isValid());
+  }
+
+  @Test
+  public void testEmpty() throws Exception {
+    System.out.println("empty");
+    StringWriter report = new StringWriter();
+    assertTrue(validator(',').validate(new StringReader(""), report).isValid());
+    assertEquals("", report.toString());
+  }
+}
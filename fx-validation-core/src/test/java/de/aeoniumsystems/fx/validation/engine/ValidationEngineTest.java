@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.engine;
+
+import de.aeoniumsystems.fx.validation.rules.NotNullRule;
+import de.aeoniumsystems.fx.validation.rules.NumberRule;
+import de.aeoniumsystems.fx.validation.rules.NumberScanner;
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import de.aeoniumsystems.fx.validation.rules.StringRule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link ValidationEngine}, with constraints of its own.
+ *
+ * @author robert rohm
+ */
+public class ValidationEngineTest {
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.FIELD)
+  public @interface Length {
+
+    int min() default 0;
+
+    int max() default 0;
+  }
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.FIELD)
+  public @interface Range {
+
+    double min();
+
+    double max();
+
+    boolean integer() default false;
+
+    int scale() default NumberScanner.UNLIMITED_SCALE;
+  }
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.FIELD)
+  public @interface Present {
+  }
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.FIELD)
+  public @interface Unrelated {
+  }
+
+  /**
+   * Compiles the test constraints.
+   */
+  public static class TestProvider implements RuleProvider {
+
+    int compiled = 0;
+
+    @Override
+    public synchronized Rule compile(Annotation annotation) {
+      if (annotation instanceof Length length) {
+        compiled++;
+        return new StringRule(length.min(), length.max(), null, null,
+                ValidationResult.invalid("At least %d characters.", length.min()),
+                ValidationResult.invalid("At most %d characters.", length.max()), null);
+      }
+      if (annotation instanceof Range range) {
+        compiled++;
+        return new NumberRule(NumberScanner.of(range.integer(), range.scale(), Locale.ROOT),
+                true, range.min(), true, range.max(), ValidationResult.invalid("out.of.range"));
+      }
+      if (annotation instanceof Present) {
+        compiled++;
+        return new NotNullRule(ValidationResult.invalid("missing"));
+      }
+      return null;
+    }
+  }
+
+  public static class Person {
+
+    @Length(min = 2, max = 10)
+    @Present
+    private String name;
+
+    @Unrelated
+    private String comment;
+
+    public Person(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class Employee extends Person {
+
+    @Range(min = 0, max = 100, integer = true)
+    private Object level;
+
+    public Employee(String name, Object level) {
+      super(name);
+      this.level = level;
+    }
+  }
+
+  public record Order(@Length(min = 2, max = 10) String code, @Range(min = 1, max = 99) int quantity) {
+  }
+
+  public static class Price {
+
+    @Range(min = 0, max = 100, scale = 2)
+    private float amount;
+
+    public Price(float amount) {
+      this.amount = amount;
+    }
+  }
+
+  public static class Plain {
+
+    private String text;
+  }
+
+  @Test
+  public void testPojo() {
+    System.out.println("POJO");
+    ValidationEngine engine = new ValidationEngine(List.of(new TestProvider()));
+
+    assertTrue(engine.validate(new Person("Robert")).isEmpty());
+    List<Violation> violations = engine.validate(new Person("R"));
+    assertEquals(1, violations.size());
+    assertEquals("name", violations.get(0).property());
+    assertEquals("At least 2 characters.", violations.get(0).message());
+    assertEquals("At least %d characters.", violations.get(0).key());
+    assertEquals(-1, violations.get(0).index());
+
+    violations = engine.validate(new Person(null));
+    assertEquals(1, violations.size());
+    assertEquals("missing", violations.get(0).message());
+  }
+
+  @Test
+  public void testInheritedFields() {
+    System.out.println("inherited fields");
+    ValidationEngine engine = new ValidationEngine(List.of(new TestProvider()));
+
+    assertTrue(engine.isValid(new Employee("Robert", 5)));
+    assertTrue(engine.isValid(new Employee("Robert", new BigDecimal("5.00"))));
+    assertTrue(engine.isValid(new Employee("Robert", "42")));
+    assertFalse(engine.isValid(new Employee("Robert", 5.5)));
+    assertFalse(engine.isValid(new Employee("Robert", 101L)));
+    assertFalse(engine.isValid(new Employee("Robert", Double.NaN)));
+
+    List<Violation> violations = engine.validate(new Employee("R", "x"));
+    assertEquals(2, violations.size());
+    assertEquals("name", violations.get(0).property());
+    assertEquals("level", violations.get(1).property());
+  }
+
+  @Test
+  public void testFloatScale() {
+    System.out.println("float scale");
+    ValidationEngine engine = new ValidationEngine(List.of(new TestProvider()));
+
+    // 0.1f widens to 0.10000000149011612, but has one decimal place
+    assertTrue(engine.isValid(new Price(0.1f)));
+    assertTrue(engine.isValid(new Price(19.99f)));
+    assertTrue(engine.isValid(new Price(42f)));
+    assertFalse(engine.isValid(new Price(0.125f)));
+    assertFalse(engine.isValid(new Price(101f)));
+    assertFalse(engine.isValid(new Price(Float.NaN)));
+  }
+
+  @Test
+  public void testRecord() {
+    System.out.println("record");
+    ValidationEngine engine = new ValidationEngine(List.of(new TestProvider()));
+
+    assertTrue(engine.isValid(new Order("A-12", 3)));
+    List<Violation> violations = engine.validate(new Order("A-123456789", 0));
+    assertEquals(2, violations.size());
+    assertEquals("code", violations.get(0).property());
+    assertEquals("At most 10 characters.", violations.get(0).message());
+    assertEquals("quantity", violations.get(1).property());
+  }
+
+  @Test
+  public void testUnconstrained() {
+    System.out.println("unconstrained");
+    ValidationEngine engine = new ValidationEngine(List.of(new TestProvider()));
+
+    assertFalse(engine.isConstrained(Plain.class));
+    assertTrue(engine.isConstrained(Order.class));
+    assertSame(List.of(), engine.validate(new Plain()));
+    assertThrows(NullPointerException.class, () -> engine.validate(null));
+  }
+
+  @Test
+  public void testRulesAreShared() throws Exception {
+    System.out.println("rules are shared");
+    TestProvider provider = new TestProvider();
+    ValidationEngine engine = new ValidationEngine(List.of(provider));
+
+    Length name = Person.class.getDeclaredField("name").getAnnotation(Length.class);
+    Length code = Order.class.getDeclaredField("code").getAnnotation(Length.class);
+    assertSame(engine.ruleFor(name), engine.ruleFor(code));
+    assertNull(engine.ruleFor(Person.class.getDeclaredField("comment").getAnnotation(Unrelated.class)));
+
+    engine.validate(new Person("Robert"));
+    engine.validate(new Order("A-12", 3));
+    engine.validate(new Employee("Robert", 1));
+    // Length, Present and the two different ranges
+    assertEquals(4, provider.compiled);
+
+    assertEquals(ValidationResult.VALID, engine.check(name, "Robert"));
+    assertFalse(engine.check(name, "R").isValid());
+    Unrelated unrelated = Person.class.getDeclaredField("comment").getAnnotation(Unrelated.class);
+    assertThrows(IllegalArgumentException.class, () -> engine.check(unrelated, "x"));
+  }
+
+  @Test
+  public void testValidateAll() {
+    System.out.println("validate all");
+    ValidationEngine engine = new ValidationEngine(List.of(new TestProvider()));
+
+    List<Object> beans = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      beans.add(i % 1000 == 0 ? new Order("X", 50) : new Order("A-12", 1 + i % 99));
+    }
+    List<Violation> violations = engine.validateAll(beans);
+    assertEquals(100, violations.size());
+    for (int i = 0; i < violations.size(); i++) {
+      assertEquals(i * 1000, violations.get(i).index());
+      assertSame(beans.get(violations.get(i).index()), violations.get(i).bean());
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link GuardedMatcher}, {@link BudgetedCharSequence} and
+ * {@link PatternAnalyzer}.
+ *
+ * @author robert rohm
+ */
+public class GuardedMatcherTest {
+
+  @Test
+  public void testAbortsRunawayBacktracking() {
+    System.out.println("aborts runaway backtracking");
+    GuardedMatcher instance = new GuardedMatcher(Pattern.compile("((a+)+)+b"), 100_000);
+    String text = "a".repeat(40);
+
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertFalse(instance.matches(text)));
+    assertTrue(instance.matches("aaab"));
+  }
+
+  @Test
+  public void testLongInputWithLinearPattern() {
+    System.out.println("long input with linear pattern");
+    GuardedMatcher instance = new GuardedMatcher(Pattern.compile("[a-z]*"), 100_000);
+    String text = "a".repeat(120_000);
+
+    assertTrue(instance.matches(text));
+    assertFalse(instance.matches(text + "1"));
+    assertEquals(100_000 + 16 * 120_000, instance.budgetFor(text.length()));
+  }
+
+  @Test
+  public void testWarnsOncePerPattern() {
+    System.out.println("warns once per pattern");
+    Logger logger = Logger.getLogger(GuardedMatcher.class.getName());
+    List<Level> levels = new ArrayList<>();
+    Handler handler = new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        levels.add(record.getLevel());
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    Level level = logger.getLevel();
+    logger.setLevel(Level.ALL);
+    logger.addHandler(handler);
+    try {
+      GuardedMatcher first = new GuardedMatcher(Pattern.compile("((x+)+)+y"), 10_000);
+      GuardedMatcher second = new GuardedMatcher(Pattern.compile("((x+)+)+y"), 10_000);
+      String text = "x".repeat(30);
+      assertFalse(first.matches(text));
+      assertFalse(first.matches(text));
+      assertFalse(second.matches(text));
+    } finally {
+      logger.removeHandler(handler);
+      logger.setLevel(level);
+    }
+    assertEquals(List.of(Level.WARNING, Level.FINE, Level.FINE), levels);
+  }
+
+  @Test
+  public void testBudgetIsShared() {
+    System.out.println("budget is shared");
+    BudgetedCharSequence instance = new BudgetedCharSequence("abcdef", 4);
+    CharSequence sub = instance.subSequence(1, 4);
+    sub.charAt(0);
+    sub.charAt(1);
+    instance.charAt(0);
+    instance.charAt(1);
+    MatchBudgetExceededException ex = assertThrows(MatchBudgetExceededException.class, () -> sub.charAt(2));
+    assertEquals("Match budget exceeded after reading 4 characters.", ex.getMessage());
+    assertEquals(4, instance.getUsed());
+    assertEquals(0, instance.getRemaining());
+  }
+
+  @Test
+  public void testWarnedPatternsAreBounded() {
+    System.out.println("warned patterns are bounded");
+    Logger logger = Logger.getLogger(GuardedMatcher.class.getName());
+    Level level = logger.getLevel();
+    logger.setLevel(Level.OFF);
+    try {
+      String text = "a".repeat(100);
+      for (int i = 0; i < GuardedMatcher.WARNED_LIMIT + 50; i++) {
+        GuardedMatcher instance = new GuardedMatcher(Pattern.compile("[a-z]*#" + i), 10, 0);
+        assertFalse(instance.matches(text));
+      }
+      assertTrue(GuardedMatcher.warnedCount() <= GuardedMatcher.WARNED_LIMIT);
+    } finally {
+      logger.setLevel(level);
+    }
+  }
+
+  @Test
+  public void testNestedQuantifiers() {
+    System.out.println("nested quantifiers");
+    assertTrue(PatternAnalyzer.hasNestedQuantifiers("(a+)+"));
+    assertTrue(PatternAnalyzer.hasNestedQuantifiers("(\\w+\\s?)*"));
+    assertTrue(PatternAnalyzer.hasNestedQuantifiers("(.*,){20}"));
+    assertTrue(PatternAnalyzer.hasNestedQuantifiers("((ab)*c)+"));
+
+    assertFalse(PatternAnalyzer.hasNestedQuantifiers("[a-z]+"));
+    assertFalse(PatternAnalyzer.hasNestedQuantifiers("(ab)+"));
+    assertFalse(PatternAnalyzer.hasNestedQuantifiers("(a{2})+"));
+    assertFalse(PatternAnalyzer.hasNestedQuantifiers("(a+)?"));
+    assertFalse(PatternAnalyzer.hasNestedQuantifiers("[(a+)]+"));
+    assertFalse(PatternAnalyzer.hasNestedQuantifiers("\\(a+\\)+"));
+  }
+}
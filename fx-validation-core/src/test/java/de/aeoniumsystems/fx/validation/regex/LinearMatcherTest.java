@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link LinearMatcher}: same results as java.util.regex.
+ *
+ * @author robert rohm
+ */
+public class LinearMatcherTest {
+
+  private static final String[] PATTERNS = {
+    "[a-z]*", "[a-z]+", "abc", "a|b|cd", "(ab)*c?", "(?:a|bc){2,3}", "a{3}", "a{2,}", "x?y*z+",
+    "[^abc]+", "[a-c0-9_]{1,4}", "\\d+(\\.\\d{1,2})?", "\\w+@\\w+\\.[a-z]{2,3}", "\\s*\\S+\\s*",
+    "^[A-Z][a-z]*$", ".*", "a.c", "(a|ab)(c|bcd)", "[-+]?[0-9]*", "\\(\\d{3}\\) \\d{3}-\\d{4}", "(a*)*b",
+    "[]a]+", "[a-]+", "\\x41\\u0042", "a*?b"
+  };
+
+  private static final String ALPHABET = "abcdxyzABZ019_ .-+@()\n";
+
+  @Test
+  public void testSameResultsAsJavaRegex() {
+    System.out.println("same results as java.util.regex");
+    Random random = new Random(7);
+    for (String regex : PATTERNS) {
+      Pattern pattern = Pattern.compile(regex);
+      LinearMatcher instance = LinearMatcher.compile(regex, 0);
+      for (int i = 0; i < 2_000; i++) {
+        StringBuilder text = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int j = 0; j < length; j++) {
+          text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        assertEquals(pattern.matcher(text).matches(), instance.matches(text), regex + " on '" + text + "'");
+      }
+    }
+  }
+
+  @Test
+  public void testFlags() {
+    System.out.println("flags");
+    assertTrue(LinearMatcher.compile("[a-z]+", Pattern.CASE_INSENSITIVE).matches("aBc"));
+    assertTrue(LinearMatcher.compile("a.b", Pattern.DOTALL).matches("a\nb"));
+    assertFalse(LinearMatcher.compile("a.b", 0).matches("a\nb"));
+    assertFalse(LinearMatcher.isSupported("a", Pattern.COMMENTS));
+  }
+
+  @Test
+  public void testUnsupported() {
+    System.out.println("unsupported");
+    assertFalse(LinearMatcher.isSupported("(a)\\1", 0));
+    assertFalse(LinearMatcher.isSupported("a(?=b)", 0));
+    assertFalse(LinearMatcher.isSupported("a*+", 0));
+    assertFalse(LinearMatcher.isSupported("\\bword\\b", 0));
+    assertFalse(LinearMatcher.isSupported("[a-z&&[^x]]", 0));
+    assertFalse(LinearMatcher.isSupported("a^b", 0));
+  }
+
+  @Test
+  public void testLinearTime() {
+    System.out.println("linear time");
+    LinearMatcher instance = LinearMatcher.compile("(a+)+b", 0);
+    String text = "a".repeat(100_000);
+    assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertFalse(instance.matches(text)));
+    assertTrue(instance.matches(text + "b"));
+  }
+}
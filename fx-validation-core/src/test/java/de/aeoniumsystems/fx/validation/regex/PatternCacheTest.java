@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.regex;
+
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link PatternCache}.
+ *
+ * @author robert rohm
+ */
+public class PatternCacheTest {
+
+  @Test
+  public void testSharedByPatternAndFlags() {
+    System.out.println("shared by pattern and flags");
+    PatternCache instance = new PatternCache(10);
+
+    Pattern first = instance.get("[a-z]*");
+    assertSame(first, instance.get("[a-z]*"));
+    assertNotSame(first, instance.get("[a-z]*", Pattern.CASE_INSENSITIVE));
+    assertEquals(Pattern.CASE_INSENSITIVE, instance.get("[a-z]*", Pattern.CASE_INSENSITIVE).flags());
+
+    assertEquals(2, instance.getHitCount());
+    assertEquals(2, instance.getMissCount());
+    assertEquals(2, instance.size());
+  }
+
+  @Test
+  public void testBounded() {
+    System.out.println("bounded");
+    PatternCache instance = new PatternCache(3);
+    for (int i = 0; i < 10; i++) {
+      Pattern pattern = instance.get("x{" + i + "}");
+      // the new pattern stays cached
+      assertSame(pattern, instance.get("x{" + i + "}"));
+    }
+    assertTrue(instance.size() <= 3);
+    assertEquals(7, instance.getEvictionCount());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.rules;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link NumberScanner}.
+ *
+ * @author robert rohm
+ */
+public class NumberScannerTest {
+
+  private static void assertNaN(NumberScanner scanner, String text) {
+    assertTrue(Double.isNaN(scanner.scan(text)), "not a number: '" + text + "'");
+  }
+
+  @Test
+  public void testDefault() {
+    System.out.println("default syntax");
+    NumberScanner instance = NumberScanner.DEFAULT;
+
+    assertEquals(7.0, instance.scan("7"));
+    assertEquals(-7.5, instance.scan(" -7.5 "));
+    assertEquals(0.5, instance.scan(".5"));
+    assertEquals(5.0, instance.scan("5."));
+    assertEquals(1200.0, instance.scan("1.2e3"));
+    assertEquals(0.012, instance.scan("1.2E-2"));
+    assertEquals(-0.0, instance.scan("-0"));
+
+    assertNaN(instance, null);
+    assertNaN(instance, "");
+    assertNaN(instance, "-");
+    assertNaN(instance, "1e");
+    assertNaN(instance, "1e+");
+    assertNaN(instance, ".");
+    assertNaN(instance, "1,000");
+    assertNaN(instance, "1 2");
+    assertNaN(instance, "NaN");
+    assertNaN(instance, "Infinity");
+    assertNaN(instance, "0x1p3");
+    assertNaN(instance, "1d");
+  }
+
+  @Test
+  public void testSameValuesAsParseDouble() {
+    System.out.println("same values as parseDouble");
+    NumberScanner instance = NumberScanner.DEFAULT;
+    Random random = new Random(42);
+    String[] fixed = {"0.1", "0.3", "123456789012345", "1234567890123456789", "9007199254740993",
+      "1e22", "1e23", "1e-22", "4.9e-324", "1.7976931348623157e308", "1e400", "0.000000000000000000000000001"};
+    for (String text : fixed) {
+      assertEquals(Double.parseDouble(text), instance.scan(text), text);
+    }
+    for (int i = 0; i < 100_000; i++) {
+      String text = random.nextInt(1_000_000) + "." + random.nextInt(100_000) + "e" + (random.nextInt(50) - 25);
+      assertEquals(Double.parseDouble(text), instance.scan(text), text);
+    }
+  }
+
+  @Test
+  public void testIntegerAndScale() {
+    System.out.println("integer and scale");
+    NumberScanner integer = NumberScanner.of(true, NumberScanner.UNLIMITED_SCALE, null);
+    assertEquals(42.0, integer.scan("42"));
+    assertNaN(integer, "4.2");
+    assertNaN(integer, "4.2e0");
+    assertEquals(4.0, integer.scan("4.0"));
+    assertEquals(400.0, integer.scan("4e2"));
+    assertEquals(420.0, integer.scan("4.2e2"));
+
+    NumberScanner money = NumberScanner.of(false, 2, null);
+    assertEquals(4.25, money.scan("4.25"));
+    assertEquals(4.5, money.scan("4.500"));
+    assertEquals(0.0, money.scan("0.000"));
+    assertNaN(money, "4.255");
+    assertNaN(money, "4.25e-1");
+  }
+
+  @Test
+  public void testScaleOfTextAndNumbers() {
+    System.out.println("scale of text and numbers");
+    ValidationResult failure = ValidationResult.invalid("invalid");
+    NumberRule oneDigit = new NumberRule(NumberScanner.of(false, 1, null), false, 0, false, 0, failure);
+    NumberRule integer = new NumberRule(NumberScanner.of(true, NumberScanner.UNLIMITED_SCALE, null), false, 0, false, 0, failure);
+    String[] texts = {"1.50", "1.5", "1.55", "1.0", "1e3", "1.5e-3", "150e-2", "0.00", "-2.50"};
+    for (String text : texts) {
+      assertEquals(oneDigit.check(new BigDecimal(text)), oneDigit.check(text), text);
+      assertEquals(oneDigit.check((Object) Double.parseDouble(text)), oneDigit.check(text), text);
+      assertEquals(integer.check(new BigDecimal(text)), integer.check(text), text);
+      assertEquals(integer.check((Object) Double.parseDouble(text)), integer.check(text), text);
+    }
+    assertTrue(oneDigit.check("1.50").isValid());
+    assertFalse(oneDigit.check("1.5e-3").isValid());
+    assertTrue(integer.check("1.0").isValid());
+    assertFalse(integer.check("1.5").isValid());
+  }
+
+  @Test
+  public void testLocale() {
+    System.out.println("locale");
+    NumberScanner german = NumberScanner.of(false, NumberScanner.UNLIMITED_SCALE, Locale.GERMANY);
+    assertEquals(1234.56, german.scan("1.234,56"));
+    assertEquals(1234567.0, german.scan("1.234.567"));
+    assertNaN(german, ".5");
+    assertNaN(german, "1..234");
+    assertNaN(german, "1.");
+
+    // the wrong decimal separator is not a grouping separator
+    assertEquals(3, german.getGroupingSize());
+    assertNaN(german, "1.5");
+    assertNaN(german, "1.2345");
+    assertNaN(german, "1234.567");
+    assertNaN(german, "1.234.56");
+    assertEquals(12345.5, german.scan("12.345,5"));
+    assertEquals(1234.0, german.scan("1234"));
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.control.Control;
+
+/**
+ * A full-form validation that is spread over several frames: on each frame,
+ * it validates controls until the time budget is used up, so validating a
+ * form with thousands of controls does not freeze the UI. In contrast to
+ * {@link FXValidatorService#validate(Object)}, it does not stop at the first
+ * failure, but collects all of them - and it marks the controls according to
+ * their results, like a change of the control would.
+ * <p>
+ * Cross-field rules are validators of their target controls and get
+ * validated with them. The item validators of TableViews and ListViews are
+ * checked after the controls; they mark their rows themselves, so their
+ * failures are collected, but the views are not marked.</p>
+ * <p>
+ * Start it with {@link FXValidatorService#validateChunked(Object, Duration)}
+ * on the JavaFX application thread. The controls are validated on the JavaFX
+ * application thread as well, driven by an {@link AnimationTimer}.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class ChunkedValidation {
+
+  private final List<Control> controls;
+
+  private final List<FXItemValidator<?>> itemValidators;
+
+  private final long budgetNanos;
+
+  private final List<ValidationFailure> failures = new ArrayList<>();
+
+  private final CompletableFuture<List<ValidationFailure>> result = new CompletableFuture<>();
+
+  private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(this, "progress", 0);
+
+  private final AnimationTimer timer = new AnimationTimer() {
+    @Override
+    public void handle(long now) {
+      step();
+    }
+  };
+
+  /**
+   * The index of the next control or - after the controls - item validator to
+   * validate.
+   */
+  private int next = 0;
+
+  ChunkedValidation(List<Control> controls, List<FXItemValidator<?>> itemValidators, Duration budget) {
+    this.controls = new ArrayList<>(controls);
+    this.itemValidators = new ArrayList<>(itemValidators);
+    this.budgetNanos = Math.max(1, budget.toNanos());
+  }
+
+  /**
+   * Validate the first chunk right away and the rest on the following frames.
+   */
+  void start() {
+    if (this.step()) {
+      this.timer.start();
+    }
+  }
+
+  /**
+   * Validate controls and item validators until the budget is used up - at
+   * least one, so the validation always makes progress.
+   *
+   * @return true, if there are controls or item validators left.
+   */
+  private boolean step() {
+    if (this.result.isDone()) {
+      this.timer.stop();
+      return false;
+    }
+    final long deadline = System.nanoTime() + this.budgetNanos;
+    final int size = this.controls.size() + this.itemValidators.size();
+    do {
+      if (this.next >= size) {
+        this.finish();
+        return false;
+      }
+      final int index = this.next++;
+      if (index < this.controls.size()) {
+        this.validate(this.controls.get(index));
+      } else {
+        this.validate(this.itemValidators.get(index - this.controls.size()));
+      }
+    } while (System.nanoTime() < deadline);
+
+    this.progress.set((double) this.next / size);
+    return true;
+  }
+
+  /**
+   * Validate one control with all its validators, and mark it with the first
+   * failure, if any. Pending asynchronous checks are collected as failures.
+   *
+   * @param control The control
+   */
+  private void validate(Control control) {
+    // skip controls that have been disposed in the meantime
+    if (!control.hasProperties() || !control.getProperties().containsKey(ValidationContext.KEY)) {
+      return;
+    }
+    List<FXAbstractValidator<?, ?>> validators = FXValidatorService.getValidators(control);
+    if (validators == null) {
+      return;
+    }
+    ValidationResult first = ValidationResult.VALID;
+    boolean pending = false;
+    for (FXAbstractValidator<?, ?> validator : validators) {
+      ValidationResult validatorResult = validator.evaluate();
+      if (!validatorResult.isValid()) {
+        this.failures.add(new ValidationFailure(control, validator, validatorResult));
+        if (validatorResult.isPending()) {
+          pending = true;
+        } else if (first.isValid()) {
+          first = validatorResult;
+        }
+      }
+    }
+    // pending results keep the current marks, until the result is applied
+    if (!first.isValid() || !pending) {
+      DefaultFXValidationHandler.applyResult(control, first);
+    }
+  }
+
+  /**
+   * Check the dirty items of an item validator, and collect the first invalid
+   * item as failure.
+   *
+   * @param validator The item validator
+   */
+  private void validate(FXItemValidator<?> validator) {
+    final Control control = validator.getControl();
+    if (!control.hasProperties() || !control.getProperties().containsKey(ValidationContext.KEY)) {
+      return;
+    }
+    ValidationResult result = validator.evaluate();
+    if (!result.isValid()) {
+      this.failures.add(new ValidationFailure(control, validator, result));
+    }
+  }
+
+  private void finish() {
+    this.timer.stop();
+    this.progress.set(1);
+    this.result.complete(Collections.unmodifiableList(this.failures));
+  }
+
+  /**
+   * Stop the validation - the result gets cancelled.
+   */
+  public void cancel() {
+    this.timer.stop();
+    this.result.cancel(false);
+  }
+
+  /**
+   * The result: all failures, in the order of the validated controls, followed
+   * by the failures of the item validators. The
+   * future completes on the JavaFX application thread; the list is empty if
+   * the form is valid.
+   *
+   * @return The result
+   */
+  public CompletableFuture<List<ValidationFailure>> getResult() {
+    return this.result;
+  }
+
+  public boolean isDone() {
+    return this.result.isDone();
+  }
+
+  /**
+   * The share of the controls and item validators validated so far, from 0 to
+   * 1.
+   *
+   * @return The progress property
+   */
+  public ReadOnlyDoubleProperty progressProperty() {
+    return this.progress.getReadOnlyProperty();
+  }
+
+  public double getProgress() {
+    return this.progress.get();
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXCrossValidation;
+import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.scene.control.Control;
+
+/**
+ * Validator of one {@link FXCrossValidation} rule: it calls the annotated
+ * method of the controller and is registered with the target control, so it
+ * takes part in the aggregate and in the validation of the whole form like any
+ * other validator. Validation gets skipped if the target control is either
+ * disabled or invisible.
+ * <p>
+ * The controller is only weakly referenced, see {@link ValidationContext}.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class CrossFieldValidator extends FXAbstractValidator<Control, FXCrossValidation> {
+
+  private static final Logger LOG = Logger.getLogger(CrossFieldValidator.class.getName());
+
+  private final String name;
+
+  private final WeakReference<Object> controller;
+
+  private final Method method;
+
+  private final ValidationResult failure;
+
+  /**
+   * Create the validator of a rule.
+   *
+   * @param name The name of the rule
+   * @param controller The controller declaring the rule
+   * @param method The annotated method, accessible
+   * @param target The control to mark
+   * @param annotation The annotation
+   */
+  CrossFieldValidator(String name, Object controller, Method method, Control target, FXCrossValidation annotation) {
+    super(target, annotation);
+    this.name = name;
+    this.controller = new WeakReference<>(controller);
+    this.method = method;
+    this.failure = ValidationResult.invalid(annotation.message());
+  }
+
+  String getName() {
+    return name;
+  }
+
+  ValidationResult getFailure() {
+    return failure;
+  }
+
+  @Override
+  public ValidationResult evaluate(Control control, FXCrossValidation annotation) {
+    // shortcut: do not check if disabled or invisible.
+    if (control.isDisabled() || !control.isVisible()) {
+      this.setValid(true);
+      return ValidationResult.VALID;
+    }
+
+    boolean valid = this.test();
+    this.setValid(valid);
+    return valid ? ValidationResult.VALID : this.failure;
+  }
+
+  @Override
+  public void validate(Control control, FXCrossValidation annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
+    }
+  }
+
+  /**
+   * Call the rule method - a rule that throws is regarded as failed.
+   *
+   * @return The result of the rule method.
+   */
+  private boolean test() {
+    Object target = this.controller.get();
+    if (target == null) {
+      return true;
+    }
+    try {
+      return (Boolean) this.method.invoke(target);
+    } catch (IllegalAccessException | InvocationTargetException ex) {
+      LOG.log(Level.SEVERE, "Cross-field validation " + this.name + " failed.", ex);
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CrossFieldValidator{" + this.name + '}';
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXCrossValidation;
+import de.aeoniumsystems.fx.validation.exceptions.FXValidatorException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ComboBoxBase;
+import javafx.scene.control.Control;
+import javafx.scene.control.Slider;
+import javafx.scene.control.Spinner;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.control.ToggleButton;
+
+/**
+ * The {@link FXCrossValidation} rules of one controller, wired into a
+ * dependency graph: the rules are sorted topologically along their
+ * {@link FXCrossValidation#dependsOn() dependencies}, and each observed value
+ * knows the set of rules it affects, including the transitive dependents. A
+ * change of a value marks these rules as dirty, and the dirty rules run once
+ * each, in topological order - immediately or once per pulse, according to the
+ * {@link ValidationMode}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class CrossValidationGraph {
+
+  /**
+   * The rules in topological order - the index of a rule is its bit in the
+   * dirty set.
+   */
+  private final CrossFieldValidator[] rules;
+
+  private final BitSet dirty;
+
+  private final ValidationTrigger trigger;
+
+  private boolean flushing = false;
+
+  private CrossValidationGraph(CrossFieldValidator[] rules) {
+    this.rules = rules;
+    this.dirty = new BitSet(rules.length);
+    // the dirty bits decide what runs - a value that changes back within one
+    // pulse still leaves its rules dirty, and those rules have to run
+    this.trigger = new ValidationTrigger(rules[0].getControl(), this::flush);
+  }
+
+  /**
+   * Wire the cross-field rules declared by the controller, if any. Rules are
+   * checked once right away, so the aggregate starts from their actual state,
+   * but the controls only get marked on the first change.
+   *
+   * @param controller The controller
+   * @param context The validation context of the controller
+   * @throws FXValidatorException Thrown if a rule is declared wrongly, or if
+   * the rules depend on each other cyclically.
+   */
+  static void install(Object controller, ValidationContext context) {
+    if (context.crossValidation != null) {
+      return;
+    }
+    final List<Method> methods = new ArrayList<>();
+    for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Method method : type.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(FXCrossValidation.class)) {
+          methods.add(method);
+        }
+      }
+    }
+    if (methods.isEmpty()) {
+      return;
+    }
+
+    // create the validators in declaration order
+    final Map<String, Integer> indices = new LinkedHashMap<>();
+    final CrossFieldValidator[] declared = new CrossFieldValidator[methods.size()];
+    for (int i = 0; i < declared.length; i++) {
+      Method method = methods.get(i);
+      FXCrossValidation annotation = method.getAnnotation(FXCrossValidation.class);
+      String name = annotation.name().isEmpty() ? method.getName() : annotation.name();
+      if (method.getParameterCount() != 0
+              || (method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class)) {
+        throw new FXValidatorException("Cross-field validation " + name + " must take no arguments and return boolean.");
+      }
+      if (annotation.fields().length == 0) {
+        throw new FXValidatorException("Cross-field validation " + name + " declares no fields.");
+      }
+      if (indices.put(name, i) != null) {
+        throw new FXValidatorException("Duplicate cross-field validation: " + name);
+      }
+      String targetName = annotation.target().isEmpty() ? annotation.fields()[0] : annotation.target();
+      if (!(fieldValue(controller, targetName) instanceof Control target)) {
+        throw new FXValidatorException("Target " + targetName + " of cross-field validation " + name + " is not a control.");
+      }
+      method.setAccessible(true);
+      declared[i] = new CrossFieldValidator(name, controller, method, target, annotation);
+    }
+
+    // the edges point from a rule to the rules depending on it
+    final List<List<Integer>> dependents = new ArrayList<>(declared.length);
+    final int[] inDegree = new int[declared.length];
+    for (int i = 0; i < declared.length; i++) {
+      dependents.add(new ArrayList<>(2));
+    }
+    for (int i = 0; i < declared.length; i++) {
+      for (String dependency : declared[i].getAnnotation().dependsOn()) {
+        Integer j = indices.get(dependency);
+        if (j == null) {
+          throw new FXValidatorException("Cross-field validation " + declared[i].getName() + " depends on unknown rule " + dependency + ".");
+        }
+        dependents.get(j).add(i);
+        inDegree[i]++;
+      }
+    }
+
+    // Kahn's algorithm - rules left over are part of a cycle
+    final int[] order = new int[declared.length];
+    final int[] rank = new int[declared.length];
+    final Deque<Integer> ready = new ArrayDeque<>();
+    for (int i = 0; i < declared.length; i++) {
+      if (inDegree[i] == 0) {
+        ready.add(i);
+      }
+    }
+    int sorted = 0;
+    while (!ready.isEmpty()) {
+      int i = ready.poll();
+      rank[i] = sorted;
+      order[sorted++] = i;
+      for (int j : dependents.get(i)) {
+        if (--inDegree[j] == 0) {
+          ready.add(j);
+        }
+      }
+    }
+    if (sorted < declared.length) {
+      List<String> cycle = new ArrayList<>();
+      for (int i = 0; i < declared.length; i++) {
+        if (inDegree[i] > 0) {
+          cycle.add(declared[i].getName());
+        }
+      }
+      throw new FXValidatorException("Cyclic dependencies between the cross-field validations " + cycle + ".");
+    }
+
+    // the rules affected by each rule: itself and all transitive dependents,
+    // collected in reverse topological order
+    final CrossFieldValidator[] rules = new CrossFieldValidator[declared.length];
+    final BitSet[] affected = new BitSet[declared.length];
+    for (int k = declared.length - 1; k >= 0; k--) {
+      int i = order[k];
+      rules[k] = declared[i];
+      BitSet bits = new BitSet(declared.length);
+      bits.set(k);
+      for (int j : dependents.get(i)) {
+        bits.or(affected[rank[j]]);
+      }
+      affected[k] = bits;
+    }
+
+    // the rules affected by each observed value
+    final Map<ObservableValue<?>, BitSet> sources = new IdentityHashMap<>();
+    for (int k = 0; k < rules.length; k++) {
+      CrossFieldValidator rule = rules[k];
+      List<ObservableValue<?>> observed = new ArrayList<>();
+      for (String field : rule.getAnnotation().fields()) {
+        observed.add(valueOf(fieldValue(controller, field), field, rule.getName()));
+      }
+      observed.add(rule.getControl().disabledProperty());
+      observed.add(rule.getControl().visibleProperty());
+      for (ObservableValue<?> value : observed) {
+        sources.computeIfAbsent(value, v -> new BitSet(rules.length)).or(affected[k]);
+      }
+    }
+
+    final CrossValidationGraph graph = new CrossValidationGraph(rules);
+    context.crossValidation = graph;
+    context.onDispose(graph.trigger::dispose);
+    for (Map.Entry<ObservableValue<?>, BitSet> entry : sources.entrySet()) {
+      final BitSet bits = entry.getValue();
+      final ObservableValue<?> value = entry.getKey();
+      final ChangeListener<Object> listener = (observable, oldValue, newValue) -> {
+        graph.dirty.or(bits);
+        graph.trigger.request();
+      };
+      value.addListener(listener);
+      context.onDispose(() -> value.removeListener(listener));
+    }
+
+    for (CrossFieldValidator rule : rules) {
+      Control target = rule.getControl();
+      FXValidatorService.registerValidator(target, rule);
+      if (!context.validatedControls.contains(target)) {
+        FXValidatorService.registerValidatedControl(controller, target);
+      }
+      rule.evaluate();
+    }
+  }
+
+  /**
+   * Run the dirty rules in topological order, then mark their targets with
+   * the first failure of all their validators, not only of the rules. Rules
+   * that get dirty while the rules run, e.g., since a rule changes a value,
+   * are run in the same pass.
+   */
+  private void flush() {
+    if (this.flushing) {
+      return;
+    }
+    this.flushing = true;
+    try {
+      final Set<Control> targets = new LinkedHashSet<>();
+      for (int k = this.dirty.nextSetBit(0); k >= 0; k = this.dirty.nextSetBit(0)) {
+        this.dirty.clear(k);
+        CrossFieldValidator rule = this.rules[k];
+        rule.revision++;
+        rule.evaluate();
+        targets.add(rule.getControl());
+      }
+      for (Control target : targets) {
+        ValidationResult result = DefaultFXValidationHandler.resultOf(target, null, ValidationResult.VALID);
+        // pending results keep the current marks, until the result is applied
+        if (!result.isPending()) {
+          DefaultFXValidationHandler.applyResult(target, result);
+        }
+      }
+    } finally {
+      this.flushing = false;
+    }
+  }
+
+  /**
+   * The names of the rules in the order they run.
+   *
+   * @return The rule names
+   */
+  List<String> getOrder() {
+    List<String> names = new ArrayList<>(this.rules.length);
+    for (CrossFieldValidator rule : this.rules) {
+      names.add(rule.getName());
+    }
+    return names;
+  }
+
+  /**
+   * Read a field of the controller, also a private or inherited one.
+   *
+   * @param controller The controller
+   * @param name The field name
+   * @return The field value
+   */
+  static Object fieldValue(Object controller, String name) {
+    for (Class<?> type = controller.getClass(); type != null; type = type.getSuperclass()) {
+      try {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(controller);
+      } catch (NoSuchFieldException ex) {
+        // try the super class
+      } catch (IllegalAccessException | RuntimeException ex) {
+        throw new FXValidatorException("Field " + name + " of " + controller.getClass().getName() + " is not accessible: " + ex.getMessage());
+      }
+    }
+    throw new FXValidatorException("Field " + name + " not found in " + controller.getClass().getName() + ".");
+  }
+
+  /**
+   * Get the observable value of a field a rule reads.
+   *
+   * @param value The field value
+   * @param field The field name
+   * @param rule The rule name
+   * @return The observable value
+   */
+  private static ObservableValue<?> valueOf(Object value, String field, String rule) {
+    if (value instanceof ObservableValue<?> observableValue) {
+      return observableValue;
+    } else if (value instanceof TextInputControl textInputControl) {
+      return textInputControl.textProperty();
+    } else if (value instanceof CheckBox checkBox) {
+      return checkBox.selectedProperty();
+    } else if (value instanceof ToggleButton toggleButton) {
+      return toggleButton.selectedProperty();
+    } else if (value instanceof ChoiceBox<?> choiceBox) {
+      return choiceBox.valueProperty();
+    } else if (value instanceof ComboBoxBase<?> comboBoxBase) {
+      return comboBoxBase.valueProperty();
+    } else if (value instanceof Spinner<?> spinner) {
+      return spinner.valueProperty();
+    } else if (value instanceof Slider slider) {
+      return slider.valueProperty();
+    }
+    throw new FXValidatorException("Field " + field + " of cross-field validation " + rule + " has no observable value.");
+  }
+}
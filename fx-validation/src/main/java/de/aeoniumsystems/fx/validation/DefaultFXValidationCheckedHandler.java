@@ -25,6 +25,7 @@ import java.lang.reflect.Field;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.beans.property.BooleanProperty;
+import javafx.event.EventHandler;
 import javafx.scene.control.ButtonBase;
 import javafx.scene.control.Control;
 import javafx.scene.input.MouseEvent;
@@ -46,15 +47,19 @@ public class DefaultFXValidationCheckedHandler  implements AnnotationHandler<FXV
 
         if (control instanceof ButtonBase) {
           ButtonBase buttonBase = (ButtonBase) control;
-          buttonBase.addEventFilter(MouseEvent.MOUSE_PRESSED, (MouseEvent event) -> {
+          // capture the context, not the controller - see ValidationContext
+          final ValidationContext context = FXValidatorService.contextOf(controller);
+          final EventHandler<MouseEvent> filter = (MouseEvent event) -> {
             try {
-              FXValidatorService.validate(controller);
+              FXValidatorService.validate(context);
 
             } catch (Exception ex) {
               event.consume();
               Logger.getLogger(DefaultFXValidationCheckedHandler.class.getName()).log(Level.SEVERE, null, ex);
             }
-          });
+          };
+          buttonBase.addEventFilter(MouseEvent.MOUSE_PRESSED, filter);
+          context.onDispose(() -> buttonBase.removeEventFilter(MouseEvent.MOUSE_PRESSED, filter));
         }
 
       } else if (fieldContent instanceof BooleanProperty) {
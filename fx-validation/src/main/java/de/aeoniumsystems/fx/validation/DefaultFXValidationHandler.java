@@ -18,7 +18,6 @@
  */
 package de.aeoniumsystems.fx.validation;
 
-import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
 import com.aeonium.javafx.actions.FXActionManager;
 import com.aeonium.javafx.actions.annotations.AnnotationHandler;
 import de.aeoniumsystems.fx.validation.utils.LabelService;
@@ -27,22 +26,24 @@ import de.aeoniumsystems.fx.validation.annotations.FXNumber;
 import de.aeoniumsystems.fx.validation.annotations.FXRequired;
 import de.aeoniumsystems.fx.validation.annotations.FXString;
 import de.aeoniumsystems.fx.validation.annotations.FXValidation;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.List;
-import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javafx.beans.value.ChangeListener;
+import javafx.event.Event;
+import javafx.event.EventHandler;
 import javafx.event.EventType;
+import javafx.scene.Node;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.ComboBoxBase;
 import javafx.scene.control.Control;
 import javafx.scene.control.Label;
-import javafx.scene.control.TextInputControl;
-import javafx.scene.input.KeyEvent;
 
 /**
  * Handler for the following validation constraints (i.e., annotations):
@@ -61,6 +62,35 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
 
   private static final Logger LOG = Logger.getLogger(DefaultFXValidationHandler.class.getName());
 
+  /**
+   * Key of the last failed result in the properties of a control.
+   */
+  static final String RESULT_KEY = DefaultFXValidationHandler.class.getName() + ".result";
+
+  /**
+   * The constructors of the validator classes: the public no-argument
+   * constructor, or, for inner classes, the constructor taking the enclosing
+   * instance - <code>null</code> if there is none. Looking them up is done
+   * once per class, not once per field of every form instance.
+   */
+  private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+    @Override
+    protected Constructor<?> computeValue(Class<?> type) {
+      try {
+        final Class<?> enclosing = type.getEnclosingClass();
+        if (enclosing != null && !Modifier.isStatic(type.getModifiers())) {
+          Constructor<?> constructor = type.getDeclaredConstructor(enclosing);
+          constructor.setAccessible(true);
+          return constructor;
+        }
+        return type.getConstructor();
+      } catch (NoSuchMethodException ex) {
+        LOG.log(Level.SEVERE, "Validator {0} has no suitable constructor.", type.getName());
+        return null;
+      }
+    }
+  };
+
   private FXActionManager manager;
 
   /**
@@ -82,11 +112,15 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
    * <ol>
    * <li>Query the actual control (the field value) from the controller.</li>
    * <li>Get the validation handler ("validator") from the annotation of the
-   * field, then create an instance of the validation handler.</li>
+   * field, then create an instance of the validation handler and let it look
+   * up the rule of the annotation. The rules are immutable and shared by all
+   * instances of the controller class, see {@link FXRules#ruleFor(FXString)},
+   * so the validator itself only holds the state of its control.</li>
    * <li>Register validator with the control in the FXValidatorService</li>
    * <li>Register controller with the control in the FXValidatorService</li>
-   * <li>Add event listeners that call the validate() method of the validation
-   * handler.</li>
+   * <li>Add a trigger that validates whenever one of the dependencies of the
+   * validation handler changes, plus listeners that fire this trigger on focus
+   * loss and on the events requested by the validation handler.</li>
    * </ol>
    *
    * @param controller The controller
@@ -96,11 +130,9 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
   @Override
   @SuppressWarnings("unchecked")
   public void handle(Object controller, Field field, Annotation validation) {
-    String name = null;
-
     try {
-      name = this.getClassName(validation);
-      if (name == null) {
+      final Class<?> validatorClass = validatorClassOf(validation);
+      if (validatorClass == null) {
         return;
       }
 
@@ -119,92 +151,94 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
         }
       }
 
+      // The constructor is looked up once per validator class; inner classes
+      // of the controller get the controller as enclosing instance.
+      final Constructor<?> constructor = CONSTRUCTORS.get(validatorClass);
+      if (constructor == null) {
+        return;
+      }
       FXAbstractValidator validator;
-      final Class<?> classForName = Class.forName(name);
-      if (classForName.getEnclosingClass() == controller.getClass()) {
-        Constructor<?> constructor =  classForName.getDeclaredConstructor(controller.getClass());
+      if (constructor.getParameterCount() == 1) {
         validator = (FXAbstractValidator) constructor.newInstance(controller);
-        
       } else {
-        Constructor<?> constructor =  classForName.getConstructor();
         validator = (FXAbstractValidator) constructor.newInstance();
       }
-      
+
       validator.setAnnotation(validation);
       validator.setControl(control);
 
+      // Compile the annotation once, instead of querying it on each validation
+      validator.prepare();
+
+      // Asynchronous validators deliver their results later, on the FX thread
+      if (validator instanceof FXAsyncValidator<?, ?, ?> asyncValidator) {
+        asyncValidator.setOnResult(result -> applyResult(control, resultOf(control, asyncValidator, result)));
+      }
+
       // Registering control and validator - necessary for later lookups
       FXValidatorService.registerValidator(control, validator);
 
       // Registering control and controller - necessary for later binding
       FXValidatorService.registerValidatedControl(controller, control);
 
-      List<EventType<?>> eventTypes = validator.getEventTypes();
-
-      // Common validation triggers: 
-      control.disabledProperty().addListener((observable, oldValue, newValue) -> {
-        doValidate(validator, control, validation);
-      });
+      // The listeners below must not capture the controller, else the
+      // controls would keep it alive - they get removed on dispose.
+      final ValidationContext context = FXValidatorService.contextOf(controller);
 
-      control.visibleProperty().addListener((observable, oldValue, newValue) -> {
+      // The validation runs at most once per actual change of the values the
+      // validator depends on, however many triggers fire:
+      final ValidationTrigger trigger = new ValidationTrigger(control, validator.getDependencies(control), () -> {
         doValidate(validator, control, validation);
       });
+      trigger.install();
+      context.onDispose(trigger::dispose);
 
-      control.focusedProperty().addListener((observable, oldValue, newValue) -> {
+      // Common validation triggers: validate on focus loss, e.g., for required
+      // fields the user tabs through without input.
+      final ChangeListener<Boolean> focusListener = (observable, oldValue, newValue) -> {
         // if control aquires focus: get out, only validate if focus lost.
         if (newValue) {
           return;
         }
-        doValidate(validator, control, validation);
-      });
-
-      // Specific validation triggers
-      // Text-Input: use change events and focus changes
-      if (control instanceof TextInputControl textInputControl) {
-
-        textInputControl.textProperty().addListener((observable, oldValue, newValue) -> {
-          doValidate(validator, control, validation);
-        });
-
-      } else if (control instanceof ChoiceBox<?> choiceBox) {
-        choiceBox.valueProperty().addListener((observable, oldValue, newValue) -> {
-          doValidate(validator, control, validation);
-        });
-        choiceBox.showingProperty().addListener((observable, oldValue, newValue) -> {
-          if (!newValue) {
-            doValidate(validator, control, validation);
-          }
-        });
+        trigger.request();
+      };
+      control.focusedProperty().addListener(focusListener);
+      context.onDispose(() -> control.focusedProperty().removeListener(focusListener));
+
+      // Specific validation triggers: selection controls get validated when
+      // their popup closes.
+      final ChangeListener<Boolean> showingListener = (observable, oldValue, newValue) -> {
+        if (!newValue) {
+          trigger.request();
+        }
+      };
+      if (control instanceof ChoiceBox<?> choiceBox) {
+        choiceBox.showingProperty().addListener(showingListener);
+        context.onDispose(() -> choiceBox.showingProperty().removeListener(showingListener));
 
       } else if (control instanceof ComboBoxBase<?> c) {
-        c.valueProperty().addListener((observable, oldValue, newValue) -> {
-          doValidate(validator, control, validation);
-        });
-        c.showingProperty().addListener((observable, oldValue, newValue) -> {
-          if (!newValue) {
-            doValidate(validator, control, validation);
-          }
-        });
-      }  
-
-      // Custom validation triggers, defined by the validators 
-      // TODO cleanup - do some actions belong outside the loop?!
-      for (EventType eventType : eventTypes) {
-        // not a text input control: use key events from handlers list
-        // TODO: validate concept - is this really reasonable/needed?
-        control.addEventHandler(eventType, (KeyEvent event) -> {
-          doValidate(validator, control, validation);
-        });
+        c.showingProperty().addListener(showingListener);
+        context.onDispose(() -> c.showingProperty().removeListener(showingListener));
+      }
+
+      // Custom validation triggers, defined by the validators
+      List<EventType<?>> eventTypes = validator.getEventTypes();
+      if (!eventTypes.isEmpty()) {
+        final EventHandler<Event> eventHandler = (Event event) -> {
+          trigger.request();
+        };
+        for (EventType eventType : eventTypes) {
+          control.addEventHandler(eventType, eventHandler);
+          context.onDispose(() -> control.removeEventHandler(eventType, eventHandler));
+        }
       }
 
       // pre-set validation to OK for disabled controls:
       if (control.isDisabled()) {
-        doValidate(validator, control, validation);
+        trigger.fire();
       }
 
-    } catch (ClassNotFoundException | IllegalArgumentException | IllegalAccessException | InstantiationException | InvocationTargetException ex) {
-      Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
-    } catch (NoSuchMethodException ex) {
+    } catch (IllegalArgumentException | IllegalAccessException | InstantiationException | InvocationTargetException ex) {
       Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
     } catch (SecurityException ex) {
       Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
@@ -213,7 +247,10 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
 
   /**
    * Mark the given control according to the validation success as validated or
-   * failed. Currently, this is done by adding or removing stye classes.
+   * failed. Depending on the {@link StylingMode}, this is done by adding or
+   * removing a style class, or by setting a pseudo class. The scene graph is
+   * only changed if the marks differ from the ones applied last time, see
+   * {@link MarkState}.
    *
    * @param control The UI control
    * @param valid Whether the state of the control is valid or not.
@@ -222,48 +259,67 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
    */
   public static void mark(Control control, boolean valid, String errormessage) {
     // TODO Make shure this runs on FX thread
-    if (valid) {
-      if (control.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)) {
-        control.getStyleClass().remove(FXValidatorService.AEFX_VALIDATION_ERROR);
-      }
+    final String message = valid ? null : errormessage;
+    final List<Label> labels = LabelService.getLabelsFor(control);
+    final MarkState state = MarkState.of(control);
+    if (state.isCurrent(valid, message, labels, FXValidatorService.getStylingMode())) {
+      return;
+    }
 
-      List<Label> labels = LabelService.getLabelsFor(control);
+    // If there are no labels: warn, because there would be no chance to 
+    // display a control-specific message (at least not in this version)
+    if (labels == null && state.warnOnce()) {
+      LOG.log(Level.WARNING, "There are no labels for the control {0}. \nYou need to add a Label and set its labelFor property to the control.", control.getId());
+    }
 
-      // If there are no labels: warn, because there would be no chance to 
-      // display a control-specific message (at least not in this version)
-      if (labels == null) {
-        LOG.log(Level.WARNING, "There are no labels for the control {0}. \nYou need to add a Label and set its labelFor property to the control.", control.getId());
-      } else {
-        for (Label label : labels) {
-          if (label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_MSG)) {
+    final StylingMode mode = FXValidatorService.getStylingMode();
+    setInvalid(control, !valid, mode);
+    if (labels != null) {
+      for (Label label : labels) {
+        if (label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_MSG)) {
+          if (valid) {
             label.setVisible(false);
             label.setManaged(false);
-          } else {
-            label.getStyleClass().remove(FXValidatorService.AEFX_VALIDATION_ERROR);
+            continue;
+          } else if (message != null) {
+            label.setVisible(true);
+            label.setManaged(true);
+            label.setText(message);
+            continue;
           }
         }
+        setInvalid(label, !valid, mode);
       }
+    }
+    state.record(valid, message, labels, mode);
+  }
 
-    } else {
-      if (!control.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)) {
-        control.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_ERROR);
+  /**
+   * Set or clear the error style of a node according to the styling mode. The
+   * style of the other mode gets cleared, in case the mode has been switched.
+   *
+   * @param node The control or label
+   * @param invalid Whether the node gets styled as invalid.
+   * @param mode The styling mode
+   */
+  private static void setInvalid(Node node, boolean invalid, StylingMode mode) {
+    final List<String> styleClass = node.getStyleClass();
+    if (mode == StylingMode.PSEUDO_CLASS) {
+      node.pseudoClassStateChanged(FXValidatorService.AEFX_INVALID, invalid);
+      if (styleClass.contains(FXValidatorService.AEFX_VALIDATION_ERROR)) {
+        styleClass.remove(FXValidatorService.AEFX_VALIDATION_ERROR);
       }
-
-      List<Label> labels = LabelService.getLabelsFor(control);
-      
-      if (labels == null) {
-        LOG.log(Level.WARNING, "There are no labels for the control {0}. \nYou need to add a Label and set its labelFor property to the control.", control.getId());
-      } else {
-        for (Label label : labels) {
-          if (errormessage != null && label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_MSG)) {
-            label.setVisible(true);
-            label.setManaged(true);
-            label.setText(errormessage);
-          } else if (!label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)) {
-            label.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_ERROR);
-          }
+    } else {
+      if (invalid != styleClass.contains(FXValidatorService.AEFX_VALIDATION_ERROR)) {
+        if (invalid) {
+          styleClass.add(FXValidatorService.AEFX_VALIDATION_ERROR);
+        } else {
+          styleClass.remove(FXValidatorService.AEFX_VALIDATION_ERROR);
         }
       }
+      if (node.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID)) {
+        node.pseudoClassStateChanged(FXValidatorService.AEFX_INVALID, false);
+      }
     }
   }
 
@@ -275,22 +331,88 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
    * @param control The control
    * @param annotation The annotation
    */
+  @SuppressWarnings("unchecked")
   private void doValidate(FXAbstractValidator validator, Control control, Annotation annotation) {
-//    System.out.println("doValidate " + control);
-    try {
-      validator.validate(control, annotation);
-      mark(control, true, null);
-//      FXValidatorService.hideHint(control, fxValidation);
-    } catch (ValidationException ex) {
-      String message = ex.getMessage();
-      if (FXValidatorService.getBundle() != null) {
-        ResourceBundle bundle = FXValidatorService.getBundle();
-        if (bundle.containsKey(message)) {
-          message = bundle.getString(message);
-        }
+    validator.revision++;
+    ValidationResult result = resultOf(control, validator, validator.evaluate(control, annotation));
+    // pending results keep the current marks, until the result is applied
+    if (result.isPending()) {
+      return;
+    }
+    applyResult(control, result);
+  }
+
+  /**
+   * The combined result of all validators of a control: the first failure in
+   * registration order, as for {@link ChunkedValidation} and
+   * {@link ParallelValidation} - so a validator that passes does not clear the
+   * mark of another one. Validators that pass are not evaluated again, failing
+   * ones are, to get their message; cross-field rules only get evaluated by
+   * their graph.
+   *
+   * @param control The control
+   * @param source The validator that has just been evaluated, or
+   * <code>null</code>
+   * @param sourceResult The result of the source validator
+   * @return The first failure, {@link ValidationResult#PENDING} if there is no
+   * failure but a pending check, or {@link ValidationResult#VALID}.
+   */
+  static ValidationResult resultOf(Control control, FXAbstractValidator<?, ?> source, ValidationResult sourceResult) {
+    List<FXAbstractValidator<?, ?>> validators = FXValidatorService.getValidators(control);
+    if (validators == null) {
+      return sourceResult;
+    }
+    boolean pending = false;
+    for (FXAbstractValidator<?, ?> validator : validators) {
+      final ValidationResult result;
+      if (validator == source) {
+        result = sourceResult;
+      } else if (validator.isValid()) {
+        continue;
+      } else if (validator instanceof CrossFieldValidator rule) {
+        result = rule.getFailure();
+      } else {
+        result = validator.evaluate();
+      }
+      if (result.isPending()) {
+        pending = true;
+      } else if (!result.isValid()) {
+        return result;
       }
-      mark(control, false, message);
-//      FXValidatorService.showHint(control, fxValidation);
+    }
+    return pending ? ValidationResult.PENDING : ValidationResult.VALID;
+  }
+
+  /**
+   * Record a validation result with the control, and mark the control
+   * according to the {@link MarkingMode} - either right away or in the next
+   * pulse. The failed result is kept with the control, so the message can be
+   * rendered again when the bundle changes.
+   *
+   * @param control The control
+   * @param result The result
+   */
+  static void applyResult(Control control, ValidationResult result) {
+    if (result.isValid()) {
+      control.getProperties().remove(RESULT_KEY);
+    } else {
+      control.getProperties().put(RESULT_KEY, result);
+    }
+    ValidationScheduler.scheduleMark(control);
+  }
+
+  /**
+   * Mark the control according to its recorded result, resolving the message
+   * against the resource bundle, if any.
+   *
+   * @param control The control
+   */
+  static void render(Control control) {
+    ValidationResult result = (ValidationResult) control.getProperties().get(RESULT_KEY);
+    if (result == null) {
+      mark(control, true, null);
+    } else {
+      mark(control, false, MessageResolver.resolve(result));
     }
   }
 
@@ -302,53 +424,25 @@ public class DefaultFXValidationHandler implements AnnotationHandler<Annotation>
     this.postfix = postfix;
   }
 
-  private String getClassName(Annotation validation) throws IllegalAccessException {
-    String name = null;
+  /**
+   * Get the validator class from the <code>validation</code> attribute of the
+   * annotation.
+   *
+   * @param validation The annotation
+   * @return The validator class, or <code>null</code> for other annotations.
+   */
+  private static Class<?> validatorClassOf(Annotation validation) {
     if (validation instanceof FXRequired fXRequired) {
-      try {
-        Method method = fXRequired.getClass().getMethod("validation");
-        Class<?> result = (Class) method.invoke(fXRequired, (Object[]) null);
-        name = result.getName();
-      } catch (NoSuchMethodException | SecurityException | InvocationTargetException ex) {
-        Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
-      }
-
+      return fXRequired.validation();
     } else if (validation instanceof FXString fXString) {
-      try {
-        Method method = fXString.getClass().getMethod("validation");
-        Class<?> result = (Class) method.invoke(fXString, (Object[]) null);
-        name = result.getName();
-      } catch (NoSuchMethodException | SecurityException | InvocationTargetException ex) {
-        Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
-      }
-
+      return fXString.validation();
     } else if (validation instanceof FXNotNull fXNotNull) {
-      try {
-        Method method = fXNotNull.getClass().getMethod("validation");
-        Class<?> result = (Class) method.invoke(fXNotNull, (Object[]) null);
-        name = result.getName();
-      } catch (NoSuchMethodException | SecurityException | InvocationTargetException ex) {
-        Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
-      }
-
+      return fXNotNull.validation();
     } else if (validation instanceof FXNumber fXNumber) {
-      try {
-        Method method = fXNumber.getClass().getMethod("validation");
-        Class<?> result = (Class) method.invoke(fXNumber, (Object[]) null);
-        name = result.getName();
-      } catch (NoSuchMethodException | SecurityException | InvocationTargetException ex) {
-        Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
-      }
-
+      return fXNumber.validation();
     } else if (validation instanceof FXValidation fXValidation) {
-      try {
-        Method method = fXValidation.getClass().getMethod("validation");
-        Class<?> result = (Class) method.invoke(fXValidation, (Object[]) null);
-        name = result.getName();
-      } catch (NoSuchMethodException | SecurityException | InvocationTargetException ex) {
-        Logger.getLogger(DefaultFXValidationHandler.class.getName()).log(Level.SEVERE, null, ex);
-      }
+      return fXValidation.validation();
     }
-    return name;
+    return null;
   }
 }
@@ -19,13 +19,17 @@
 package de.aeoniumsystems.fx.validation;
 
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
 import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ObservableValue;
 import javafx.event.EventType;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ComboBoxBase;
 import javafx.scene.control.Control;
+import javafx.scene.control.TextInputControl;
 
 /**
  * Base class for the validator classes: Each validation case for a control gets
@@ -37,6 +41,8 @@ import javafx.scene.control.Control;
  */
 public abstract class FXAbstractValidator<T extends Control, A extends Annotation> {
 
+  private static final List<EventType> NO_EVENT_TYPES = List.of();
+
   protected T control;
 
   protected A annotation;
@@ -54,17 +60,44 @@ public abstract class FXAbstractValidator<T extends Control, A extends Annotatio
   }
 
   /**
-   * Property for the state of validation - initially, it needs to be set to
-   * false.
+   * The store holding the state of validation, once the controller is
+   * initialized - the state is the bit at {@link #validitySlot}. Before, the
+   * state is kept in {@link #valid}. Initially, the state is false.
    */
-  protected final BooleanProperty isValid = new SimpleBooleanProperty(false);
+  private ValidityStore validityStore = null;
+
+  private int validitySlot = -1;
+
+  private boolean valid = false;
 
   /**
-   * Every validation class must define which events shall trigger the
-   * validation.
-   *
+   * The aggregate notified of the transitions directly - further aggregates
+   * use listeners.
+   */
+  private FXValidationAggregate validityAggregate = null;
+
+  /**
+   * The observable view of the state, only created when somebody asks for it,
+   * see {@link #isValidProperty()}.
+   */
+  private ValidityProperty validityProperty = null;
+
+  /**
+   * Additional events that shall trigger the validation. Usually, this list
+   * can stay empty: the validation gets triggered by changes of the
+   * {@link #getDependencies(Control) dependencies}, and events only lead to a
+   * validation if a dependency has changed since the last validation. Add
+   * event types with {@link #addEventType(EventType)} - until then, the list
+   * is a shared empty list.
    */
-  protected List<EventType> eventTypes = new ArrayList<>();
+  private List<EventType> eventTypes = NO_EVENT_TYPES;
+
+  /**
+   * Counts the validations triggered by the framework, so results of a
+   * {@link FXValidatorService#validateParallel(Object) parallel validation}
+   * that have been overtaken by a newer validation get discarded.
+   */
+  int revision = 0;
 
   /**
    * Validate the current data and/or state of control according to the
@@ -72,13 +105,16 @@ public abstract class FXAbstractValidator<T extends Control, A extends Annotatio
    * is:
    * <ol>
    * <li>First, evaluate the input, according to the validator logic.</li>
-   * <li>Then, set the {@link #isValid} property to the validation result (true
-   * or false).</li>
-   * <li>At last, if the {@link #isValid} property is false, throw a
+   * <li>Then, set the state with {@link #setValid(boolean)} to the validation
+   * result (true or false).</li>
+   * <li>At last, if the state is false, throw a
    * {@link ValidationException}.</li>
    * </ol>
    * <p>The last step (3.) may be omitted, if you need a validator for simply
    * controlling a checked property, without throwing exceptions.</p>
+   * <p>The framework itself calls {@link #evaluate(Control, Annotation)}, so
+   * validators that are evaluated often should rather override that method and
+   * implement this one on top of it.</p>
    *
    * @param control The control
    * @param annotation The annotation
@@ -87,6 +123,82 @@ public abstract class FXAbstractValidator<T extends Control, A extends Annotatio
    */
   public abstract void validate(T control, A annotation) throws ValidationException;
 
+  /**
+   * Exception-free variant of {@link #validate(Control, Annotation)}: evaluate
+   * the input, set the state with {@link #setValid(boolean)} and return the
+   * result. This is what the framework calls on each change of the control, so
+   * an invalid input - which is the normal state while the user is typing -
+   * should not cost an exception with its stack trace.
+   * <p>
+   * The default implementation adapts the exception-based
+   * {@link #validate(Control, Annotation)}, so existing validators keep
+   * working. Override it and return preallocated results, e.g.,
+   * {@link ValidationResult#VALID}.</p>
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return The result, never <code>null</code>.
+   */
+  public ValidationResult evaluate(T control, A annotation) {
+    try {
+      this.validate(control, annotation);
+      return ValidationResult.VALID;
+    } catch (ValidationException ex) {
+      return ValidationResult.invalid(ex.getMessage());
+    }
+  }
+
+  /**
+   * An overloaded version of <code>evaluate(T control, A annotation)</code>
+   * that uses the referenced control and annotation.
+   *
+   * @return The result, never <code>null</code>.
+   */
+  public ValidationResult evaluate() {
+    return this.evaluate(this.control, this.annotation);
+  }
+
+  /**
+   * Split the validation into the extraction of the values, which is done here
+   * on the JavaFX application thread, and the actual check, which may run on
+   * any thread. The snapshot must capture everything the check needs - the
+   * check must not access the control.
+   * <p>
+   * The default implementation evaluates the control right away and returns
+   * the result as snapshot, so existing validators keep working. Override it
+   * for validators with expensive checks, e.g., checksums, lookups or parsing
+   * large texts.</p>
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return The snapshot, never <code>null</code>.
+   */
+  public ValidationSnapshot snapshot(T control, A annotation) {
+    final ValidationResult result = this.evaluate(control, annotation);
+    return () -> result;
+  }
+
+  /**
+   * An overloaded version of <code>snapshot(T control, A annotation)</code>
+   * that uses the referenced control and annotation.
+   *
+   * @return The snapshot, never <code>null</code>.
+   */
+  public ValidationSnapshot snapshot() {
+    return this.snapshot(this.control, this.annotation);
+  }
+
+  /**
+   * Prepare the validator for validating its control: this method is called
+   * once, when the validator gets registered and after control and annotation
+   * have been set. Override it to convert the annotation into a compiled rule,
+   * so the annotation needs not be queried on every validation. The default
+   * implementation does nothing.
+   */
+  public void prepare() {
+    // nothing to do
+  }
+
   /**
    * An overloaded version of <code>validate(T control, A annotation)</code>
    * that uses the referenced control and annotation - use this as default
@@ -99,12 +211,158 @@ public abstract class FXAbstractValidator<T extends Control, A extends Annotatio
     this.validate(this.control, this.annotation);
   }
 
+  /**
+   * The observable values the validation of the given control depends on: the
+   * validation gets triggered whenever one of them changes, and it is skipped
+   * if none of them has changed since the last validation. By default, these
+   * are the disabled and visible state and the value of the control, i.e., the
+   * text of a text input control or the value of a ChoiceBox or ComboBoxBase.
+   * <p>
+   * Override this method if the validation depends on further values, e.g., on
+   * the state of another control.</p>
+   *
+   * @param control The control
+   * @return The list of dependencies
+   */
+  public List<ObservableValue<?>> getDependencies(T control) {
+    List<ObservableValue<?>> dependencies = new ArrayList<>(3);
+    dependencies.add(control.disabledProperty());
+    dependencies.add(control.visibleProperty());
+
+    if (control instanceof TextInputControl textInputControl) {
+      dependencies.add(textInputControl.textProperty());
+    } else if (control instanceof ChoiceBox<?> choiceBox) {
+      dependencies.add(choiceBox.valueProperty());
+    } else if (control instanceof ComboBoxBase<?> comboBoxBase) {
+      dependencies.add(comboBoxBase.valueProperty());
+    }
+    return dependencies;
+  }
+
   public List<EventType> getEventTypes() {
     return eventTypes;
   }
 
+  /**
+   * Add an event that shall trigger the validation, see
+   * {@link #getEventTypes()}.
+   *
+   * @param eventType The event type
+   */
+  protected void addEventType(EventType<?> eventType) {
+    if (this.eventTypes == NO_EVENT_TYPES) {
+      this.eventTypes = new ArrayList<>(1);
+    }
+    this.eventTypes.add(eventType);
+  }
+
+  /**
+   * The state of validation as observable property. The property is created
+   * on the first call - prefer {@link #isValid()} for reading the state.
+   *
+   * @return The property
+   */
   public BooleanProperty isValidProperty() {
-    return isValid;
+    if (this.validityProperty == null) {
+      this.validityProperty = new ValidityProperty(this);
+    }
+    return this.validityProperty;
+  }
+
+  /**
+   * The state of validation.
+   *
+   * @return true, if the last validation succeeded.
+   */
+  public boolean isValid() {
+    return this.validityStore != null ? this.validityStore.get(this.validitySlot) : this.valid;
+  }
+
+  /**
+   * Set the state of validation, e.g., from
+   * {@link #validate(Control, Annotation)}.
+   *
+   * @param valid The new state
+   * @throws RuntimeException if the {@link #isValidProperty() property} is
+   * bound.
+   */
+  protected void setValid(boolean valid) {
+    if (this.validityProperty != null && this.validityProperty.isBound()) {
+      throw new RuntimeException("A bound value cannot be set.");
+    }
+    this.updateValid(valid);
+  }
+
+  /**
+   * Write the state, and notify the aggregate and the property on a
+   * transition.
+   *
+   * @param newValid The new state
+   */
+  void updateValid(boolean newValid) {
+    if (this.isValid() == newValid) {
+      return;
+    }
+    if (this.validityStore != null) {
+      this.validityStore.set(this.validitySlot, newValid);
+    } else {
+      this.valid = newValid;
+    }
+    if (this.validityAggregate != null) {
+      this.validityAggregate.transition(newValid);
+    }
+    if (this.validityProperty != null) {
+      this.validityProperty.fireTransition(newValid);
+    }
+  }
+
+  /**
+   * Move the state into a slot of the given store.
+   *
+   * @param store The store of the controller
+   */
+  void attachValidity(ValidityStore store) {
+    if (this.validityStore == null) {
+      this.validitySlot = store.allocate(this.valid);
+      this.validityStore = store;
+    }
+  }
+
+  /**
+   * Let the aggregate be notified of the transitions directly.
+   *
+   * @param aggregate The aggregate
+   * @return false, if another aggregate is notified already.
+   */
+  boolean watchValidity(FXValidationAggregate aggregate) {
+    if (this.validityAggregate == null || this.validityAggregate == aggregate) {
+      this.validityAggregate = aggregate;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Stop notifying the aggregate directly.
+   *
+   * @param aggregate The aggregate
+   * @return false, if the aggregate has not been notified directly.
+   */
+  boolean unwatchValidity(FXValidationAggregate aggregate) {
+    if (this.validityAggregate == aggregate) {
+      this.validityAggregate = null;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Whether listeners or a binding have been added to the property.
+   *
+   * @return true, if the state is observed or bound.
+   */
+  boolean isValidityObserved() {
+    return this.validityProperty != null && this.validityProperty.isObservable();
   }
 
   public T getControl() {
@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.scene.control.Control;
+
+/**
+ * Base class for validators that must not block the FX thread, e.g., because
+ * they check the input against a database. The validation is split in two
+ * steps:
+ * <ol>
+ * <li>{@link #extract(Control)} takes the value to check from the control, on
+ * the FX thread,</li>
+ * <li>{@link #check(Object, Annotation)} checks that value on the executor of
+ * the validator - by default, on a virtual thread if the runtime supports them,
+ * else on a pooled daemon thread.</li>
+ * </ol>
+ * While a check is running, the validator is pending (see
+ * {@link #pendingProperty()}) and not valid, so checked controls stay disabled.
+ * The result is applied on the FX thread. If the input changes before the
+ * result arrives, the running check gets cancelled and its result discarded.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param <T> The control base type
+ * @param <A> The annotation type
+ * @param <V> The type of the checked value
+ */
+public abstract class FXAsyncValidator<T extends Control, A extends Annotation, V> extends FXAbstractValidator<T, A> {
+
+  private static final Logger LOG = Logger.getLogger(FXAsyncValidator.class.getName());
+
+  private static Executor defaultExecutor = null;
+
+  private final ReadOnlyBooleanWrapper pending = new ReadOnlyBooleanWrapper(this, "pending", false);
+
+  private Executor executor = null;
+
+  private Consumer<ValidationResult> onResult = null;
+
+  /**
+   * Incremented with each started check - results of older checks get
+   * discarded. Only accessed on the FX thread.
+   */
+  private long generation = 0;
+
+  private FutureTask<ValidationResult> running = null;
+
+  private V lastValue = null;
+
+  private ValidationResult lastResult = null;
+
+  /**
+   * Take the value to check from the control. This method is called on the FX
+   * thread, and the returned value gets passed to another thread - so it should
+   * be immutable.
+   *
+   * @param control The control
+   * @return The value to check
+   */
+  protected abstract V extract(T control);
+
+  /**
+   * Check the value. This method is called on the executor of the validator,
+   * not on the FX thread, so it must not access the control or any other part
+   * of the scene graph. It should react to interruption, since a check gets
+   * cancelled when the input changes.
+   *
+   * @param value The value, as returned by {@link #extract(Control)}
+   * @param annotation The annotation
+   * @return The result
+   * @throws Exception Any exception fails the validation.
+   */
+  protected abstract ValidationResult check(V value, A annotation) throws Exception;
+
+  /**
+   * Start the asynchronous check of the current input, if it has changed
+   * since the last check. Validation gets skipped if the control is either
+   * disabled or invisible.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return {@link ValidationResult#PENDING} while the check is running, else
+   * the result of the last check.
+   */
+  @Override
+  public ValidationResult evaluate(T control, A annotation) {
+    // shortcut: do not check if disabled.
+    if (control.isDisabled() || !control.isVisible()) {
+      this.cancel();
+      this.setValid(true);
+      return ValidationResult.VALID;
+    }
+
+    final V value = this.extract(control);
+    if (Objects.equals(value, this.lastValue)) {
+      if (this.running != null) {
+        return ValidationResult.PENDING;
+      }
+      if (this.lastResult != null) {
+        this.setValid(this.lastResult.isValid());
+        return this.lastResult;
+      }
+    }
+
+    this.cancel();
+    this.lastValue = value;
+    this.lastResult = null;
+
+    final long taskGeneration = ++this.generation;
+    final FutureTask<ValidationResult> task = new FutureTask<>(() -> this.check(value, annotation)) {
+      @Override
+      protected void done() {
+        if (!this.isCancelled()) {
+          Platform.runLater(() -> complete(taskGeneration, this));
+        }
+      }
+    };
+    this.running = task;
+    this.setValid(false);
+    this.pending.set(true);
+    this.getExecutor().execute(task);
+
+    return ValidationResult.PENDING;
+  }
+
+  /**
+   * Apply the result of a check on the FX thread - unless a newer check has
+   * been started in the meantime.
+   */
+  private void complete(long taskGeneration, FutureTask<ValidationResult> task) {
+    if (taskGeneration != this.generation) {
+      return;
+    }
+
+    ValidationResult result;
+    try {
+      result = task.get();
+      if (result == null) {
+        result = ValidationResult.invalid(null);
+      }
+    } catch (ExecutionException ex) {
+      LOG.log(Level.SEVERE, null, ex.getCause());
+      result = ValidationResult.invalid(ex.getCause().getMessage());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    this.running = null;
+    this.lastResult = result;
+    this.setValid(result.isValid());
+    this.pending.set(false);
+
+    if (this.onResult != null) {
+      this.onResult.accept(result);
+    }
+  }
+
+  /**
+   * Extract the value and bind it to {@link #check(Object, Annotation)}, for a
+   * parallel validation. A running check is cancelled, since the parallel
+   * validation supersedes it.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return The snapshot
+   */
+  @Override
+  public ValidationSnapshot snapshot(T control, A annotation) {
+    this.cancel();
+    if (control.isDisabled() || !control.isVisible()) {
+      return ValidationSnapshot.VALID;
+    }
+    final V value = this.extract(control);
+    return () -> this.check(value, annotation);
+  }
+
+  /**
+   * Cancel a running check, its result gets discarded.
+   */
+  public void cancel() {
+    this.generation++;
+    if (this.running != null) {
+      this.running.cancel(true);
+      this.running = null;
+      this.lastValue = null;
+    }
+    this.pending.set(false);
+  }
+
+  /**
+   * Throws a {@link ValidationException} if the last completed check failed,
+   * or if a check is still pending.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @throws ValidationException Thrown if the input is not (yet) valid.
+   */
+  @Override
+  public void validate(T control, A annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
+    }
+  }
+
+  /**
+   * True while a check is running.
+   *
+   * @return The read-only property
+   */
+  public ReadOnlyBooleanProperty pendingProperty() {
+    return pending.getReadOnlyProperty();
+  }
+
+  public boolean isPending() {
+    return pending.get();
+  }
+
+  /**
+   * Set the callback that is called on the FX thread when a check has
+   * completed - the validation handler uses it to mark the control.
+   *
+   * @param onResult The callback
+   */
+  public void setOnResult(Consumer<ValidationResult> onResult) {
+    this.onResult = onResult;
+  }
+
+  public Executor getExecutor() {
+    return this.executor != null ? this.executor : getDefaultExecutor();
+  }
+
+  /**
+   * Set the executor for the checks of this validator.
+   *
+   * @param executor The executor, or <code>null</code> for the default.
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * The executor for all asynchronous validators that have no executor of
+   * their own: virtual threads if the runtime supports them, else a cached
+   * pool of daemon threads.
+   *
+   * @return The default executor
+   */
+  public static synchronized Executor getDefaultExecutor() {
+    if (defaultExecutor == null) {
+      defaultExecutor = createDefaultExecutor();
+    }
+    return defaultExecutor;
+  }
+
+  public static synchronized void setDefaultExecutor(Executor executor) {
+    defaultExecutor = executor;
+  }
+
+  private static Executor createDefaultExecutor() {
+    try {
+      // Java 21+, looked up reflectively since the library targets Java 17
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (Executor) factory.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      return Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fx-validation-async");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+}
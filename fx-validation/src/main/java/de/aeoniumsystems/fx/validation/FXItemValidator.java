@@ -0,0 +1,571 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXItemValidation;
+import de.aeoniumsystems.fx.validation.exceptions.FXValidatorException;
+import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.Control;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TablePosition;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+/**
+ * Validator for the items of a TableView or ListView, according to the
+ * {@link FXItemValidation} rules of the controller. The rules run against the
+ * backing items, not against the recycled cells, so tables with many thousand
+ * rows are supported:
+ * <ul>
+ * <li>The invalid rows, and the invalid cells of each marked column, are kept
+ * in bit sets indexed by row.</li>
+ * <li>Only rows dirtied by a change of the item list (additions, removals,
+ * replacements, updates) or by an edit of a cell get checked again; the bits
+ * of the other rows are moved along with permutations, insertions and
+ * removals.</li>
+ * <li>Rows and cells look up their state when they get bound to a row index,
+ * and get the pseudo class {@link FXValidatorService#AEFX_INVALID} - the
+ * pseudo class is used regardless of the {@link StylingMode}, since recycled
+ * cells change their state very often.</li>
+ * </ul>
+ * The validator is valid if no item is invalid, and takes part in the
+ * aggregate of the controller, so it controls the
+ * {@link de.aeoniumsystems.fx.validation.annotations.FXValidationChecked}
+ * controls and properties like any other validator. Items that get changed
+ * without notifying the list, e.g. plain Java beans, have to be checked again
+ * explicitly, see {@link #revalidate(int)}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param <T> The item type
+ */
+public final class FXItemValidator<T> extends FXAbstractValidator<Control, FXItemValidation> {
+
+  private static final Logger LOG = Logger.getLogger(FXItemValidator.class.getName());
+
+  private final ObjectProperty<ObservableList<T>> items;
+
+  private final List<ItemRule> rules = new ArrayList<>(2);
+
+  private final BitSet invalidRows = new BitSet();
+
+  /**
+   * The invalid cells per column id.
+   */
+  private final Map<String, BitSet> invalidCells = new LinkedHashMap<>(2);
+
+  private final BitSet dirty = new BitSet();
+
+  /**
+   * Incremented after each check, so the visible rows and cells update their
+   * marks.
+   */
+  private final ReadOnlyIntegerWrapper markRevision = new ReadOnlyIntegerWrapper(0);
+
+  private final ListChangeListener<T> listListener = this::onChanged;
+
+  private final ChangeListener<ObservableList<T>> itemsListener = (observable, oldValue, newValue) -> {
+    if (oldValue != null) {
+      oldValue.removeListener(this.listListener);
+    }
+    if (newValue != null) {
+      newValue.addListener(this.listListener);
+    }
+    this.revalidateAll();
+  };
+
+  private FXItemValidator(Control control, ObjectProperty<ObservableList<T>> items) {
+    this.control = control;
+    this.items = items;
+  }
+
+  /**
+   * Wire the item rules declared by the controller, if any: one validator per
+   * TableView or ListView. All items get checked once right away.
+   *
+   * @param controller The controller
+   * @param context The validation context of the controller
+   * @throws FXValidatorException Thrown if a rule is declared wrongly.
+   */
+  static void install(Object controller, ValidationContext context) {
+    if (!context.itemValidators.isEmpty()) {
+      return;
+    }
+    final Map<String, List<Method>> methodsByItems = new LinkedHashMap<>();
+    for (Class<?> type = controller.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+      for (Method method : type.getDeclaredMethods()) {
+        FXItemValidation annotation = method.getAnnotation(FXItemValidation.class);
+        if (annotation != null) {
+          if (method.getParameterCount() != 1
+                  || (method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class)) {
+            throw new FXValidatorException("Item validation " + method.getName() + " must take one item and return boolean.");
+          }
+          methodsByItems.computeIfAbsent(annotation.items(), name -> new ArrayList<>()).add(method);
+        }
+      }
+    }
+
+    for (Map.Entry<String, List<Method>> entry : methodsByItems.entrySet()) {
+      final Object value = CrossValidationGraph.fieldValue(controller, entry.getKey());
+      final FXItemValidator<?> validator;
+      if (value instanceof TableView<?> tableView) {
+        validator = forTable(tableView, context);
+      } else if (value instanceof ListView<?> listView) {
+        validator = forList(listView, context);
+      } else {
+        throw new FXValidatorException("Field " + entry.getKey() + " of item validation is neither a TableView nor a ListView.");
+      }
+      for (Method method : entry.getValue()) {
+        FXItemValidation annotation = method.getAnnotation(FXItemValidation.class);
+        String column = annotation.column().isEmpty() ? null : annotation.column();
+        if (column != null && !validator.invalidCells.containsKey(column)) {
+          if (!(value instanceof TableView<?> tableView)) {
+            throw new FXValidatorException("Item validation " + method.getName() + " names a column, but " + entry.getKey() + " is no TableView.");
+          }
+          TableColumn<?, ?> tableColumn = findColumn(tableView.getColumns(), column);
+          if (tableColumn == null) {
+            throw new FXValidatorException("Column " + column + " of item validation " + method.getName() + " not found.");
+          }
+          BitSet cells = new BitSet();
+          validator.invalidCells.put(column, cells);
+          validator.markCells(tableColumn, cells, context);
+        }
+        method.setAccessible(true);
+        validator.rules.add(new ItemRule(column, new WeakReference<>(controller), method,
+                ValidationResult.invalid(annotation.message())));
+      }
+
+      validator.watch(context);
+      validator.revalidateAll();
+      Control control = validator.getControl();
+      FXValidatorService.registerValidator(control, validator);
+      context.itemValidators.add(validator);
+      context.anchor(control);
+    }
+  }
+
+  private static <T> FXItemValidator<T> forTable(TableView<T> table, ValidationContext context) {
+    final FXItemValidator<T> validator = new FXItemValidator<>(table, table.itemsProperty());
+
+    // rows get bound to an index - mark them according to the invalid rows
+    final Callback<TableView<T>, TableRow<T>> factory = table.getRowFactory();
+    table.setRowFactory(view -> {
+      TableRow<T> row = factory != null ? factory.call(view) : new TableRow<>();
+      validator.track(row, validator.invalidRows);
+      return row;
+    });
+    context.onDispose(() -> table.setRowFactory(factory));
+
+    // the value of an edited cell is written by the commit handler, and the
+    // edit ends right after it
+    final ChangeListener<TablePosition<T, ?>> editListener = (observable, oldValue, newValue) -> {
+      if (oldValue != null) {
+        validator.revalidate(oldValue.getRow());
+      }
+    };
+    table.editingCellProperty().addListener(editListener);
+    context.onDispose(() -> table.editingCellProperty().removeListener(editListener));
+    return validator;
+  }
+
+  private static <T> FXItemValidator<T> forList(ListView<T> list, ValidationContext context) {
+    final FXItemValidator<T> validator = new FXItemValidator<>(list, list.itemsProperty());
+
+    final Callback<ListView<T>, ListCell<T>> factory = list.getCellFactory();
+    list.setCellFactory(view -> {
+      ListCell<T> cell = factory != null ? factory.call(view) : new DefaultListCell<>();
+      validator.track(cell, validator.invalidRows);
+      return cell;
+    });
+    context.onDispose(() -> list.setCellFactory(factory));
+
+    final ChangeListener<Number> editListener = (observable, oldValue, newValue) -> {
+      validator.revalidate(oldValue.intValue());
+    };
+    list.editingIndexProperty().addListener(editListener);
+    context.onDispose(() -> list.editingIndexProperty().removeListener(editListener));
+    return validator;
+  }
+
+  private static TableColumn<?, ?> findColumn(List<? extends TableColumn<?, ?>> columns, String id) {
+    for (TableColumn<?, ?> column : columns) {
+      if (id.equals(column.getId())) {
+        return column;
+      }
+      TableColumn<?, ?> nested = findColumn(column.getColumns(), id);
+      if (nested != null) {
+        return nested;
+      }
+    }
+    return null;
+  }
+
+  private <S, V> void markCells(TableColumn<S, V> column, BitSet cells, ValidationContext context) {
+    final Callback<TableColumn<S, V>, TableCell<S, V>> factory = column.getCellFactory();
+    column.setCellFactory(c -> {
+      TableCell<S, V> cell = factory.call(c);
+      this.track(cell, cells);
+      return cell;
+    });
+    context.onDispose(() -> column.setCellFactory(factory));
+  }
+
+  /**
+   * Keep the pseudo class of a row or cell in sync with the given bits: on
+   * each change of its index or emptiness, and after each check.
+   *
+   * @param cell The row or cell
+   * @param bits The invalid rows or cells
+   */
+  private void track(IndexedCell<?> cell, BitSet bits) {
+    final InvalidationListener update = observable -> {
+      int index = cell.getIndex();
+      cell.pseudoClassStateChanged(FXValidatorService.AEFX_INVALID,
+              index >= 0 && !cell.isEmpty() && bits.get(index));
+    };
+    cell.indexProperty().addListener(update);
+    cell.emptyProperty().addListener(update);
+    // the cell keeps the listener alive, the validator must not keep the cell
+    this.markRevision.addListener(new WeakInvalidationListener(update));
+  }
+
+  /**
+   * Watch the item list, and the items property for a replaced list.
+   *
+   * @param context The validation context
+   */
+  private void watch(ValidationContext context) {
+    this.items.addListener(this.itemsListener);
+    ObservableList<T> list = this.items.get();
+    if (list != null) {
+      list.addListener(this.listListener);
+    }
+    context.onDispose(() -> {
+      this.items.removeListener(this.itemsListener);
+      ObservableList<T> current = this.items.get();
+      if (current != null) {
+        current.removeListener(this.listListener);
+      }
+    });
+  }
+
+  /**
+   * Move the bits along with the change, and check the added, replaced and
+   * updated rows.
+   *
+   * @param change The change
+   */
+  private void onChanged(ListChangeListener.Change<? extends T> change) {
+    while (change.next()) {
+      final int from = change.getFrom();
+      if (change.wasPermutated()) {
+        this.permute(from, change.getTo(), change::getPermutation);
+      } else if (change.wasUpdated()) {
+        this.dirty.set(from, change.getTo());
+      } else {
+        final int removed = change.getRemovedSize();
+        final int added = change.getAddedSize();
+        this.shift(from + removed, added - removed);
+        this.clearRows(from, from + added);
+        this.dirty.set(from, from + added);
+      }
+    }
+    this.flush();
+  }
+
+  private interface Permutation {
+
+    int get(int index);
+  }
+
+  private void permute(int from, int to, Permutation permutation) {
+    this.permute(this.invalidRows, from, to, permutation);
+    this.permute(this.dirty, from, to, permutation);
+    for (BitSet cells : this.invalidCells.values()) {
+      this.permute(cells, from, to, permutation);
+    }
+  }
+
+  private void permute(BitSet bits, int from, int to, Permutation permutation) {
+    final BitSet moved = new BitSet();
+    for (int i = bits.nextSetBit(from); i >= 0 && i < to; i = bits.nextSetBit(i + 1)) {
+      moved.set(permutation.get(i));
+    }
+    bits.clear(from, to);
+    bits.or(moved);
+  }
+
+  private void shift(int from, int delta) {
+    if (delta == 0) {
+      return;
+    }
+    this.shift(this.invalidRows, from, delta);
+    this.shift(this.dirty, from, delta);
+    for (BitSet cells : this.invalidCells.values()) {
+      this.shift(cells, from, delta);
+    }
+  }
+
+  /**
+   * Move the bits from the given index on by delta - the cost depends on the
+   * number of set bits, not on the number of rows.
+   */
+  private void shift(BitSet bits, int from, int delta) {
+    if (delta < 0) {
+      // the removed rows
+      bits.clear(from + delta, from);
+    }
+    final int length = bits.length();
+    if (length <= from) {
+      return;
+    }
+    final BitSet tail = bits.get(from, length);
+    bits.clear(from, length);
+    for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+      bits.set(from + delta + i);
+    }
+  }
+
+  private void clearRows(int from, int to) {
+    this.invalidRows.clear(from, to);
+    for (BitSet cells : this.invalidCells.values()) {
+      cells.clear(from, to);
+    }
+  }
+
+  /**
+   * Check the dirty rows, and update the validation state and the marks.
+   */
+  private void flush() {
+    final ObservableList<T> list = this.items.get();
+    final int size = list != null ? list.size() : 0;
+    for (int i = this.dirty.nextSetBit(0); i >= 0 && i < size; i = this.dirty.nextSetBit(i + 1)) {
+      this.check(i, list.get(i));
+    }
+    this.dirty.clear();
+    this.setValid(this.invalidRows.isEmpty());
+    this.markRevision.set(this.markRevision.get() + 1);
+  }
+
+  private void check(int index, T item) {
+    boolean valid = true;
+    for (BitSet cells : this.invalidCells.values()) {
+      cells.clear(index);
+    }
+    for (ItemRule rule : this.rules) {
+      if (!rule.test(item)) {
+        valid = false;
+        if (rule.column() != null) {
+          this.invalidCells.get(rule.column()).set(index);
+        }
+      }
+    }
+    this.invalidRows.set(index, !valid);
+  }
+
+  /**
+   * Check the item at the given index again, e.g. after it has been changed
+   * without notifying the list.
+   *
+   * @param index The row index
+   */
+  public void revalidate(int index) {
+    if (index >= 0) {
+      this.dirty.set(index);
+      this.flush();
+    }
+  }
+
+  /**
+   * Check all items again.
+   */
+  public void revalidateAll() {
+    final ObservableList<T> list = this.items.get();
+    this.invalidRows.clear();
+    for (BitSet cells : this.invalidCells.values()) {
+      cells.clear();
+    }
+    this.dirty.clear();
+    if (list != null) {
+      this.dirty.set(0, list.size());
+    }
+    this.flush();
+  }
+
+  /**
+   * Whether the item at the given index failed any rule.
+   *
+   * @param index The row index
+   * @return true, if the item is invalid.
+   */
+  public boolean isInvalid(int index) {
+    return index >= 0 && this.invalidRows.get(index);
+  }
+
+  /**
+   * Whether the item at the given index failed a rule marking the given
+   * column.
+   *
+   * @param index The row index
+   * @param column The column id
+   * @return true, if the cell is invalid.
+   */
+  public boolean isInvalid(int index, String column) {
+    BitSet cells = this.invalidCells.get(column);
+    return index >= 0 && cells != null && cells.get(index);
+  }
+
+  /**
+   * The number of invalid items.
+   *
+   * @return The invalid count
+   */
+  public int getInvalidCount() {
+    return this.invalidRows.cardinality();
+  }
+
+  /**
+   * The index of the next invalid item, e.g. for navigating the errors.
+   *
+   * @param from The row index to start at, inclusive
+   * @return The index, or -1 if there is no invalid item from there.
+   */
+  public int nextInvalid(int from) {
+    return this.invalidRows.nextSetBit(Math.max(0, from));
+  }
+
+  /**
+   * Get the result of the first failed rule for the item at the given index -
+   * the messages are not stored per row, but evaluated on demand.
+   *
+   * @param index The row index
+   * @return The result
+   */
+  public ValidationResult getResult(int index) {
+    final ObservableList<T> list = this.items.get();
+    if (list != null && index >= 0 && index < list.size()) {
+      T item = list.get(index);
+      for (ItemRule rule : this.rules) {
+        if (!rule.test(item)) {
+          return rule.failure();
+        }
+      }
+    }
+    return ValidationResult.VALID;
+  }
+
+  /**
+   * Check the dirty rows, and return the result of the first invalid item.
+   *
+   * @param control The control
+   * @param annotation Not used, the rules are kept by the validator.
+   * @return The result
+   */
+  @Override
+  public ValidationResult evaluate(Control control, FXItemValidation annotation) {
+    this.flush();
+    final int first = this.invalidRows.nextSetBit(0);
+    return first < 0 ? ValidationResult.VALID : this.getResult(first);
+  }
+
+  @Override
+  public void validate(Control control, FXItemValidation annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
+    }
+  }
+
+  /**
+   * Item validators do not validate on value changes of their control.
+   *
+   * @param control The control
+   * @return An empty list
+   */
+  @Override
+  public List<ObservableValue<?>> getDependencies(Control control) {
+    return List.of();
+  }
+
+  /**
+   * One rule method, the controller is only weakly referenced, see
+   * {@link ValidationContext}.
+   */
+  private record ItemRule(String column, WeakReference<Object> controller, Method method, ValidationResult failure) {
+
+    boolean test(Object item) {
+      Object target = this.controller.get();
+      if (target == null) {
+        return true;
+      }
+      try {
+        return (Boolean) this.method.invoke(target, item);
+      } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException ex) {
+        LOG.log(Level.SEVERE, "Item validation " + this.method.getName() + " failed.", ex);
+        return false;
+      }
+    }
+  }
+
+  /**
+   * The cell of a ListView without cell factory, rendering the item like the
+   * default cell of the skin does.
+   */
+  private static final class DefaultListCell<T> extends ListCell<T> {
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+      super.updateItem(item, empty);
+      if (empty || item == null) {
+        this.setText(null);
+        this.setGraphic(null);
+      } else if (item instanceof Node node) {
+        this.setText(null);
+        this.setGraphic(node);
+      } else {
+        this.setText(item.toString());
+        this.setGraphic(null);
+      }
+    }
+  }
+}
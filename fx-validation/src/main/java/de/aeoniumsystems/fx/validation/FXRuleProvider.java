@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXNotNull;
+import de.aeoniumsystems.fx.validation.annotations.FXNumber;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.engine.RuleProvider;
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import java.lang.annotation.Annotation;
+
+/**
+ * Provides the rules of the fx-validation annotations to the
+ * {@link de.aeoniumsystems.fx.validation.engine.ValidationEngine}, so POJOs
+ * and records annotated with <code>@FXString</code>, <code>@FXNumber</code>,
+ * <code>@FXRequired</code> or <code>@FXNotNull</code> are validated by the
+ * same rules as the JavaFX controls. Registered with the
+ * {@link java.util.ServiceLoader}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public class FXRuleProvider implements RuleProvider {
+
+  @Override
+  public Rule compile(Annotation annotation) {
+    if (annotation instanceof FXString fxString) {
+      return FXRules.ruleFor(fxString);
+    }
+    if (annotation instanceof FXNumber fxNumber) {
+      return FXRules.ruleFor(fxNumber);
+    }
+    if (annotation instanceof FXRequired fxRequired) {
+      return FXRules.ruleFor(fxRequired);
+    }
+    if (annotation instanceof FXNotNull fxNotNull) {
+      return FXRules.ruleFor(fxNotNull);
+    }
+    return null;
+  }
+}
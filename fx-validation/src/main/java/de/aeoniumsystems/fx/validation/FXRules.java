@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXNotNull;
+import de.aeoniumsystems.fx.validation.annotations.FXNumber;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.annotations.MatchMode;
+import de.aeoniumsystems.fx.validation.regex.GuardedMatcher;
+import de.aeoniumsystems.fx.validation.regex.LinearMatcher;
+import de.aeoniumsystems.fx.validation.regex.PatternAnalyzer;
+import de.aeoniumsystems.fx.validation.regex.PatternCache;
+import de.aeoniumsystems.fx.validation.regex.TextMatcher;
+import de.aeoniumsystems.fx.validation.rules.NotNullRule;
+import de.aeoniumsystems.fx.validation.rules.NumberRule;
+import de.aeoniumsystems.fx.validation.rules.NumberScanner;
+import de.aeoniumsystems.fx.validation.rules.RequiredRule;
+import de.aeoniumsystems.fx.validation.rules.Rule;
+import de.aeoniumsystems.fx.validation.rules.StringRule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.annotation.Annotation;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Converts the validation annotations into their compiled rule records, with
+ * preallocated failure results. This is done once when a validator gets
+ * registered - annotation members are accessed through a proxy, array members
+ * get cloned on each call, so they should not be queried on every keystroke.
+ * The validators use the shared rules, see {@link #ruleFor(FXString)}, so the
+ * rules are compiled once per annotation, not once per form instance. The
+ * validator instances themselves keep per control state, e.g., the control
+ * and its validity slot, and are created per control.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public final class FXRules {
+
+  private static final Logger LOG = Logger.getLogger(FXRules.class.getName());
+
+  /**
+   * The maximum number of shared rules. Annotations are usually declared in
+   * code, but they can be created at runtime as well - like in the
+   * {@link PatternCache}, an arbitrary other rule gets evicted when the limit
+   * is exceeded.
+   */
+  static final int SHARED_LIMIT = 4096;
+
+  /**
+   * The shared rules by annotation - annotations are equal if their members
+   * are, so the validators of a field in all instances of a controller class,
+   * and equal constraints on different fields, share one immutable rule.
+   */
+  private static final Map<Annotation, Rule> SHARED = new ConcurrentHashMap<>();
+
+  private FXRules() {
+    // static helper
+  }
+
+  /**
+   * Get the shared rule for the annotation, compile it on first use.
+   *
+   * @param annotation The annotation
+   * @return The shared rule
+   */
+  public static StringRule ruleFor(FXString annotation) {
+    return shared(annotation, FXRules::compile);
+  }
+
+  /**
+   * Get the shared rule for the annotation, compile it on first use.
+   *
+   * @param annotation The annotation
+   * @return The shared rule
+   */
+  public static NumberRule ruleFor(FXNumber annotation) {
+    return shared(annotation, FXRules::compile);
+  }
+
+  /**
+   * Get the shared rule for the annotation, compile it on first use.
+   *
+   * @param annotation The annotation
+   * @return The shared rule
+   */
+  public static RequiredRule ruleFor(FXRequired annotation) {
+    return shared(annotation, FXRules::compile);
+  }
+
+  /**
+   * Get the shared rule for the annotation, compile it on first use.
+   *
+   * @param annotation The annotation
+   * @return The shared rule
+   */
+  public static NotNullRule ruleFor(FXNotNull annotation) {
+    return shared(annotation, FXRules::compile);
+  }
+
+  /**
+   * Get the shared rule for the annotation, or compile and share it.
+   */
+  @SuppressWarnings("unchecked")
+  private static <A extends Annotation, R extends Rule> R shared(A annotation, Function<A, R> compiler) {
+    Rule rule = SHARED.get(annotation);
+    if (rule != null) {
+      return (R) rule;
+    }
+    final R compiled = compiler.apply(annotation);
+    rule = SHARED.putIfAbsent(annotation, compiled);
+    if (rule != null) {
+      // compiled concurrently by another thread
+      return (R) rule;
+    }
+    if (SHARED.size() > SHARED_LIMIT) {
+      Iterator<Annotation> iterator = SHARED.keySet().iterator();
+      while (SHARED.size() > SHARED_LIMIT && iterator.hasNext()) {
+        if (!iterator.next().equals(annotation)) {
+          iterator.remove();
+        }
+      }
+    }
+    return compiled;
+  }
+
+  /**
+   * The number of shared rules.
+   *
+   * @return The size of the cache
+   */
+  static int sharedCount() {
+    return SHARED.size();
+  }
+
+  public static StringRule compile(FXString annotation) {
+    final int minLength = annotation.minLength();
+    final int maxLength = annotation.maxLength();
+    final String regex = annotation.pattern();
+
+    Pattern pattern = null;
+    TextMatcher matcher = null;
+    if (regex.length() > 0) {
+      pattern = PatternCache.shared().get(regex, annotation.flags());
+      matcher = matcherFor(pattern, annotation.matchMode(), annotation.matchBudget(), annotation.matchBudgetPerChar());
+    }
+
+    return new StringRule(minLength, maxLength, pattern, matcher,
+            ValidationResult.invalid(annotation.messageMinLength(), minLength),
+            ValidationResult.invalid(annotation.messageMaxLength(), maxLength),
+            ValidationResult.invalid(annotation.messagePattern()));
+  }
+
+  /**
+   * Create the matcher for a pattern according to the match mode. Patterns that
+   * may backtrack catastrophically get reported here, i.e., at registration.
+   *
+   * @param pattern The compiled pattern
+   * @param mode The match mode
+   * @param budget The base step budget for guarded matching
+   * @param budgetPerChar The step budget per input character for guarded
+   * matching
+   * @return The matcher
+   */
+  static TextMatcher matcherFor(Pattern pattern, MatchMode mode, int budget, int budgetPerChar) {
+    final String regex = pattern.pattern();
+    if (mode == MatchMode.LINEAR) {
+      try {
+        return LinearMatcher.compile(regex, pattern.flags());
+      } catch (IllegalArgumentException ex) {
+        LOG.log(Level.WARNING, "Pattern \"{0}\" falls back to guarded matching: {1}", new Object[]{regex, ex.getMessage()});
+        mode = MatchMode.GUARDED;
+      }
+    }
+
+    if (PatternAnalyzer.hasNestedQuantifiers(regex)) {
+      LOG.log(Level.WARNING, "Pattern \"{0}\" has nested quantifiers and may backtrack catastrophically{1}.",
+              new Object[]{regex, mode == MatchMode.STANDARD ? " - consider MatchMode.GUARDED or MatchMode.LINEAR" : ""});
+    }
+    if (mode == MatchMode.GUARDED) {
+      return new GuardedMatcher(pattern, budget, budgetPerChar);
+    }
+    return TextMatcher.of(pattern);
+  }
+
+  public static NumberRule compile(FXNumber annotation) {
+    final double min = annotation.min();
+    final double max = annotation.max();
+
+    final String locale = annotation.locale();
+    final NumberScanner scanner = NumberScanner.of(annotation.integer(), annotation.scale(),
+            locale.isEmpty() ? null : Locale.forLanguageTag(locale));
+
+    return new NumberRule(scanner, min != Double.MIN_VALUE, min, max != Double.MAX_VALUE, max,
+            ValidationResult.invalid(annotation.message()));
+  }
+
+  public static RequiredRule compile(FXRequired annotation) {
+    return new RequiredRule(ValidationResult.invalid(annotation.message()));
+  }
+
+  public static NotNullRule compile(FXNotNull annotation) {
+    return new NotNullRule(ValidationResult.invalid(annotation.message()));
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * The combined validation state of all validators of one controller. Instead
+ * of re-evaluating every validator whenever one of them changes, the aggregate
+ * keeps a count of invalid validators that is updated on each transition of a
+ * single validator. Hence, the combined state is O(1) per change, regardless
+ * of the number of validated controls.
+ * <p>
+ * All checked controls and checked properties of a controller share the same
+ * aggregate instance.</p>
+ * <p>
+ * Asynchronous validators are not valid while their check is pending, so
+ * checked controls stay disabled until all results have arrived. Additionally,
+ * the aggregate counts the pending validators, see {@link #pendingProperty()}.
+ * </p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public class FXValidationAggregate {
+
+  /**
+   * The validators counted in this aggregate - identity based, so a validator
+   * is never counted twice.
+   */
+  private final Set<FXAbstractValidator<?, ?>> validators = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private final ReadOnlyBooleanWrapper valid = new ReadOnlyBooleanWrapper(this, "valid", true);
+
+  private final ReadOnlyBooleanWrapper invalid = new ReadOnlyBooleanWrapper(this, "invalid", false);
+
+  /**
+   * One listener instance is shared by all validators, since the change event
+   * already carries the transition. Usually, the validators notify the
+   * aggregate directly, see {@link #transition(boolean)} - the listener is
+   * only needed for validators counted in more than one aggregate.
+   */
+  private final ChangeListener<Boolean> transitionListener = (observable, oldValue, newValue) -> {
+    this.transition(newValue);
+  };
+
+  private final ReadOnlyBooleanWrapper pending = new ReadOnlyBooleanWrapper(this, "pending", false);
+
+  private final ChangeListener<Boolean> pendingListener = (observable, oldValue, newValue) -> {
+    if (newValue) {
+      this.pendingCount++;
+    } else {
+      this.pendingCount--;
+    }
+    this.pending.set(this.pendingCount > 0);
+  };
+
+  private int invalidCount = 0;
+
+  private int pendingCount = 0;
+
+  /**
+   * Add a validator to the aggregate. Adding the same validator more than once
+   * has no effect.
+   *
+   * @param validator The validator
+   */
+  public void add(FXAbstractValidator<?, ?> validator) {
+    if (this.validators.add(validator)) {
+      if (!validator.watchValidity(this)) {
+        validator.isValidProperty().addListener(this.transitionListener);
+      }
+      if (!validator.isValid()) {
+        this.invalidCount++;
+        this.update();
+      }
+      if (validator instanceof FXAsyncValidator<?, ?, ?> asyncValidator) {
+        asyncValidator.pendingProperty().addListener(this.pendingListener);
+        if (asyncValidator.isPending()) {
+          this.pendingCount++;
+          this.pending.set(true);
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove a validator from the aggregate.
+   *
+   * @param validator The validator
+   */
+  public void remove(FXAbstractValidator<?, ?> validator) {
+    if (this.validators.remove(validator)) {
+      if (!validator.unwatchValidity(this)) {
+        validator.isValidProperty().removeListener(this.transitionListener);
+      }
+      if (!validator.isValid()) {
+        this.invalidCount--;
+        this.update();
+      }
+      if (validator instanceof FXAsyncValidator<?, ?, ?> asyncValidator) {
+        asyncValidator.pendingProperty().removeListener(this.pendingListener);
+        if (asyncValidator.isPending()) {
+          this.pendingCount--;
+          this.pending.set(this.pendingCount > 0);
+        }
+      }
+    }
+  }
+
+  /**
+   * Count the transition of a validator.
+   *
+   * @param valid The new state of the validator
+   */
+  void transition(boolean valid) {
+    if (valid) {
+      this.invalidCount--;
+    } else {
+      this.invalidCount++;
+    }
+    this.update();
+  }
+
+  private void update() {
+    boolean isValid = this.invalidCount == 0;
+    this.valid.set(isValid);
+    this.invalid.set(!isValid);
+  }
+
+  /**
+   * The number of validators currently in invalid state.
+   *
+   * @return The invalid count
+   */
+  public int getInvalidCount() {
+    return invalidCount;
+  }
+
+  /**
+   * The number of asynchronous validators with a pending check.
+   *
+   * @return The pending count
+   */
+  public int getPendingCount() {
+    return pendingCount;
+  }
+
+  /**
+   * The number of validators counted in this aggregate.
+   *
+   * @return The number of validators
+   */
+  public int size() {
+    return this.validators.size();
+  }
+
+  public boolean isValid() {
+    return valid.get();
+  }
+
+  /**
+   * True, if all validators of the controller are valid.
+   *
+   * @return The read-only property
+   */
+  public ReadOnlyBooleanProperty validProperty() {
+    return valid.getReadOnlyProperty();
+  }
+
+  /**
+   * The negation of {@link #validProperty()} - intended for binding the
+   * disable property of checked controls without creating a binding per
+   * control.
+   *
+   * @return The read-only property
+   */
+  public ReadOnlyBooleanProperty invalidProperty() {
+    return invalid.getReadOnlyProperty();
+  }
+
+  public boolean isPending() {
+    return pending.get();
+  }
+
+  /**
+   * True, while any asynchronous validator of the controller is checking.
+   *
+   * @return The read-only property
+   */
+  public ReadOnlyBooleanProperty pendingProperty() {
+    return pending.getReadOnlyProperty();
+  }
+}
@@ -18,27 +18,36 @@
  */
 package de.aeoniumsystems.fx.validation;
 
+import de.aeoniumsystems.fx.validation.exceptions.FXValidatorException;
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
 import com.aeonium.javafx.actions.FXActionManager;
 import com.aeonium.javafx.actions.annotations.AnnotationHandler;
 import de.aeoniumsystems.fx.validation.utils.LabelService;
+import de.aeoniumsystems.fx.validation.annotations.FXCrossValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXItemValidation;
 import de.aeoniumsystems.fx.validation.annotations.FXNotNull;
 import de.aeoniumsystems.fx.validation.annotations.FXNumber;
 import de.aeoniumsystems.fx.validation.annotations.FXRequired;
 import de.aeoniumsystems.fx.validation.annotations.FXString;
 import de.aeoniumsystems.fx.validation.annotations.FXValidation;
 import de.aeoniumsystems.fx.validation.annotations.FXValidationChecked;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
-import javafx.beans.Observable;
-import javafx.beans.binding.BooleanBinding;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
-import javafx.beans.value.ObservableBooleanValue;
+import javafx.css.PseudoClass;
 import javafx.geometry.Point2D;
 import javafx.scene.Parent;
 import javafx.scene.control.ButtonBase;
@@ -59,6 +68,12 @@ public class FXValidatorService {
 
   private static final Logger LOG = Logger.getLogger(FXValidatorService.class.getName());
 
+  /**
+   * The default time budget per frame of a chunked validation - small enough
+   * to keep a frame rate of 60 fps.
+   */
+  public static final Duration DEFAULT_FRAME_BUDGET = Duration.ofMillis(4);
+
   /**
    * CSS class for the erronous controls and corresponding labels.
    */
@@ -67,27 +82,39 @@ public class FXValidatorService {
    * CSS class for the error message labels.
    */
   public static final String AEFX_VALIDATION_MSG = "aefx-validation-message";
+  /**
+   * CSS pseudo class for the erronous controls and corresponding labels, if
+   * the styling mode is {@link StylingMode#PSEUDO_CLASS}.
+   */
+  public static final PseudoClass AEFX_INVALID = PseudoClass.getPseudoClass("aefx-invalid");
 
   /**
-   * Mapping of multiple validators to it's control.
+   * Key of the validator list in the properties of a validated control.
    */
-  private static final Map<Control, List<FXAbstractValidator<?, ?>>> validatorMap;
+  private static final String VALIDATORS_KEY = FXValidatorService.class.getName() + ".validators";
 
   /**
    * @deprecated Experimental - not for use!
    */
   @Deprecated
-  private static final Map<Control, Popup> popupMap;
+  private static final String POPUP_KEY = FXValidatorService.class.getName() + ".popup";
 
   /**
-   * Mapping of multiple validated controls to it's controller.
+   * The validation contexts of the controllers. The contexts are only weakly
+   * referenced, since they (indirectly) reference the controllers - a strong
+   * value would keep its own key alive. The registered controls keep their
+   * context alive, see {@link ValidationContext}.
    */
-  private static final Map<Object, List<Control>> validatedControlMap;
+  private static final Map<Object, WeakReference<ValidationContext>> contextMap = new WeakHashMap<>();
+
   /**
-   * Mapping of multiple checked controls to it's controller.
+   * The contexts that no control keeps alive yet, e.g., between the
+   * registration of a checked property and the initialization, or for a
+   * controller without validated controls. They are held strongly until a
+   * control anchors them, or until their controller - referenced weakly - has
+   * been collected.
    */
-  private static final Map<Object, List<Control>> checkedControlMap;
-  private static final Map<Object, List<BooleanProperty>> checkedPropertyMap;
+  private static final Map<ValidationContext, WeakReference<Object>> unanchored = new HashMap<>();
 
   /**
    * Resource bundle for localized messages - if defined, the validator messages
@@ -95,13 +122,21 @@ public class FXValidatorService {
    */
   private static ResourceBundle bundle = null;
 
-  static {
-    validatorMap = new WeakHashMap<>();
-    validatedControlMap = new WeakHashMap<>();
-    checkedControlMap = new WeakHashMap<>();
-    checkedPropertyMap = new WeakHashMap<>();
-    popupMap = new WeakHashMap<>();
-  }
+  /**
+   * Defines whether controls get validated on every change, or once per pulse.
+   */
+  private static ValidationMode validationMode = ValidationMode.IMMEDIATE;
+
+  /**
+   * Defines whether invalid controls get a style class or a pseudo class.
+   */
+  private static StylingMode stylingMode = StylingMode.STYLE_CLASS;
+
+  /**
+   * Defines whether controls get marked after each validation, or once per
+   * pulse.
+   */
+  private static MarkingMode markingMode = MarkingMode.IMMEDIATE;
 
   /**
    * @deprecated Not implemented yet, work in progress.
@@ -112,7 +147,7 @@ public class FXValidatorService {
   public static void bindValidators(Control targetControl, Control... validatedControls) {
     System.out.println("ValidatorService.bindValidators " + targetControl);
     for (Control vc : validatedControls) {
-      List<FXAbstractValidator<?, ?>> list = validatorMap.get(vc);
+      List<FXAbstractValidator<?, ?>> list = getValidators(vc);
       if (list == null) {
         continue;
       }
@@ -176,15 +211,22 @@ public class FXValidatorService {
     fxActionManager.addHandler(FXValidationChecked.class, new DefaultFXValidationCheckedHandler());
   }
 
+  @SuppressWarnings("unchecked")
   public static List<FXAbstractValidator<?, ?>> getValidators(Control c) {
-    return validatorMap.get(c);
+    if (!c.hasProperties()) {
+      return null;
+    }
+    return (List<FXAbstractValidator<?, ?>>) c.getProperties().get(VALIDATORS_KEY);
   }
 
   public static List<FXAbstractValidator<?, ?>> getValidators(Control... c) {
     List<FXAbstractValidator<?, ?>> list = new ArrayList<>();
 
     for (Control control : c) {
-      list.addAll(validatorMap.get(control));
+      List<FXAbstractValidator<?, ?>> validators = getValidators(control);
+      if (validators != null) {
+        list.addAll(validators);
+      }
     }
     return list;
   }
@@ -214,14 +256,22 @@ public class FXValidatorService {
   }
 
   /**
-   * Initialize validation in the given controller object.
+   * Initialize validation in the given controller object. This also wires the
+   * cross-field rules and the item rules of the controller, see
+   * {@link FXCrossValidation} and {@link FXItemValidation}.
    *
    * @param controller The controller to initialize
+   * @throws FXValidatorException Thrown if the cross-field or item rules are
+   * declared wrongly, or if the cross-field rules depend on each other
+   * cyclically.
    */
   public static void initialize(Object controller) {
-    List<Control> checkedControls = checkedControlMap.get(controller);
-    List<Control> validatedControls = validatedControlMap.get(controller);
-    List<BooleanProperty> checkedProperties = checkedPropertyMap.get(controller);
+    ValidationContext context = contextOf(controller);
+    CrossValidationGraph.install(controller, context);
+    FXItemValidator.install(controller, context);
+    List<Control> checkedControls = context.checkedControls;
+    List<Control> validatedControls = context.validatedControls;
+    List<BooleanProperty> checkedProperties = context.checkedProperties;
 
 //    System.out.println("initialize " + controller);
     if (validatedControls != null) {
@@ -240,9 +290,61 @@ public class FXValidatorService {
       }
     }
 
-    initializeCheckedControls(checkedControls, validatedControls);
+    FXValidationAggregate aggregate = initializeAggregate(context);
+
+    initializeCheckedControls(checkedControls, aggregate);
 
-    initializeCheckedProperties(checkedProperties, validatedControls);
+    initializeCheckedProperties(checkedProperties, validatedControls, context.itemValidators, aggregate);
+    if (context.isAnchored()) {
+      unanchored.remove(context);
+    }
+  }
+
+  /**
+   * Get the combined validation state of all validators of the given
+   * controller.
+   *
+   * @param controller The controller
+   * @return The aggregate, or <code>null</code> if the controller has not been
+   * initialized.
+   */
+  public static FXValidationAggregate getAggregate(Object controller) {
+    ValidationContext context = findContext(controller);
+    return context != null ? context.aggregate : null;
+  }
+
+  /**
+   * Create the aggregate for the controller, if necessary, and add all
+   * validators of the validated controls to it. The validation states of the
+   * validators move into the bit set of the controller.
+   *
+   * @param context The validation context of the controller
+   * @return The aggregate of the controller
+   */
+  private static FXValidationAggregate initializeAggregate(ValidationContext context) {
+    FXValidationAggregate aggregate = context.aggregate;
+    if (aggregate == null) {
+      aggregate = new FXValidationAggregate();
+      context.aggregate = aggregate;
+    }
+
+    List<Control> validatedControls = context.validatedControls;
+    if (validatedControls != null) {
+      for (Control validatedControl : validatedControls) {
+        List<FXAbstractValidator<?, ?>> validators = getValidators(validatedControl);
+        if (validators != null) {
+          for (FXAbstractValidator<?, ?> validator : validators) {
+            validator.attachValidity(context.validity);
+            aggregate.add(validator);
+          }
+        }
+      }
+    }
+    for (FXItemValidator<?> itemValidator : context.itemValidators) {
+      itemValidator.attachValidity(context.validity);
+      aggregate.add(itemValidator);
+    }
+    return aggregate;
   }
 
   /**
@@ -251,31 +353,20 @@ public class FXValidatorService {
    * bound to the combined result of all validation constraints.
    *
    * @param checkedControls The list of checked controls
-   * @param validatedControls The list of validated controls
+   * @param aggregate The combined validation state of the controller
    * @throws UnsupportedOperationException Thrown if control is not an instance
    * of ButtonBase
    */
-  private static void initializeCheckedControls(List<Control> checkedControls, List<Control> validatedControls) throws UnsupportedOperationException {
+  private static void initializeCheckedControls(List<Control> checkedControls, FXValidationAggregate aggregate) throws UnsupportedOperationException {
     if (checkedControls != null) {
 
       for (Control control : checkedControls) {
         // if we have something like a button, checkbox etc.
         if (control instanceof ButtonBase) {
           ButtonBase buttonBase = (ButtonBase) control;
-          List<ObservableBooleanValue> validatorsOK = new ArrayList<>();
-
-          // go through validated controls and bind enabledProperty
-          for (Control validatedControl : validatedControls) {
-            // ... for each validator - get validators
-            List<FXAbstractValidator<?, ?>> validators = validatorMap.get(validatedControl);
-
-            for (FXAbstractValidator<?, ?> validator : validators) {
-              validatorsOK.add(validator.isValid);
-            }
-          }
 
-          // create collective binding for checked controls
-          buttonBase.disableProperty().bind(new AllBooleansBinding(validatorsOK).not());
+          // all checked controls share the aggregate of the controller
+          buttonBase.disableProperty().bind(aggregate.invalidProperty());
         } else {
           throw new UnsupportedOperationException("ValidatorService supports only descendants of ButtonBase as checked controls.");
         }
@@ -293,9 +384,12 @@ public class FXValidatorService {
    *
    * @param checkedProperties The list of checked properties
    * @param validatedControls The list of validated controls
+   * @param itemValidators The list of item validators
+   * @param aggregate The combined validation state of the controller
    */
-  private static void initializeCheckedProperties(List<BooleanProperty> checkedProperties, List<Control> validatedControls) {
-    if (validatedControls == null || validatedControls.isEmpty()) {
+  private static void initializeCheckedProperties(List<BooleanProperty> checkedProperties, List<Control> validatedControls,
+          List<FXItemValidator<?>> itemValidators, FXValidationAggregate aggregate) {
+    if ((validatedControls == null || validatedControls.isEmpty()) && itemValidators.isEmpty()) {
       final String message = "Use of checked Property without validated Controls! You may want to check your Controller class.";
       LOG.severe(message);
       throw new RuntimeException(message);
@@ -303,20 +397,7 @@ public class FXValidatorService {
     if (checkedProperties != null) {
 
       for (BooleanProperty checkedProperty : checkedProperties) {
-
-        List<ObservableBooleanValue> validatorsOK = new ArrayList<>();
-
-        // go through validated controls and bind enabledProperty
-        for (Control validatedControl : validatedControls) {
-          // ... for each validator - get validators
-          List<FXAbstractValidator<?, ?>> validators = validatorMap.get(validatedControl);
-
-          for (FXAbstractValidator<?, ?> validator : validators) {
-            validatorsOK.add(validator.isValid);
-          }
-        }
-
-        checkedProperty.bind(new AllBooleansBinding(validatorsOK));
+        checkedProperty.bind(aggregate.validProperty());
       }
     }
   }
@@ -324,21 +405,117 @@ public class FXValidatorService {
   /**
    * Process all validators that belong to the given controller - this is
    * failfast, the method quits validation on the first failure with an
-   * exception.
+   * exception. For large forms, see {@link #validateChunked(Object, Duration)}
+   * and {@link #validateParallel(Object)}.
    *
    * @param controller The controller
    * @throws ValidationException The Exception signalling a failed validation
    */
   public static void validate(Object controller) throws ValidationException {
+    ValidationContext context = findContext(controller);
+    if (context != null) {
+      validate(context);
+    }
+  }
 
-    List<Control> validatedControls = validatedControlMap.get(controller);
+  /**
+   * Validate all controls of the given controller without blocking the UI: the
+   * controls are validated in chunks, spending at most the given time budget
+   * per frame. All failures are collected, and the controls get marked. The
+   * items of the TableViews and ListViews are checked as well. This
+   * method has to be called on the JavaFX application thread.
+   *
+   * @param controller The controller
+   * @param budget The time to spend per frame, e.g. a few milliseconds.
+   * @return The running validation, with its progress and result.
+   */
+  public static ChunkedValidation validateChunked(Object controller, Duration budget) {
+    if (!Platform.isFxApplicationThread()) {
+      throw new IllegalStateException("Chunked validation has to be started on the JavaFX application thread.");
+    }
+    ValidationContext context = findContext(controller);
+    ChunkedValidation validation = context != null
+            ? new ChunkedValidation(context.validatedControls, context.itemValidators, budget)
+            : new ChunkedValidation(List.of(), List.of(), budget);
+    validation.start();
+    return validation;
+  }
 
-    for (Control validatedControl : validatedControls) {
+  /**
+   * Validate all controls of the given controller in chunks, with the default
+   * time budget of {@link #DEFAULT_FRAME_BUDGET} per frame.
+   *
+   * @param controller The controller
+   * @return The running validation, with its progress and result.
+   * @see #validateChunked(Object, Duration)
+   */
+  public static ChunkedValidation validateChunked(Object controller) {
+    return validateChunked(controller, DEFAULT_FRAME_BUDGET);
+  }
+
+  /**
+   * Validate all controls of the given controller with the checks running in
+   * parallel, off the JavaFX application thread: the validators take a
+   * {@link FXAbstractValidator#snapshot() snapshot} of the values they depend
+   * on, the snapshots get checked on the executor, and the results are applied
+   * to the validators and controls on the JavaFX application thread again.
+   * Results of controls that have been validated again in the meantime, e.g.,
+   * since the user kept typing, are reported but not applied. The items of the
+   * TableViews and ListViews are checked as well. This method has
+   * to be called on the JavaFX application thread.
+   *
+   * @param controller The controller
+   * @param executor The executor for the checks
+   * @return All failures, completed on the JavaFX application thread.
+   */
+  public static CompletableFuture<List<ValidationFailure>> validateParallel(Object controller, Executor executor) {
+    if (!Platform.isFxApplicationThread()) {
+      throw new IllegalStateException("Parallel validation has to be started on the JavaFX application thread.");
+    }
+    ValidationContext context = findContext(controller);
+    if (context == null) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+    return ParallelValidation.run(context.validatedControls, context.itemValidators, executor);
+  }
+
+  /**
+   * Validate all controls of the given controller in parallel, on the common
+   * fork/join pool.
+   *
+   * @param controller The controller
+   * @return All failures, completed on the JavaFX application thread.
+   * @see #validateParallel(Object, Executor)
+   */
+  public static CompletableFuture<List<ValidationFailure>> validateParallel(Object controller) {
+    return validateParallel(controller, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Process all validators of a validation context, failfast.
+   *
+   * @param context The validation context
+   * @throws ValidationException The Exception signalling a failed validation
+   */
+  static void validate(ValidationContext context) throws ValidationException {
+    for (Control validatedControl : context.validatedControls) {
       // ... for each validator - get validators
-      List<FXAbstractValidator<?, ?>> validators = validatorMap.get(validatedControl);
+      List<FXAbstractValidator<?, ?>> validators = getValidators(validatedControl);
+      if (validators == null) {
+        continue;
+      }
 
       for (FXAbstractValidator<?, ?> validator : validators) {
-        validator.validate();
+        ValidationResult result = validator.evaluate();
+        if (!result.isValid()) {
+          throw new ValidationException(result.getMessage());
+        }
+      }
+    }
+    for (FXItemValidator<?> itemValidator : context.itemValidators) {
+      ValidationResult result = itemValidator.evaluate();
+      if (!result.isValid()) {
+        throw new ValidationException(result.getMessage());
       }
     }
   }
@@ -351,7 +528,7 @@ public class FXValidatorService {
    */
   @Deprecated
   static void hideHint(Control control, Annotation annotation) {
-    Popup popup = popupMap.get(control);
+    Popup popup = control.hasProperties() ? (Popup) control.getProperties().get(POPUP_KEY) : null;
     if (popup != null && popup.isShowing()) {
       popup.hide();
     }
@@ -364,30 +541,31 @@ public class FXValidatorService {
    */
   @Deprecated
   public static void showHint(Control control, Annotation annotation) {
-    Popup popup = popupMap.get(control);
+    Popup popup = (Popup) control.getProperties().get(POPUP_KEY);
     if (popup == null) {
       popup = new Popup();
       popup.setAnchorLocation(PopupWindow.AnchorLocation.WINDOW_TOP_LEFT);
       popup.getContent().add(new Label(annotation.toString()));
-      popupMap.put(control, popup);
+      control.getProperties().put(POPUP_KEY, popup);
     }
     Point2D localToScene = control.localToScreen(0, 0);
     popup.show(control, localToScene.getX(), localToScene.getY());
   }
 
+  @SuppressWarnings("unchecked")
   public static void registerValidator(Control c, FXAbstractValidator<?, ?> validator) {
-    List<FXAbstractValidator<?, ?>> list = validatorMap.get(c);
+    List<FXAbstractValidator<?, ?>> list = (List<FXAbstractValidator<?, ?>>) c.getProperties().get(VALIDATORS_KEY);
 
     if (list == null) {
       list = new ArrayList<>();
-      validatorMap.put(c, list);
+      c.getProperties().put(VALIDATORS_KEY, list);
     }
 
     list.add(validator);
   }
 
   public static void unregisterValidator(Control c, FXAbstractValidator<?, ?> validator) {
-    List<FXAbstractValidator<?, ?>> list = validatorMap.get(c);
+    List<FXAbstractValidator<?, ?>> list = getValidators(c);
 
     if (list != null) {
       list.remove(validator);
@@ -401,36 +579,143 @@ public class FXValidatorService {
    * @param control The UI control to register.
    */
   public static void registerValidatedControl(Object controller, Control control) {
-    List<Control> list = validatedControlMap.get(controller);
+    ValidationContext context = contextOf(controller);
+    context.validatedControls.add(control);
+    context.anchor(control);
+  }
 
-    if (list == null) {
-      list = new ArrayList<>();
-      validatedControlMap.put(controller, list);
+  public static void registerCheckedControl(Object controller, Control control) {
+    ValidationContext context = contextOf(controller);
+    context.checkedControls.add(control);
+    context.anchor(control);
+  }
+
+  static void registerCheckedProperty(Object controller, BooleanProperty booleanProperty) {
+    contextOf(controller).checkedProperties.add(booleanProperty);
+  }
+
+  /**
+   * Get the validation context of the controller, create it if necessary.
+   *
+   * @param controller The controller
+   * @return The validation context
+   */
+  static ValidationContext contextOf(Object controller) {
+    ValidationContext context = findContext(controller);
+    if (context == null) {
+      context = new ValidationContext();
+      contextMap.put(controller, new WeakReference<>(context));
+      unanchored.values().removeIf(reference -> reference.get() == null);
+      unanchored.put(context, new WeakReference<>(controller));
     }
+    return context;
+  }
 
-    list.add(control);
+  /**
+   * Get the validation context of the controller.
+   *
+   * @param controller The controller
+   * @return The validation context, or <code>null</code>.
+   */
+  static ValidationContext findContext(Object controller) {
+    WeakReference<ValidationContext> reference = contextMap.get(controller);
+    return reference != null ? reference.get() : null;
   }
 
-  public static void registerCheckedControl(Object controller, Control control) {
-    List<Control> list = checkedControlMap.get(controller);
+  /**
+   * Release all validation state of the given controller: remove all
+   * listeners, event handlers and bindings that have been installed on its
+   * controls and properties, and forget the controller. Call this when a form
+   * is closed for good - the controls may be garbage collected anyway, but
+   * disposing them releases them right away.
+   *
+   * @param controller The controller
+   */
+  public static void dispose(Object controller) {
+    WeakReference<ValidationContext> reference = contextMap.remove(controller);
+    ValidationContext context = reference != null ? reference.get() : null;
+    if (context != null) {
+      unanchored.remove(context);
+      context.dispose();
+    }
+  }
 
-    if (list == null) {
-      list = new ArrayList<>();
-      checkedControlMap.put(controller, list);
+  /**
+   * Remove the validators, the hint popup and the label registrations of a
+   * control.
+   *
+   * @param control The control
+   */
+  static void release(Control control) {
+    if (control.hasProperties()) {
+      control.getProperties().remove(VALIDATORS_KEY);
+      control.getProperties().remove(POPUP_KEY);
+      control.getProperties().remove(DefaultFXValidationHandler.RESULT_KEY);
+      control.getProperties().remove(MarkState.KEY);
     }
+    LabelService.release(control);
+  }
 
-    list.add(control);
+  public static ValidationMode getValidationMode() {
+    return validationMode;
   }
 
-  static void registerCheckedProperty(Object controller, BooleanProperty booleanProperty) {
-    List<BooleanProperty> list = checkedPropertyMap.get(controller);
+  /**
+   * Set the validation mode: by default, controls get validated on every change
+   * of their value ({@link ValidationMode#IMMEDIATE}). With
+   * {@link ValidationMode#PULSE}, changed controls are only marked as dirty and
+   * get validated once per JavaFX pulse, right before the layout pass - so
+   * pasting text, typing fast or filling a form programmatically does not
+   * validate every intermediate value.
+   *
+   * @param mode The validation mode, must not be <code>null</code>.
+   */
+  public static void setValidationMode(ValidationMode mode) {
+    if (mode == null) {
+      throw new NullPointerException("Validation mode must not be null.");
+    }
+    validationMode = mode;
+  }
 
-    if (list == null) {
-      list = new ArrayList<>();
-      checkedPropertyMap.put(controller, list);
+  public static MarkingMode getMarkingMode() {
+    return markingMode;
+  }
+
+  /**
+   * Set the marking mode: by default, controls get marked right after each
+   * validation ({@link MarkingMode#IMMEDIATE}). With {@link MarkingMode#PULSE},
+   * the results are recorded immediately, but the visual changes are queued
+   * and applied once per JavaFX pulse, right before the layout pass - each
+   * control gets at most one update per frame.
+   *
+   * @param mode The marking mode, must not be <code>null</code>.
+   */
+  public static void setMarkingMode(MarkingMode mode) {
+    if (mode == null) {
+      throw new NullPointerException("Marking mode must not be null.");
     }
+    markingMode = mode;
+  }
+
+  public static StylingMode getStylingMode() {
+    return stylingMode;
+  }
 
-    list.add(booleanProperty);
+  /**
+   * Set the styling mode: by default, invalid controls and their labels get
+   * the style class {@link #AEFX_VALIDATION_ERROR}
+   * ({@link StylingMode#STYLE_CLASS}). With {@link StylingMode#PSEUDO_CLASS},
+   * they get the pseudo class {@link #AEFX_INVALID} instead, which is much
+   * cheaper to toggle. The default stylesheet supports both. The mode applies
+   * to the next change of the validation state of a control.
+   *
+   * @param mode The styling mode, must not be <code>null</code>.
+   */
+  public static void setStylingMode(StylingMode mode) {
+    if (mode == null) {
+      throw new NullPointerException("Styling mode must not be null.");
+    }
+    stylingMode = mode;
   }
 
   public static ResourceBundle getBundle() {
@@ -442,51 +727,44 @@ public class FXValidatorService {
    * this case, use the key of your localized messages for the
    * <code>message</code> attribute in the annotations.
    *
+   * <p>
+   * The localized messages are cached, so changing the bundle at runtime, e.g.
+   * for switching the locale, invalidates the cache and renders the messages
+   * of all currently invalid controls again - in one batch on the JavaFX
+   * application thread.</p>
+   *
    * @param aBundle A resource bundle for the validation messages.
    */
   public static void setBundle(ResourceBundle aBundle) {
     bundle = aBundle;
-  }
-
-  private static class BooleanValidatorsBinding extends BooleanBinding {
-
-    private final List<ObservableBooleanValue> bools;
-
-    public BooleanValidatorsBinding(List<ObservableBooleanValue> validatorsOK) {
-      this.bools = validatorsOK;
-      Observable[] bb = {};
-      bb = bools.toArray(bb);
-      super.bind(bb);
-    }
-
-    @Override
-    protected boolean computeValue() {
-      boolean result = true;
-      for (ObservableBooleanValue b : bools) {
-        result = result && b.get();
+    MessageResolver.invalidate();
+
+    final List<Control> invalidControls = new ArrayList<>();
+    for (WeakReference<ValidationContext> reference : new ArrayList<>(contextMap.values())) {
+      ValidationContext context = reference.get();
+      if (context != null) {
+        for (Control control : context.validatedControls) {
+          if (control.hasProperties() && control.getProperties().containsKey(DefaultFXValidationHandler.RESULT_KEY)) {
+            invalidControls.add(control);
+          }
+        }
       }
-      return !result;
     }
-  }
-
-  private static class AllBooleansBinding extends BooleanBinding {
-
-    private final List<ObservableBooleanValue> bools;
-
-    public AllBooleansBinding(List<ObservableBooleanValue> validatorsOK) {
-      this.bools = validatorsOK;
-      Observable[] bb = {};
-      bb = bools.toArray(bb);
-      super.bind(bb);
+    if (invalidControls.isEmpty()) {
+      return;
     }
-
-    @Override
-    protected boolean computeValue() {
-      boolean result = true;
-      for (ObservableBooleanValue b : bools) {
-        result = result && b.get();
+    final Runnable rerender = () -> {
+      for (Control control : invalidControls) {
+        ValidationResult result = (ValidationResult) control.getProperties().get(DefaultFXValidationHandler.RESULT_KEY);
+        if (result != null) {
+          DefaultFXValidationHandler.applyResult(control, result);
+        }
       }
-      return result;
+    };
+    if (Platform.isFxApplicationThread()) {
+      rerender.run();
+    } else {
+      Platform.runLater(rerender);
     }
   }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.List;
+import java.util.Objects;
+import javafx.scene.control.Control;
+import javafx.scene.control.Label;
+
+/**
+ * The marks that have last been applied to a control, so
+ * {@link DefaultFXValidationHandler#mark(Control, boolean, String)} touches
+ * the scene graph only on an actual transition: style class changes invalidate
+ * the CSS of the control, and toggling the managed state of a message label
+ * forces a layout pass. The state is kept in the properties of the control.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class MarkState {
+
+  /**
+   * Key of the state in the properties of the control.
+   */
+  static final String KEY = MarkState.class.getName();
+
+  private boolean applied = false;
+
+  private boolean valid;
+
+  private String message;
+
+  /**
+   * The labels the marks have been applied to, and their number - labels that
+   * get registered later need to be marked as well.
+   */
+  private List<Label> labels;
+
+  private int labelCount;
+
+  private StylingMode mode;
+
+  /**
+   * Whether the missing labels have been reported already.
+   */
+  private boolean warned = false;
+
+  /**
+   * Get the state of a control, create it if absent.
+   *
+   * @param control The control
+   * @return The state
+   */
+  static MarkState of(Control control) {
+    MarkState state = (MarkState) control.getProperties().get(KEY);
+    if (state == null) {
+      state = new MarkState();
+      control.getProperties().put(KEY, state);
+    }
+    return state;
+  }
+
+  /**
+   * Check whether the given marks are applied already.
+   *
+   * @param valid The validity
+   * @param message The message, <code>null</code> for valid controls.
+   * @param labels The current labels of the control.
+   * @param mode The current styling mode.
+   * @return true, if nothing has to be changed.
+   */
+  boolean isCurrent(boolean valid, String message, List<Label> labels, StylingMode mode) {
+    return this.applied
+            && this.mode == mode
+            && this.valid == valid
+            && Objects.equals(this.message, message)
+            && this.labels == labels
+            && this.labelCount == (labels == null ? 0 : labels.size());
+  }
+
+  /**
+   * Remember the marks that have been applied.
+   *
+   * @param valid The validity
+   * @param message The message, <code>null</code> for valid controls.
+   * @param labels The current labels of the control.
+   * @param mode The styling mode the marks have been applied with.
+   */
+  void record(boolean valid, String message, List<Label> labels, StylingMode mode) {
+    this.applied = true;
+    this.mode = mode;
+    this.valid = valid;
+    this.message = message;
+    this.labels = labels;
+    this.labelCount = labels == null ? 0 : labels.size();
+  }
+
+  /**
+   * Check whether missing labels should be reported, i.e., on the first time
+   * only.
+   *
+   * @return true, if missing labels have not been reported yet.
+   */
+  boolean warnOnce() {
+    if (this.warned) {
+      return false;
+    }
+    this.warned = true;
+    return true;
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+/**
+ * Defines when the results of a validation become visible, i.e., when the
+ * control and its labels get marked, see
+ * {@link FXValidatorService#setMarkingMode(MarkingMode)}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public enum MarkingMode {
+
+  /**
+   * Mark the control right after each validation - this is the default.
+   */
+  IMMEDIATE,
+
+  /**
+   * Record the result right away, but apply the marks (styles, message labels,
+   * managed flags) once, right before the next layout pass of the scene. A
+   * control that gets validated several times within one pulse is marked only
+   * once, with its last result - so validating a whole form causes a single
+   * CSS and layout pass.
+   */
+  PULSE
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.rules.MessageTemplate;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the messages of failed validations against the resource bundle of
+ * the {@link FXValidatorService}. The rules keep their failure results
+ * preallocated, so the rendered message is cached per result - an invalid
+ * keystroke neither looks up the bundle nor renders a template again. The
+ * cache belongs to one bundle (and thereby one locale), and is dropped as soon
+ * as another bundle is set.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class MessageResolver {
+
+  /**
+   * Upper bound of the cache - results that are created per validation, e.g.,
+   * by asynchronous validators, must not fill it up.
+   */
+  static final int MAX_SIZE = 1024;
+
+  private static final Map<ValidationResult, String> cache = new ConcurrentHashMap<>();
+
+  /**
+   * The bundle the cached messages have been resolved with.
+   */
+  private static volatile ResourceBundle cachedBundle = null;
+
+  private MessageResolver() {
+    // static helper
+  }
+
+  /**
+   * Get the message to display for a failed validation.
+   *
+   * @param result The result
+   * @return The localized message, or the message of the result if there is
+   * no bundle or the bundle does not contain it. <code>null</code> for valid
+   * results.
+   */
+  static String resolve(ValidationResult result) {
+    if (result.isValid()) {
+      return null;
+    }
+    final ResourceBundle bundle = FXValidatorService.getBundle();
+    if (bundle == null) {
+      return result.getMessage();
+    }
+    if (bundle != cachedBundle) {
+      invalidate();
+      cachedBundle = bundle;
+    }
+    String message = cache.get(result);
+    if (message == null) {
+      message = lookup(bundle, result);
+      if (cache.size() >= MAX_SIZE) {
+        cache.clear();
+      }
+      cache.put(result, message);
+    }
+    return message;
+  }
+
+  private static String lookup(ResourceBundle bundle, ValidationResult result) {
+    final String key = result.getKey();
+    if (key == null || !bundle.containsKey(key)) {
+      return result.getMessage();
+    }
+    return result.render(MessageTemplate.compile(bundle.getString(key)));
+  }
+
+  /**
+   * Drop all cached messages.
+   */
+  static void invalidate() {
+    cache.clear();
+    cachedBundle = null;
+  }
+
+  static int size() {
+    return cache.size();
+  }
+}
@@ -18,13 +18,14 @@
  */
 package de.aeoniumsystems.fx.validation;
 
+import de.aeoniumsystems.fx.validation.rules.NotNullRule;
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import de.aeoniumsystems.fx.validation.exceptions.FXValidatorException;
 import de.aeoniumsystems.fx.validation.annotations.FXNotNull;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.ComboBoxBase;
 import javafx.scene.control.Control;
-import javafx.scene.input.KeyEvent;
 
 /**
  * Checks (currently only) choiceboxes and comboboxes whether they have a valid
@@ -35,9 +36,14 @@ import javafx.scene.input.KeyEvent;
  */
 public class NotNullValidator extends FXAbstractValidator<Control, FXNotNull> {
 
+  /**
+   * The compiled rule, and the annotation it has been compiled from.
+   */
+  private NotNullRule rule;
+  private FXNotNull ruleAnnotation;
+
   public NotNullValidator() {
     super();
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
   }
 
   public NotNullValidator(Control control, FXNotNull annotation) {
@@ -56,30 +62,49 @@ public class NotNullValidator extends FXAbstractValidator<Control, FXNotNull> {
   }
 
   @Override
-  public void validate(Control control, FXNotNull annotation) throws ValidationException {
-// shortcut: do not check if disabled.
+  public void prepare() {
+    this.ruleFor(this.annotation);
+  }
+
+  private NotNullRule ruleFor(FXNotNull annotation) {
+    if (this.rule == null || annotation != this.ruleAnnotation) {
+      this.rule = FXRules.ruleFor(annotation);
+      this.ruleAnnotation = annotation;
+    }
+    return this.rule;
+  }
+
+  @Override
+  public ValidationResult evaluate(Control control, FXNotNull annotation) {
+    // shortcut: do not check if disabled.
     if (control.isDisabled()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
     if (!control.isVisible()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
 
-    boolean valid = false;
+    Object value = null;
 
     if (control instanceof ChoiceBox<?> choiceBox) {
-      valid = choiceBox.getValue() != null;
+      value = choiceBox.getValue();
 
     } else if (control instanceof ComboBoxBase<?> comboBoxBase) {
-      valid = comboBoxBase.getValue() != null;
+      value = comboBoxBase.getValue();
     }
 
-    this.isValid.set(valid);
+    ValidationResult result = this.ruleFor(annotation).check(value);
+    this.setValid(result.isValid());
+    return result;
+  }
 
-    if (!valid) {
-      throw new ValidationException(annotation.message());
+  @Override
+  public void validate(Control control, FXNotNull annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
     }
   }
 
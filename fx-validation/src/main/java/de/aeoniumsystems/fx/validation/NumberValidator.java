@@ -18,10 +18,11 @@
  */
 package de.aeoniumsystems.fx.validation;
 
+import de.aeoniumsystems.fx.validation.rules.NumberRule;
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import de.aeoniumsystems.fx.validation.annotations.FXNumber;
 import javafx.scene.control.TextInputControl;
-import javafx.scene.input.KeyEvent;
 
 /**
  * Checks whether input of a text control may be parsed as a double precision
@@ -33,53 +34,87 @@ import javafx.scene.input.KeyEvent;
  */
 public class NumberValidator extends FXAbstractValidator<TextInputControl, FXNumber> {
 
+  /**
+   * The compiled rule, and the annotation it has been compiled from.
+   */
+  private NumberRule rule;
+  private FXNumber ruleAnnotation;
+
   public NumberValidator() {
     super();
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
   }
   
   
+  @Override
+  public void prepare() {
+    this.ruleFor(this.annotation);
+  }
+
+  private NumberRule ruleFor(FXNumber annotation) {
+    if (this.rule == null || annotation != this.ruleAnnotation) {
+      this.rule = FXRules.ruleFor(annotation);
+      this.ruleAnnotation = annotation;
+    }
+    return this.rule;
+  }
+
   /**
    * Check whether the text input could get parsed as a number - validation gets
    * skipped if the control is either disabled or invisible.
    *
    * @param control The control
    * @param annotation The annotation
-   * @throws ValidationException Throws an exception when validation fails. The
-   *                             message of the exception should be specific
-   *                             to the reason of failure.
+   * @return The result of the validation.
    */
   @Override
-  public void validate(TextInputControl control, FXNumber annotation) throws ValidationException {
+  public ValidationResult evaluate(TextInputControl control, FXNumber annotation) {
     // shortcut: do not check if disabled.
     if (control.isDisabled()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
     if (!control.isVisible()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
 
-    boolean valid = false;
-
-    try {
-      Number n = Double.parseDouble(control.getText());
+    ValidationResult result = this.ruleFor(annotation).check(control.getText());
+    this.setValid(result.isValid());
+    return result;
+  }
 
-      valid = true;
-      if (annotation.min() != Double.MIN_VALUE) {
-        valid = valid && (n.doubleValue() >= annotation.min());
-      }
-      if (annotation.max() != Double.MAX_VALUE) {
-        valid = valid && (n.doubleValue() <= annotation.max());
-      }
-    } catch (NumberFormatException e) {
-      // nothing to do, validator remains invalid.
+  /**
+   * Capture the text for checking it off the JavaFX application thread.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return The snapshot
+   */
+  @Override
+  public ValidationSnapshot snapshot(TextInputControl control, FXNumber annotation) {
+    if (control.isDisabled() || !control.isVisible()) {
+      return ValidationSnapshot.VALID;
     }
-    this.isValid.set(valid);
+    final NumberRule snapshotRule = this.ruleFor(annotation);
+    final String text = control.getText();
+    return () -> snapshotRule.check(text);
+  }
 
-    if (!valid) {
-      throw new ValidationException(annotation.message());
+  /**
+   * Check whether the text input could get parsed as a number - validation gets
+   * skipped if the control is either disabled or invisible.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @throws ValidationException Throws an exception when validation fails. The
+   *                             message of the exception should be specific
+   *                             to the reason of failure.
+   */
+  @Override
+  public void validate(TextInputControl control, FXNumber annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
     }
   }
 
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.scene.control.Control;
+
+/**
+ * A full-form validation that runs the checks in parallel: the snapshots of
+ * all validators are taken on the JavaFX application thread, the checks run on
+ * an executor, and the results are applied on the JavaFX application thread
+ * again.
+ * <p>
+ * Cross-field rules are validators of their target controls and take part
+ * like any other validator. The item validators of TableViews and ListViews
+ * keep their state in bit sets that are updated incrementally, so they are
+ * checked on the JavaFX application thread right away; their failures are
+ * reported after the ones of the controls.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class ParallelValidation {
+
+  private static final Logger LOG = Logger.getLogger(ParallelValidation.class.getName());
+
+  /**
+   * One check: the validator, its snapshot, and the revision of the validator
+   * when the snapshot has been taken.
+   */
+  private record Check(Control control, FXAbstractValidator<?, ?> validator, int revision,
+          CompletableFuture<ValidationResult> result) {
+  }
+
+  private ParallelValidation() {
+    // static helper
+  }
+
+  /**
+   * Take the snapshots of all validators of the given controls and run their
+   * checks on the executor, and check the item validators.
+   *
+   * @param controls The validated controls
+   * @param itemValidators The item validators
+   * @param executor The executor for the checks
+   * @return The failures, completed on the JavaFX application thread.
+   */
+  static CompletableFuture<List<ValidationFailure>> run(List<Control> controls, List<FXItemValidator<?>> itemValidators,
+          Executor executor) {
+    final List<Check> checks = new ArrayList<>();
+    for (Control control : controls) {
+      List<FXAbstractValidator<?, ?>> validators = FXValidatorService.getValidators(control);
+      if (validators == null) {
+        continue;
+      }
+      for (FXAbstractValidator<?, ?> validator : validators) {
+        final ValidationSnapshot snapshot = validator.snapshot();
+        checks.add(new Check(control, validator, validator.revision,
+                CompletableFuture.supplyAsync(() -> check(snapshot), executor)));
+      }
+    }
+
+    final List<ValidationFailure> itemFailures = new ArrayList<>(0);
+    for (FXItemValidator<?> itemValidator : itemValidators) {
+      ValidationResult result = itemValidator.evaluate();
+      if (!result.isValid()) {
+        itemFailures.add(new ValidationFailure(itemValidator.getControl(), itemValidator, result));
+      }
+    }
+
+    CompletableFuture<?>[] results = new CompletableFuture<?>[checks.size()];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = checks.get(i).result();
+    }
+    return CompletableFuture.allOf(results).thenApplyAsync(ignored -> apply(checks, itemFailures), Platform::runLater);
+  }
+
+  private static ValidationResult check(ValidationSnapshot snapshot) {
+    try {
+      ValidationResult result = snapshot.check();
+      return result != null ? result : ValidationResult.invalid(null);
+    } catch (Exception ex) {
+      LOG.log(Level.SEVERE, null, ex);
+      return ValidationResult.invalid(ex.getMessage());
+    }
+  }
+
+  /**
+   * Apply the results to the validators and mark the controls with their first
+   * failure. Results of validators that have been validated again in the
+   * meantime are outdated - they are reported, but not applied.
+   *
+   * @param checks The completed checks, grouped by control.
+   * @param itemFailures The failures of the item validators
+   * @return The failures
+   */
+  private static List<ValidationFailure> apply(List<Check> checks, List<ValidationFailure> itemFailures) {
+    final List<ValidationFailure> failures = new ArrayList<>();
+    int i = 0;
+    while (i < checks.size()) {
+      final Control control = checks.get(i).control();
+      ValidationResult first = ValidationResult.VALID;
+      boolean current = control.hasProperties() && control.getProperties().containsKey(ValidationContext.KEY);
+      for (; i < checks.size() && checks.get(i).control() == control; i++) {
+        final Check check = checks.get(i);
+        final ValidationResult result = check.result().join();
+        if (!result.isValid()) {
+          failures.add(new ValidationFailure(control, check.validator(), result));
+          if (first.isValid()) {
+            first = result;
+          }
+        }
+        if (check.revision() == check.validator().revision) {
+          check.validator().setValid(result.isValid());
+        } else {
+          current = false;
+        }
+      }
+      if (current) {
+        DefaultFXValidationHandler.applyResult(control, first);
+      }
+    }
+    failures.addAll(itemFailures);
+    return Collections.unmodifiableList(failures);
+  }
+}
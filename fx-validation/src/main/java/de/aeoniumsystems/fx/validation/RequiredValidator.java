@@ -18,10 +18,11 @@
  */
 package de.aeoniumsystems.fx.validation;
 
+import de.aeoniumsystems.fx.validation.rules.RequiredRule;
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import de.aeoniumsystems.fx.validation.annotations.FXRequired;
 import javafx.scene.control.TextInputControl;
-import javafx.scene.input.KeyEvent;
 
 /**
  * Validate ttext input controls as "required", i.e., they must not be empty.
@@ -31,14 +32,31 @@ import javafx.scene.input.KeyEvent;
  */
 public class RequiredValidator extends FXAbstractValidator<TextInputControl, FXRequired> {
 
+  /**
+   * The compiled rule, and the annotation it has been compiled from.
+   */
+  private RequiredRule rule;
+  private FXRequired ruleAnnotation;
+
   public RequiredValidator() {
     super();
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
   }
 
   public RequiredValidator(TextInputControl control, FXRequired annotation) {
     super(control, annotation);
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
+  }
+
+  @Override
+  public void prepare() {
+    this.ruleFor(this.annotation);
+  }
+
+  private RequiredRule ruleFor(FXRequired annotation) {
+    if (this.rule == null || annotation != this.ruleAnnotation) {
+      this.rule = FXRules.ruleFor(annotation);
+      this.ruleAnnotation = annotation;
+    }
+    return this.rule;
   }
 
   /**
@@ -46,26 +64,56 @@ public class RequiredValidator extends FXAbstractValidator<TextInputControl, FXR
    * either disabled or invisible.
    *
    * @param control The text input control
-   * @throws de.aeoniumsystems.fx.validation.exceptions.ValidationException The
-   * exception to be thrown when the control input is not valid.
+   * @param annotation The annotation
+   * @return The result of the validation.
    */
   @Override
-  public void validate(TextInputControl control, FXRequired annotation) throws ValidationException {
+  public ValidationResult evaluate(TextInputControl control, FXRequired annotation) {
     // shortcut: do not check if disabled.
     if (control.isDisabled()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
     if (!control.isVisible()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
 
-    boolean valid = control.getText().length() > 0;
-    this.isValid.set(valid);
+    ValidationResult result = this.ruleFor(annotation).check(control.getText());
+    this.setValid(result.isValid());
+    return result;
+  }
+
+  /**
+   * Capture the text for checking it off the JavaFX application thread.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return The snapshot
+   */
+  @Override
+  public ValidationSnapshot snapshot(TextInputControl control, FXRequired annotation) {
+    if (control.isDisabled() || !control.isVisible()) {
+      return ValidationSnapshot.VALID;
+    }
+    final RequiredRule snapshotRule = this.ruleFor(annotation);
+    final String text = control.getText();
+    return () -> snapshotRule.check(text);
+  }
 
-    if (!valid) {
-      throw new ValidationException(annotation.message());
+  /**
+   * Validate a text input control - validation gets skipped if the control is
+   * either disabled or invisible.
+   *
+   * @param control The text input control
+   * @throws de.aeoniumsystems.fx.validation.exceptions.ValidationException The
+   * exception to be thrown when the control input is not valid.
+   */
+  @Override
+  public void validate(TextInputControl control, FXRequired annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
     }
   }
 }
@@ -20,9 +20,9 @@ package de.aeoniumsystems.fx.validation;
 
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
 import de.aeoniumsystems.fx.validation.annotations.FXString;
-import java.util.regex.Pattern;
+import de.aeoniumsystems.fx.validation.rules.StringRule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import javafx.scene.control.TextInputControl;
-import javafx.scene.input.KeyEvent;
 
 /**
  * Check string input, e.g., whether it fits into min and max lengths.
@@ -32,82 +32,76 @@ import javafx.scene.input.KeyEvent;
  */
 public class StringValidator extends FXAbstractValidator<TextInputControl, FXString> {
 
-  private Pattern pattern;
+  /**
+   * The compiled rule, and the annotation it has been compiled from.
+   */
+  private StringRule rule;
+  private FXString ruleAnnotation;
 
   public StringValidator() {
     super();
-    this.pattern = null;
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
+    this.rule = null;
   }
 
   public StringValidator(TextInputControl control, FXString annotation) {
     super(control, annotation);
-    this.pattern = null;
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
-    
-    if (annotation.pattern().length() > 0) {
-      this.createRegex(annotation);
-    }
+    this.rule = null;
+    this.prepare();
   }
 
-  private void createRegex(FXString annotation) {
-    this.pattern = Pattern.compile(annotation.pattern());
+  @Override
+  public void prepare() {
+    this.ruleFor(this.annotation);
+  }
+
+  private StringRule ruleFor(FXString annotation) {
+    if (this.rule == null || annotation != this.ruleAnnotation) {
+      this.rule = FXRules.ruleFor(annotation);
+      this.ruleAnnotation = annotation;
+    }
+    return this.rule;
   }
 
   @Override
-  public void validate(TextInputControl control, FXString annotation) throws ValidationException {
+  public ValidationResult evaluate(TextInputControl control, FXString annotation) {
     // shortcut: do not check if disabled.
     if (control.isDisabled()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
     if (!control.isVisible()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
 
-    boolean valid = true;
-
-    // 1. minLength?
-    if (annotation.minLength() > 0) {
-      valid = valid && control.getText().length() >= annotation.minLength();
-      
-      this.isValid.set(valid);
-      if (!valid) {
-        String msg = annotation.messageMinLength();
-        if (annotation.messageMinLength().contains("%d")) {
-          msg = String.format(annotation.messageMinLength(), annotation.minLength());
-        }
-        throw new ValidationException(msg);
-      }
-    }
+    // checks minLength, maxLength and pattern, in this order
+    ValidationResult result = this.ruleFor(annotation).check(control.getText());
+    this.setValid(result.isValid());
+    return result;
+  }
 
-    // 2. maxLength?
-    if (annotation.maxLength() > 0) {
-      valid = valid && control.getText().length() <= annotation.maxLength();
-      this.isValid.set(valid);
-      if (!valid) {
-        String msg = annotation.messageMaxLength();
-        if (annotation.messageMaxLength().contains("%d")) {
-          msg = String.format(annotation.messageMaxLength(), annotation.maxLength());
-        }
-        throw new ValidationException(msg);
-      }
+  /**
+   * Capture the text for checking it off the JavaFX application thread.
+   *
+   * @param control The control
+   * @param annotation The annotation
+   * @return The snapshot
+   */
+  @Override
+  public ValidationSnapshot snapshot(TextInputControl control, FXString annotation) {
+    if (control.isDisabled() || !control.isVisible()) {
+      return ValidationSnapshot.VALID;
     }
+    final StringRule snapshotRule = this.ruleFor(annotation);
+    final String text = control.getText();
+    return () -> snapshotRule.check(text);
+  }
 
-    // 3. pattern?
-    if (annotation.pattern().length() > 0) {
-      // check for necessary lazy initialization: 
-      if (this.pattern == null) {
-        this.createRegex(annotation);
-      }
-      
-      valid = valid && this.pattern.matcher(control.getText()).matches();
-      this.isValid.set(valid);
-      if (!valid) {
-        String msg = annotation.messagePattern();
-        throw new ValidationException(msg);
-      }
+  @Override
+  public void validate(TextInputControl control, FXString annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
     }
   }
 
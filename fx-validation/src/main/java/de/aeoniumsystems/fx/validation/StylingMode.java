@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+/**
+ * Defines how invalid controls and their labels get styled, see
+ * {@link FXValidatorService#setStylingMode(StylingMode)}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public enum StylingMode {
+
+  /**
+   * Add the style class {@link FXValidatorService#AEFX_VALIDATION_ERROR} to
+   * invalid controls and their labels, and remove it from valid ones - this is
+   * the default. Each change of the style class list makes JavaFX match the
+   * CSS rules of the node and its subtree again.
+   */
+  STYLE_CLASS,
+
+  /**
+   * Set the pseudo class {@link FXValidatorService#AEFX_INVALID}
+   * (<code>:aefx-invalid</code>) on invalid controls and their labels. Pseudo
+   * class state is a bit set of the node, so toggling it only updates the
+   * styles that depend on that state - this is much cheaper on large styled
+   * forms.
+   */
+  PSEUDO_CLASS
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.property.BooleanProperty;
+import javafx.scene.control.ButtonBase;
+import javafx.scene.control.Control;
+
+/**
+ * The validation state of one controller: its validated and checked controls,
+ * checked properties, item validators, the aggregate and the actions that undo the
+ * registrations of the annotation handlers.
+ * <p>
+ * The context does not reference the controller. The service keeps it only
+ * weakly, while the registered controls keep it strongly in their properties -
+ * so the context lives exactly as long as the form, and a controller that is
+ * no longer used gets collected together with its controls, even if
+ * {@link FXValidatorService#dispose(Object)} is never called. Until a control
+ * anchors the context, the service holds it strongly.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class ValidationContext {
+
+  /**
+   * Key of the context in the properties of the registered controls.
+   */
+  static final String KEY = ValidationContext.class.getName();
+
+  final List<Control> validatedControls = new ArrayList<>();
+
+  final List<Control> checkedControls = new ArrayList<>();
+
+  final List<BooleanProperty> checkedProperties = new ArrayList<>();
+
+  /**
+   * The validators of the items of TableViews and ListViews.
+   */
+  final List<FXItemValidator<?>> itemValidators = new ArrayList<>(0);
+
+  /**
+   * The combined validation state, created on initialization.
+   */
+  FXValidationAggregate aggregate = null;
+
+  /**
+   * The cross-field rules of the controller, wired on initialization.
+   */
+  CrossValidationGraph crossValidation = null;
+
+  /**
+   * The validation states of all validators of the controller, one bit per
+   * validator.
+   */
+  final ValidityStore validity = new ValidityStore();
+
+  private final List<Runnable> disposeActions = new ArrayList<>();
+
+  private boolean anchored = false;
+
+  /**
+   * Keep the context alive as long as the control is alive.
+   *
+   * @param control The registered control
+   */
+  void anchor(Control control) {
+    control.getProperties().put(KEY, this);
+    this.anchored = true;
+  }
+
+  /**
+   * Whether a control keeps the context alive.
+   *
+   * @return true, if a control has been anchored.
+   */
+  boolean isAnchored() {
+    return this.anchored;
+  }
+
+  /**
+   * Register an action that undoes a registration, e.g., removes a listener.
+   *
+   * @param action The action
+   */
+  void onDispose(Runnable action) {
+    this.disposeActions.add(action);
+  }
+
+  /**
+   * Remove all listeners, event handlers and bindings that have been installed
+   * for the controller, and release all references to its controls.
+   */
+  void dispose() {
+    for (Runnable action : this.disposeActions) {
+      action.run();
+    }
+    this.disposeActions.clear();
+
+    for (Control control : this.checkedControls) {
+      if (control instanceof ButtonBase buttonBase) {
+        buttonBase.disableProperty().unbind();
+      }
+      control.getProperties().remove(KEY);
+    }
+    for (BooleanProperty checkedProperty : this.checkedProperties) {
+      checkedProperty.unbind();
+    }
+
+    for (Control control : this.validatedControls) {
+      List<FXAbstractValidator<?, ?>> validators = FXValidatorService.getValidators(control);
+      if (validators != null) {
+        for (FXAbstractValidator<?, ?> validator : validators) {
+          if (this.aggregate != null) {
+            this.aggregate.remove(validator);
+          }
+          if (validator instanceof FXAsyncValidator<?, ?, ?> asyncValidator) {
+            asyncValidator.cancel();
+            asyncValidator.setOnResult(null);
+          }
+        }
+      }
+      FXValidatorService.release(control);
+      control.getProperties().remove(KEY);
+    }
+
+    for (FXItemValidator<?> itemValidator : this.itemValidators) {
+      if (this.aggregate != null) {
+        this.aggregate.remove(itemValidator);
+      }
+      FXValidatorService.release(itemValidator.getControl());
+      itemValidator.getControl().getProperties().remove(KEY);
+    }
+
+    this.checkedControls.clear();
+    this.checkedProperties.clear();
+    this.validatedControls.clear();
+    this.itemValidators.clear();
+    this.crossValidation = null;
+  }
+}
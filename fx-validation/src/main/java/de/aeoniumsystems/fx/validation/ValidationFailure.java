@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import javafx.scene.control.Control;
+
+/**
+ * A failed validation of a control, as collected by a full-form validation.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ * @param control The validated control
+ * @param validator The validator that failed
+ * @param result The failed result - this may be
+ * {@link ValidationResult#PENDING} for asynchronous validators whose check has
+ * not completed yet.
+ */
+public record ValidationFailure(Control control, FXAbstractValidator<?, ?> validator, ValidationResult result) {
+
+  /**
+   * The message to display for this failure, localized with the resource
+   * bundle of the {@link FXValidatorService}, if any.
+   *
+   * @return The message
+   */
+  public String message() {
+    return MessageResolver.resolve(result);
+  }
+}
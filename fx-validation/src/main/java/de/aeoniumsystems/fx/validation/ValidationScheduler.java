@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Control;
+
+/**
+ * Runs validation triggers according to the current {@link ValidationMode},
+ * and marks validated controls according to the current {@link MarkingMode}:
+ * either immediately, or coalesced once per pulse. In the latter case, each
+ * scene keeps a queue of dirty triggers and controls to mark that is processed
+ * by a pre-layout pulse listener - validations first, then the marks. The
+ * queue is stored in the properties of the scene, so it does not outlive the
+ * scene. A scene that is not showing gets no pulses, so its queue is drained
+ * by {@link Platform#runLater(Runnable)} instead - a hidden form must not stay
+ * stale.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class ValidationScheduler {
+
+  private static final String QUEUE_KEY = ValidationScheduler.class.getName();
+
+  private ValidationScheduler() {
+    // static helper
+  }
+
+  /**
+   * Request the validation of the given trigger.
+   *
+   * @param node The validated node - its scene determines the queue.
+   * @param trigger The trigger
+   */
+  static void schedule(Node node, ValidationTrigger trigger) {
+    if (FXValidatorService.getValidationMode() == ValidationMode.PULSE
+            && node != null && Platform.isFxApplicationThread()) {
+      Scene scene = node.getScene();
+      if (scene != null) {
+        queueOf(scene).add(trigger);
+        return;
+      }
+    }
+    trigger.fire();
+  }
+
+  /**
+   * Request the marks of the given control to be updated to its recorded
+   * validation result.
+   *
+   * @param control The validated control - its scene determines the queue.
+   */
+  static void scheduleMark(Control control) {
+    if (FXValidatorService.getMarkingMode() == MarkingMode.PULSE
+            && Platform.isFxApplicationThread()) {
+      Scene scene = control.getScene();
+      if (scene != null) {
+        queueOf(scene).add(control);
+        return;
+      }
+    }
+    DefaultFXValidationHandler.render(control);
+  }
+
+  private static SceneQueue queueOf(Scene scene) {
+    SceneQueue queue = (SceneQueue) scene.getProperties().get(QUEUE_KEY);
+    if (queue == null) {
+      queue = new SceneQueue(scene);
+      scene.getProperties().put(QUEUE_KEY, queue);
+      // the listener stays registered with the scene - removing it while the
+      // scene iterates its listeners is not supported.
+      scene.addPreLayoutPulseListener(queue);
+    }
+    return queue;
+  }
+
+  /**
+   * The dirty triggers and the controls to mark of one scene.
+   */
+  private static final class SceneQueue implements Runnable {
+
+    private final Scene scene;
+
+    private final Set<ValidationTrigger> dirty = new LinkedHashSet<>();
+
+    private final Set<Control> unmarked = new LinkedHashSet<>();
+
+    SceneQueue(Scene scene) {
+      this.scene = scene;
+    }
+
+    void add(ValidationTrigger trigger) {
+      if (this.isEmpty()) {
+        this.requestDrain();
+      }
+      this.dirty.add(trigger);
+    }
+
+    void add(Control control) {
+      if (this.isEmpty()) {
+        this.requestDrain();
+      }
+      this.unmarked.add(control);
+    }
+
+    private void requestDrain() {
+      if (this.scene.getWindow() != null && this.scene.getWindow().isShowing()) {
+        Platform.requestNextPulse();
+      } else {
+        // no pulses without a showing window - an empty queue ignores the call
+        Platform.runLater(this);
+      }
+    }
+
+    private boolean isEmpty() {
+      return this.dirty.isEmpty() && this.unmarked.isEmpty();
+    }
+
+    @Override
+    public void run() {
+      if (!this.dirty.isEmpty()) {
+        // validations may dirty further triggers - those go to the next pulse
+        List<ValidationTrigger> triggers = new ArrayList<>(this.dirty);
+        this.dirty.clear();
+        for (ValidationTrigger trigger : triggers) {
+          trigger.fire();
+        }
+      }
+      if (!this.unmarked.isEmpty()) {
+        List<Control> controls = new ArrayList<>(this.unmarked);
+        this.unmarked.clear();
+        for (Control control : controls) {
+          // skip controls that have been disposed in the meantime
+          if (control.getProperties().containsKey(ValidationContext.KEY)) {
+            DefaultFXValidationHandler.render(control);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+
+/**
+ * The checking part of a validation, bound to an immutable snapshot of the
+ * values it depends on. A snapshot is taken on the JavaFX application thread
+ * by {@link FXAbstractValidator#snapshot()}, while {@link #check()} must not
+ * access the scene graph - so it may run on any thread, see
+ * {@link FXValidatorService#validateParallel(Object)}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@FunctionalInterface
+public interface ValidationSnapshot {
+
+  /**
+   * The snapshot of a control that is not validated at all, e.g., since it is
+   * disabled.
+   */
+  ValidationSnapshot VALID = () -> ValidationResult.VALID;
+
+  /**
+   * Check the captured values.
+   *
+   * @return The result, never <code>null</code>.
+   * @throws Exception If the check fails for technical reasons - this counts
+   * as a failed validation.
+   */
+  ValidationResult check() throws Exception;
+}
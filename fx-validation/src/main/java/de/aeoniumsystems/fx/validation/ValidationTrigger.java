@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.List;
+import java.util.Objects;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+
+/**
+ * Triggers the validation of a control when one of the dependencies declared
+ * by its validator changes. The trigger remembers the values the last
+ * validation has been run with, so the validation runs at most once per actual
+ * change - no matter how many events (value changes, focus changes, key events)
+ * end up in {@link #fire()}. Changes of the dependencies are passed to the
+ * {@link ValidationScheduler}, which either fires the trigger immediately or
+ * once per pulse.
+ * <p>
+ * A trigger created without dependencies is not gated: it runs its
+ * validation on each {@link #fire()}, and the validation itself decides what
+ * is stale - e.g., the cross-field rules from their dirty bits, which must
+ * not be dropped when a value changes back within one pulse.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class ValidationTrigger implements InvalidationListener {
+
+  /**
+   * Marker for "not validated yet" - never equals any dependency value.
+   */
+  private static final Object UNSET = new Object();
+
+  private final Node node;
+
+  private final ObservableValue<?>[] dependencies;
+
+  private final Object[] lastValues;
+
+  private final Runnable validation;
+
+  private final boolean gated;
+
+  private boolean disposed = false;
+
+  /**
+   * Create a trigger.
+   *
+   * @param node The validated node
+   * @param dependencies The observable values the validation depends on
+   * @param validation The validation to run
+   */
+  ValidationTrigger(Node node, List<ObservableValue<?>> dependencies, Runnable validation) {
+    this.node = node;
+    this.dependencies = dependencies.toArray(new ObservableValue<?>[dependencies.size()]);
+    this.lastValues = new Object[this.dependencies.length];
+    this.validation = validation;
+    this.gated = true;
+    this.reset();
+  }
+
+  /**
+   * Create a trigger that is not gated by dependency values.
+   *
+   * @param node The validated node
+   * @param validation The validation to run on each {@link #fire()}
+   */
+  ValidationTrigger(Node node, Runnable validation) {
+    this.node = node;
+    this.dependencies = new ObservableValue<?>[0];
+    this.lastValues = new Object[0];
+    this.validation = validation;
+    this.gated = false;
+  }
+
+  /**
+   * Start listening to the dependencies.
+   */
+  void install() {
+    for (ObservableValue<?> dependency : this.dependencies) {
+      dependency.addListener(this);
+    }
+  }
+
+  /**
+   * Stop listening to the dependencies.
+   */
+  void uninstall() {
+    for (ObservableValue<?> dependency : this.dependencies) {
+      dependency.removeListener(this);
+    }
+  }
+
+  /**
+   * Stop listening for good - a trigger that is still queued in the
+   * scheduler does not validate anymore.
+   */
+  void dispose() {
+    this.uninstall();
+    this.disposed = true;
+  }
+
+  /**
+   * Forget the last validated values, so the next {@link #fire()} validates in
+   * any case.
+   */
+  void reset() {
+    for (int i = 0; i < this.lastValues.length; i++) {
+      this.lastValues[i] = UNSET;
+    }
+  }
+
+  @Override
+  public void invalidated(Observable observable) {
+    this.request();
+  }
+
+  /**
+   * Request the validation from the scheduler, according to the current
+   * {@link ValidationMode}.
+   */
+  void request() {
+    ValidationScheduler.schedule(this.node, this);
+  }
+
+  /**
+   * Run the validation if any dependency has changed since the last run, or if
+   * the validation has not been run yet. A trigger that is not gated always
+   * runs the validation.
+   */
+  void fire() {
+    if (!this.disposed && (!this.gated || this.isStale())) {
+      this.validation.run();
+    }
+  }
+
+  /**
+   * Compare all dependencies against the last validated values and remember
+   * the current ones. Note that all dependencies have to be read, since an
+   * invalidated property only notifies its listeners again after it has been
+   * read.
+   *
+   * @return true, if any dependency has changed.
+   */
+  private boolean isStale() {
+    boolean stale = false;
+    for (int i = 0; i < this.dependencies.length; i++) {
+      final Object value = this.dependencies[i].getValue();
+      if (!Objects.equals(value, this.lastValues[i])) {
+        this.lastValues[i] = value;
+        stale = true;
+      }
+    }
+    return stale;
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.Arrays;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * The observable view of the validation state of a validator, see
+ * {@link FXAbstractValidator#isValidProperty()}. The state itself stays in the
+ * validator - a bit in the {@link ValidityStore} of the controller - so the
+ * view is only created when somebody observes or binds the state, and holds
+ * nothing but the listeners and the binding.
+ * <p>
+ * Unlike the JavaFX properties, invalidation listeners are notified on each
+ * change, and a binding is evaluated eagerly.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class ValidityProperty extends BooleanProperty {
+
+  private static final Object[] NO_LISTENERS = new Object[0];
+
+  private final FXAbstractValidator<?, ?> validator;
+
+  /**
+   * The invalidation and change listeners, copied on write.
+   */
+  private Object[] listeners = NO_LISTENERS;
+
+  private ObservableValue<? extends Boolean> source = null;
+
+  /**
+   * Updates the state when the source changes - only weakly referenced by the
+   * source, so the source does not keep the validator alive.
+   */
+  private InvalidationListener sourceUpdate = null;
+
+  private WeakInvalidationListener sourceListener = null;
+
+  ValidityProperty(FXAbstractValidator<?, ?> validator) {
+    this.validator = validator;
+  }
+
+  /**
+   * Whether listeners or a binding have been added.
+   *
+   * @return true, if the property is observed or bound.
+   */
+  boolean isObservable() {
+    return this.listeners.length > 0 || this.source != null;
+  }
+
+  /**
+   * Notify the listeners of a transition of the state.
+   *
+   * @param valid The new state
+   */
+  void fireTransition(boolean valid) {
+    for (Object listener : this.listeners) {
+      if (listener instanceof InvalidationListener invalidationListener) {
+        invalidationListener.invalidated(this);
+      } else {
+        @SuppressWarnings("unchecked")
+        ChangeListener<? super Boolean> changeListener = (ChangeListener<? super Boolean>) listener;
+        changeListener.changed(this, !valid, valid);
+      }
+    }
+  }
+
+  @Override
+  public boolean get() {
+    return this.validator.isValid();
+  }
+
+  @Override
+  public void set(boolean valid) {
+    this.validator.setValid(valid);
+  }
+
+  @Override
+  public void bind(ObservableValue<? extends Boolean> observable) {
+    if (observable == null) {
+      throw new NullPointerException("Cannot bind to null");
+    }
+    this.unbind();
+    this.source = observable;
+    this.sourceUpdate = o -> this.validator.updateValid(Boolean.TRUE.equals(observable.getValue()));
+    this.sourceListener = new WeakInvalidationListener(this.sourceUpdate);
+    observable.addListener(this.sourceListener);
+    this.validator.updateValid(Boolean.TRUE.equals(observable.getValue()));
+  }
+
+  @Override
+  public void unbind() {
+    if (this.source != null) {
+      this.source.removeListener(this.sourceListener);
+      this.source = null;
+      this.sourceUpdate = null;
+      this.sourceListener = null;
+    }
+  }
+
+  @Override
+  public boolean isBound() {
+    return this.source != null;
+  }
+
+  @Override
+  public Object getBean() {
+    return null;
+  }
+
+  @Override
+  public String getName() {
+    return "";
+  }
+
+  @Override
+  public void addListener(ChangeListener<? super Boolean> listener) {
+    this.add(listener);
+  }
+
+  @Override
+  public void removeListener(ChangeListener<? super Boolean> listener) {
+    this.remove(listener);
+  }
+
+  @Override
+  public void addListener(InvalidationListener listener) {
+    this.add(listener);
+  }
+
+  @Override
+  public void removeListener(InvalidationListener listener) {
+    this.remove(listener);
+  }
+
+  private void add(Object listener) {
+    if (listener == null) {
+      throw new NullPointerException("Listener must not be null.");
+    }
+    Object[] grown = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+    grown[this.listeners.length] = listener;
+    this.listeners = grown;
+  }
+
+  private void remove(Object listener) {
+    for (int i = 0; i < this.listeners.length; i++) {
+      if (this.listeners[i].equals(listener)) {
+        Object[] shrunk = new Object[this.listeners.length - 1];
+        System.arraycopy(this.listeners, 0, shrunk, 0, i);
+        System.arraycopy(this.listeners, i + 1, shrunk, i, shrunk.length - i);
+        this.listeners = shrunk.length > 0 ? shrunk : NO_LISTENERS;
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+/**
+ * The validation states of the validators of one controller, as one primitive
+ * bit set indexed by validator slot. Validators get a slot when the controller
+ * is initialized, see {@link ValidityProperty}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class ValidityStore {
+
+  private long[] bits = new long[1];
+
+  private int size = 0;
+
+  /**
+   * Allocate a slot.
+   *
+   * @param valid The initial state
+   * @return The slot
+   */
+  int allocate(boolean valid) {
+    final int slot = this.size++;
+    if ((slot >> 6) >= this.bits.length) {
+      long[] grown = new long[this.bits.length * 2];
+      System.arraycopy(this.bits, 0, grown, 0, this.bits.length);
+      this.bits = grown;
+    }
+    this.set(slot, valid);
+    return slot;
+  }
+
+  boolean get(int slot) {
+    return (this.bits[slot >> 6] & (1L << slot)) != 0;
+  }
+
+  void set(int slot, boolean valid) {
+    if (valid) {
+      this.bits[slot >> 6] |= 1L << slot;
+    } else {
+      this.bits[slot >> 6] &= ~(1L << slot);
+    }
+  }
+
+  /**
+   * The number of allocated slots.
+   *
+   * @return The size
+   */
+  int size() {
+    return this.size;
+  }
+}
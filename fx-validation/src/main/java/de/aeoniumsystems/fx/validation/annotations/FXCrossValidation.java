@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.annotations;
+
+import de.aeoniumsystems.fx.validation.FXValidatorService;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation for rules that span several fields of a controller, like
+ * "end date after start date" or "field B is required if checkbox A is
+ * selected". Annotate a method of the controller that takes no arguments and
+ * returns <code>true</code> if the fields are valid:
+ * <pre>
+ * {@literal @}FXCrossValidation(fields = {"startDate", "endDate"}, target = "endDate",
+ *         message = "The end must not be before the start.")
+ * private boolean endAfterStart() {
+ *   return endDate.getValue() == null || startDate.getValue() == null
+ *           || !endDate.getValue().isBefore(startDate.getValue());
+ * }
+ * </pre>
+ * <p>
+ * The rules are wired by {@link FXValidatorService#initialize(Object)}: a rule
+ * runs whenever one of its fields changes, and after each rule it depends on,
+ * see {@link #dependsOn()}. The rules affected by a change run once each, in
+ * topological order. Cyclic dependencies are rejected at wiring time.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FXCrossValidation {
+
+  /**
+   * The name of the rule, for referencing it in {@link #dependsOn()}.
+   *
+   * @return The name, or an empty string for the name of the method.
+   */
+  public String name() default "";
+
+  /**
+   * The names of the controller fields the rule reads: controls with a value,
+   * e.g. text fields, combo boxes, check boxes, or observable values.
+   *
+   * @return The field names
+   */
+  public String[] fields();
+
+  /**
+   * The names of other cross-field rules of the controller this rule depends
+   * on: it runs after them, whenever they run.
+   *
+   * @return The rule names
+   */
+  public String[] dependsOn() default {};
+
+  /**
+   * The name of the field of the control that gets marked if the rule fails.
+   *
+   * @return The field name, or an empty string for the first of the
+   * {@link #fields()}.
+   */
+  public String target() default "";
+
+  /**
+   * Use this attribute to provide a custom message, or, use a key of your
+   * resource bundle, if you initialized the {@link FXValidatorService} with a
+   * resource bundle (see {@link FXValidatorService#setBundle(java.util.ResourceBundle)}.
+   *
+   * @return The default message or a key for the resource bundle.
+   */
+  public String message() default "The fields do not match!";
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.annotations;
+
+import de.aeoniumsystems.fx.validation.FXItemValidator;
+import de.aeoniumsystems.fx.validation.FXValidatorService;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation for validating the items of a TableView or ListView:
+ * since cells are recycled, the rules run against the backing items instead of
+ * the cell controls. Annotate a method of the controller that takes one item
+ * and returns <code>true</code> if the item is valid:
+ * <pre>
+ * {@literal @}FXItemValidation(items = "orderTable", column = "quantity",
+ *         message = "The quantity must be positive.")
+ * private boolean positiveQuantity(Order order) {
+ *   return order.getQuantity() &gt; 0;
+ * }
+ * </pre>
+ * <p>
+ * The rules are wired by {@link FXValidatorService#initialize(Object)}, see
+ * {@link FXItemValidator}. Rows with invalid items, and cells of the given
+ * column, get the pseudo class {@link FXValidatorService#AEFX_INVALID}.</p>
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FXItemValidation {
+
+  /**
+   * The name of the controller field of the TableView or ListView.
+   *
+   * @return The field name
+   */
+  public String items();
+
+  /**
+   * The id of the TableColumn whose cells get marked if the rule fails.
+   *
+   * @return The column id, or an empty string for marking the row only.
+   */
+  public String column() default "";
+
+  /**
+   * Use this attribute to provide a custom message, or, use a key of your
+   * resource bundle, if you initialized the {@link FXValidatorService} with a
+   * resource bundle (see {@link FXValidatorService#setBundle(java.util.ResourceBundle)}.
+   *
+   * @return The default message or a key for the resource bundle.
+   */
+  public String message() default "Invalid entry!";
+}
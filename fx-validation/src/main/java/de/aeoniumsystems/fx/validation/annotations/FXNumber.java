@@ -46,4 +46,34 @@ public @interface FXNumber{
   public double max() default Double.MAX_VALUE;
 
   public String message() default "This field must be a number!";
+
+  /**
+   * Accept integer values only. Like numeric values, text is checked by its
+   * value: "4.0" and "4e2" are integers, "4.2" is not.
+   *
+   * @return Whether only integers are valid
+   */
+  public boolean integer() default false;
+
+  /**
+   * The maximum number of fraction digits, e.g., 2 for amounts of money.
+   * Trailing zeros and the exponent count like in
+   * {@link java.math.BigDecimal#stripTrailingZeros()}: "1.50" has one fraction
+   * digit, "1.5e-3" has four. The default -1 does not limit the fraction
+   * digits.
+   *
+   * @return The scale
+   */
+  public int scale() default -1;
+
+  /**
+   * The language tag of the locale whose decimal and grouping separators are
+   * accepted, e.g., "de-DE" for input like "1.234,56". Digit groups must have
+   * the grouping size of the locale, so "1.5" is invalid for "de-DE". By
+   * default, the decimal separator is '.' and grouping separators are not
+   * accepted.
+   *
+   * @return The language tag
+   */
+  public String locale() default "";
 }
@@ -72,6 +72,43 @@ public @interface FXString {
    */
   public String pattern() default "";
 
+  /**
+   * Compile flags for the regex pattern, e.g.,
+   * <code>Pattern.CASE_INSENSITIVE</code>. Patterns get compiled once and are
+   * shared by all validators with the same pattern and flags.
+   *
+   * @see java.util.regex.Pattern#compile(String, int)
+   * @return The flags
+   */
+  public int flags() default 0;
+
+  /**
+   * How the pattern gets matched. With {@link MatchMode#STANDARD}, a
+   * pathological pattern and a long input can block the UI thread - prefer
+   * {@link MatchMode#GUARDED} or {@link MatchMode#LINEAR} for input of
+   * arbitrary length.
+   *
+   * @return The match mode
+   */
+  public MatchMode matchMode() default MatchMode.STANDARD;
+
+  /**
+   * The base step budget of a single match in {@link MatchMode#GUARDED} mode,
+   * i.e., the number of characters the regex engine may read in addition to
+   * {@link #matchBudgetPerChar()} reads per input character.
+   *
+   * @return The budget
+   */
+  public int matchBudget() default 100_000;
+
+  /**
+   * The step budget per input character in {@link MatchMode#GUARDED} mode, so
+   * that long input against a linear pattern is not aborted.
+   *
+   * @return The budget per character
+   */
+  public int matchBudgetPerChar() default 16;
+
   /**
    * Message displayed when minimum length is not reached - you can use %d as
    * placeholder for the actual value.
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.annotations;
+
+/**
+ * How a string pattern gets matched, see {@link FXString#matchMode()}.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+public enum MatchMode {
+
+  /**
+   * Plain <code>java.util.regex</code> matching, without limits.
+   */
+  STANDARD,
+
+  /**
+   * <code>java.util.regex</code> matching with a step budget: a match that
+   * exceeds {@link FXString#matchBudget()} gets aborted and counts as a
+   * mismatch.
+   */
+  GUARDED,
+
+  /**
+   * Matching with a linear-time automaton, which cannot backtrack at all.
+   * Patterns that the automaton does not support, e.g., with backreferences
+   * or lookaround, fall back to {@link #GUARDED}.
+   */
+  LINEAR
+}
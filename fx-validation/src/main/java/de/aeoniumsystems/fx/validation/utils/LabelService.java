@@ -20,10 +20,13 @@ package de.aeoniumsystems.fx.validation.utils;
 
 import de.aeoniumsystems.fx.validation.FXValidatorService;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.ObservableList;
+import javafx.event.EventHandler;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.Parent;
@@ -35,22 +38,32 @@ import javafx.scene.control.TitledPane;
 import javafx.scene.input.MouseEvent;
 
 /**
- * The label service provides a lookup map for labels placed in several scenes that are assigned to controls via
- * labelFor attribute. The label service is also used by the validator service.
+ * The label service provides a lookup for labels placed in several scenes that are assigned to controls via labelFor
+ * attribute. The label service is also used by the validator service.
+ * <p>
+ * The service keeps no static state: the labels of a node are stored in the properties of the node, and each scene
+ * keeps an index of its registered labels in its own properties. A label that leaves its scene is removed from the
+ * index of that scene, so the footprint of the service is bounded by the live scene graph.</p>
  *
  * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
- * @version 1.1
+ * @version 1.2
  */
 public class LabelService {
 
-  private static final Map<Node, List<Label>> LABELS_FOR_NODE_MAP = new HashMap<>();
-  private static final Map<Label, Scene> SCENE_TO_LABEL_MAP = new HashMap<>();
-  private static final Map<Scene, List<Node>> NODES_TO_SCENE_MAP = new HashMap<>();
+  /**
+   * Key of the label list in the properties of a labelled node.
+   */
+  private static final String LABELS_KEY = LabelService.class.getName() + ".labels";
+
+  /**
+   * Key of the label index in the properties of a scene.
+   */
+  private static final String SCENE_INDEX_KEY = LabelService.class.getName() + ".sceneIndex";
 
   /**
-   * This map keeps label lists for the scenes.
+   * Key of the registration in the properties of a label - also marks the label as registered.
    */
-  private static final Map<Scene, List<Label>> LABELS_FOR_SCENE_MAP = new HashMap<>();
+  private static final String REGISTRATION_KEY = LabelService.class.getName() + ".registration";
 
   /**
    * Find the first label that is a label for this control.
@@ -61,15 +74,11 @@ public class LabelService {
    */
   @Deprecated
   public static Label getLabelFor(Node node) {
-    List<Label> list = LABELS_FOR_NODE_MAP.get(node);
-    if (list != null) {
-      if (!list.isEmpty()) {
-        return list.get(0);
-      }
-      return null;
-    } else {
-      return null;
+    List<Label> list = getLabelsFor(node);
+    if (list != null && !list.isEmpty()) {
+      return list.get(0);
     }
+    return null;
   }
 
   /**
@@ -78,8 +87,23 @@ public class LabelService {
    * @param node The node to search labels for.
    * @return A list of labels that reference the node, may return <code>null</code>.
    */
+  @SuppressWarnings("unchecked")
   public static List<Label> getLabelsFor(Node node) {
-    return LABELS_FOR_NODE_MAP.get(node);
+    if (!node.hasProperties()) {
+      return null;
+    }
+    return (List<Label>) node.getProperties().get(LABELS_KEY);
+  }
+
+  /**
+   * Get all registered labels of the given scene.
+   *
+   * @param scene The scene
+   * @return An unmodifiable view of the labels, in registration order.
+   */
+  public static Set<Label> getLabels(Scene scene) {
+    Set<Label> index = indexOf(scene, false);
+    return index != null ? Collections.unmodifiableSet(index) : Collections.emptySet();
   }
 
   /**
@@ -87,7 +111,7 @@ public class LabelService {
    * <ul>
    * <li>find all labels in the scene, </li>
    * <li>loop over the list of found labels and check for a 'Label for'-reference, </li>
-   * <li>and, if found, put it in the internal map, set cursor style and add a click handler that lets the user focus
+   * <li>and, if found, register it with the node, set cursor style and add a click handler that lets the user focus
    * the node by clicking it's label.</li>
    * <li></li>
    * </ul>
@@ -99,70 +123,169 @@ public class LabelService {
   }
 
   /**
-   * Initialize all labels that are registered as label for a node.
+   * Initialize all labels that are registered as label for a node. The method can be executed several times on the
+   * same scene/node, each label gets registered only once.
    *
    * @since 1.1 Bind label's disable property to disabled property of node.
    * @see #initialize(Scene scene)
    * @param root The root node to scan from
    */
   public static void initialize(Parent root) {
-    Scene scene = root.getScene();
-    List<Node> list = NODES_TO_SCENE_MAP.get(scene);
-    if (list == null) {
-      list = new ArrayList<>();
-      NODES_TO_SCENE_MAP.put(scene, list);
+    List<Label> labels = new ArrayList<>();
+    findLabels(root.getChildrenUnmodifiable(), labels);
+
+    for (Label label : labels) {
+      initialize(label);
     }
+  }
 
-    findLabels(scene, root.getChildrenUnmodifiable(), list);
+  /**
+   * Initialize the labels in the given tree once, and keep the labels up to date afterwards: the service watches the
+   * children of all parents in the tree, the tabs of tab panes and the contents of tabs and titled panes, and indexes
+   * only the nodes that get added or removed - so, e.g., lazily loaded tab content gets wired up without a rescan of the
+   * tree.
+   *
+   * @param root The root node to scan from and to watch.
+   */
+  public static void watch(Parent root) {
+    LabelWatcher.watch(root);
+  }
 
-    List<Label> labelList = LABELS_FOR_SCENE_MAP.get(scene);
-    for (Label label : labelList) {
-      if (label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_MSG)) {
-        label.setVisible(false);
-        label.setManaged(false);
-      }
-      final Node labelFor = label.getLabelFor();
-      if (labelFor != null) {
+  /**
+   * Stop watching the given tree, the registered labels stay registered.
+   *
+   * @param root The root node passed to {@link #watch(Parent)}
+   */
+  public static void unwatch(Parent root) {
+    LabelWatcher.unwatch(root);
+  }
 
-        List<Label> nodelabelList = LABELS_FOR_NODE_MAP.get(labelFor);
-        if (nodelabelList == null) {
-          nodelabelList = new ArrayList<>();
-          LABELS_FOR_NODE_MAP.put(labelFor, nodelabelList);
-        }
-        nodelabelList.add(label);
+  /**
+   * Initialize a single label: hide it, if it is a validation message label of a control that is not marked as
+   * invalid, and register it. A message label that is re-added together with its invalid control, e.g., when a row of
+   * a form is moved, keeps showing the message.
+   *
+   * @param label The label
+   */
+  static void initialize(Label label) {
+    if (label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_MSG) && !isMarkedInvalid(label.getLabelFor())) {
+      label.setVisible(false);
+      label.setManaged(false);
+    }
+    register(label);
+  }
+
+  private static boolean isMarkedInvalid(Node node) {
+    return node != null
+            && (node.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)
+            || node.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+  }
+
+  /**
+   * Register a single label: if it is a label for a node, add it to the labels of the node and to the index of its
+   * scene, and install the focus handler. Registering a label twice has no effect.
+   *
+   * @param label The label
+   */
+  public static void register(Label label) {
+    final Node labelFor = label.getLabelFor();
+    if (labelFor == null || (label.hasProperties() && label.getProperties().containsKey(REGISTRATION_KEY))) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Label> nodeLabelList = (List<Label>) labelFor.getProperties().get(LABELS_KEY);
+    if (nodeLabelList == null) {
+      nodeLabelList = new ArrayList<>(1);
+      labelFor.getProperties().put(LABELS_KEY, nodeLabelList);
+    }
+    nodeLabelList.add(label);
+
+    label.setCursor(Cursor.HAND);
+    label.disableProperty().bind(labelFor.disabledProperty());
+
+    Registration registration = new Registration(label, labelFor);
+    label.addEventFilter(MouseEvent.MOUSE_CLICKED, registration.clickHandler);
+    label.sceneProperty().addListener(registration.sceneListener);
+    label.getProperties().put(REGISTRATION_KEY, registration);
+
+    if (label.getScene() != null) {
+      indexOf(label.getScene(), true).add(label);
+    }
+  }
 
-        label.setCursor(Cursor.HAND);
-        label.disableProperty().bind(labelFor.disabledProperty());
-        label.addEventFilter(MouseEvent.MOUSE_CLICKED, (MouseEvent event) -> {
-          labelFor.requestFocus();
-        });
+  /**
+   * Unregister a single label, and remove the bindings and handlers the service has installed on it.
+   *
+   * @param label The label
+   */
+  public static void unregister(Label label) {
+    if (!label.hasProperties()) {
+      return;
+    }
+    Registration registration = (Registration) label.getProperties().remove(REGISTRATION_KEY);
+    if (registration == null) {
+      return;
+    }
+
+    label.disableProperty().unbind();
+    label.removeEventFilter(MouseEvent.MOUSE_CLICKED, registration.clickHandler);
+    label.sceneProperty().removeListener(registration.sceneListener);
+
+    List<Label> nodeLabelList = getLabelsFor(registration.labelFor);
+    if (nodeLabelList != null) {
+      // a new list, so the marks recorded for the old labels are outdated
+      List<Label> remaining = new ArrayList<>(nodeLabelList);
+      remaining.remove(label);
+      if (remaining.isEmpty()) {
+        registration.labelFor.getProperties().remove(LABELS_KEY);
+      } else {
+        registration.labelFor.getProperties().put(LABELS_KEY, remaining);
+      }
+    }
+
+    if (label.getScene() != null) {
+      Set<Label> index = indexOf(label.getScene(), false);
+      if (index != null) {
+        index.remove(label);
       }
     }
   }
 
   /**
-   * Iterate through the children and their children, and collect all label nodes in the internal labels map. The method
-   * checks whether a label is already an element of the list and inserts the label only once. Hence, the method can be
-   * executed several times on the same scene/node.
+   * Unregister the labels of the given node, and remove the bindings and handlers the service has installed on them.
+   *
+   * @param node The node to release the labels of.
+   */
+  public static void release(Node node) {
+    List<Label> labels = getLabelsFor(node);
+    if (labels == null) {
+      return;
+    }
+    for (Label label : new ArrayList<>(labels)) {
+      unregister(label);
+    }
+  }
+
+  /**
+   * Iterate through the children and their children, and collect all label nodes.
    *
    * <p>
    * Special treatment is required in this method for TabPane, since the Tab instances are not elements or the children
    * collection. </p>
    *
    * @param children List of child nodes
-   * @param list .
+   * @param labels The list of labels found
    */
-  private static void findLabels(ObservableList<Node> children, List<Node> list) {
+  private static void findLabels(ObservableList<Node> children, List<Label> labels) {
     for (Node node : children) {
       if (node instanceof Label) {
-        Label label = (Label) node;
-        final Scene scene = getSceneOf(label);
-        collectLabelInSceneMap(scene, label);
+        labels.add((Label) node);
       }
 
       if (node instanceof Parent) {
         Parent parent = (Parent) node;
-        findLabels(parent.getChildrenUnmodifiable(), list);
+        findLabels(parent.getChildrenUnmodifiable(), labels);
       }
 
       if (node instanceof TabPane) {
@@ -171,7 +294,7 @@ public class LabelService {
         for (Tab tab : tabPane.getTabs()) {
           if (tab.getContent() instanceof Parent) {
             Parent p = (Parent) tab.getContent();
-            findLabels(p.getChildrenUnmodifiable(), list);
+            findLabels(p.getChildrenUnmodifiable(), labels);
           }
         }
       } else if (node instanceof TitledPane) {
@@ -180,79 +303,50 @@ public class LabelService {
         if (content instanceof Parent) {
           Parent parent = (Parent) content;
 
-          findLabels(parent.getChildrenUnmodifiable(), list);
+          findLabels(parent.getChildrenUnmodifiable(), labels);
         }
       }
     }
   }
 
-  private static void collectLabelInSceneMap(final Scene scene, Label label) {
-    List<Label> labelList = LABELS_FOR_SCENE_MAP.get(scene);
-    if (labelList == null) {
-      labelList = new ArrayList<>();
-      LABELS_FOR_SCENE_MAP.put(scene, labelList);
-    }
-
-    if (!labelList.contains(label)) {
-      labelList.add(label);
+  @SuppressWarnings("unchecked")
+  private static Set<Label> indexOf(Scene scene, boolean create) {
+    Set<Label> index = (Set<Label>) scene.getProperties().get(SCENE_INDEX_KEY);
+    if (index == null && create) {
+      index = new LinkedHashSet<>();
+      scene.getProperties().put(SCENE_INDEX_KEY, index);
     }
+    return index;
   }
 
   /**
-   * A variant of findLabels that tracks the scene in the parameter list - normally each node in the scene should know
-   * it's scene, but ist seems like node in a TitledPane does not.
-   *
-   * @param scene The current scene
-   * @param children Observable list of child nodes
-   * @param list .
+   * The handlers installed on a registered label. The scene listener moves the label from the index of its old scene
+   * to the index of its new one - or just removes it, if the label has been detached.
    */
-  private static void findLabels(Scene scene, ObservableList<Node> children, List<Node> list) {
-    for (Node node : children) {
-      if (node instanceof Label) {
-        Label label = (Label) node;
-        collectLabelInSceneMap(scene, label);
-      }
+  private static final class Registration {
 
-      if (node instanceof Parent) {
-        Parent parent = (Parent) node;
-        findLabels(scene, parent.getChildrenUnmodifiable(), list);
-      }
+    private final Node labelFor;
 
-      if (node instanceof TabPane) {
-        TabPane tabPane = (TabPane) node;
+    private final EventHandler<MouseEvent> clickHandler;
 
-        for (Tab tab : tabPane.getTabs()) {
-          if (tab.getContent() instanceof Parent) {
-            Parent p = (Parent) tab.getContent();
-            findLabels(scene, p.getChildrenUnmodifiable(), list);
-          }
-        }
-      } else if (node instanceof TitledPane) {
-        TitledPane titledPane = (TitledPane) node;
-        final Node content = titledPane.getContent();
-        if (content instanceof Parent) {
-          Parent parent = (Parent) content;
+    private final ChangeListener<Scene> sceneListener;
 
-          findLabels(scene, parent.getChildrenUnmodifiable(), list);
+    Registration(Label label, Node labelFor) {
+      this.labelFor = labelFor;
+      this.clickHandler = (MouseEvent event) -> {
+        labelFor.requestFocus();
+      };
+      this.sceneListener = (observable, oldScene, newScene) -> {
+        if (oldScene != null) {
+          Set<Label> index = indexOf(oldScene, false);
+          if (index != null) {
+            index.remove(label);
+          }
         }
-      }
-    }
-  }
-
-  private static Scene getSceneOf(Node node) {
-    Scene scene = node.getScene();
-    if (scene == null) {
-      Parent parent = node.getParent();
-      int n = 0;
-      while (parent != null) {
-        if (parent.getScene() != null) {
-          return parent.getScene();
+        if (newScene != null) {
+          indexOf(newScene, true).add(label);
         }
-        n++;
-        parent = parent.getParent();
-      }
+      };
     }
-    return scene;
   }
-
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.utils;
+
+import java.util.List;
+import java.util.Map;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TitledPane;
+
+/**
+ * Keeps the label service up to date with a changing scene graph. The tree is
+ * scanned once; afterwards, only added and removed subtrees get (un)indexed.
+ * The listeners are stateless and shared by all watched nodes, a watched node
+ * is marked in its properties.
+ *
+ * @author Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;
+ */
+final class LabelWatcher {
+
+  /**
+   * Marker for watched nodes and tabs.
+   */
+  private static final String WATCHED_KEY = LabelWatcher.class.getName();
+
+  private static final ListChangeListener<Node> CHILDREN_LISTENER = (ListChangeListener.Change<? extends Node> change) -> {
+    while (change.next()) {
+      for (Node removed : change.getRemoved()) {
+        // a node that has only been moved, e.g., by setAll(), keeps its labels
+        if (removed.getParent() == null) {
+          release(removed);
+        }
+      }
+      for (Node added : change.getAddedSubList()) {
+        index(added);
+      }
+    }
+  };
+
+  private static final ListChangeListener<Tab> TABS_LISTENER = (ListChangeListener.Change<? extends Tab> change) -> {
+    while (change.next()) {
+      for (Tab removed : change.getRemoved()) {
+        releaseTab(removed);
+      }
+      for (Tab added : change.getAddedSubList()) {
+        indexTab(added);
+      }
+    }
+  };
+
+  private static final ChangeListener<Node> CONTENT_LISTENER = (observable, oldContent, newContent) -> {
+    if (oldContent != null) {
+      release(oldContent);
+    }
+    if (newContent != null) {
+      index(newContent);
+    }
+  };
+
+  private LabelWatcher() {
+    // static helper
+  }
+
+  static void watch(Parent root) {
+    index(root);
+  }
+
+  static void unwatch(Parent root) {
+    visit(root, false);
+  }
+
+  /**
+   * Register the labels of an added subtree and watch it.
+   */
+  private static void index(Node node) {
+    visit(node, true);
+  }
+
+  /**
+   * Unregister the labels of a removed subtree and stop watching it.
+   */
+  private static void release(Node node) {
+    visit(node, false);
+    unregisterLabels(node);
+  }
+
+  private static void visit(Node node, boolean watch) {
+    if (watch) {
+      if (!mark(node.getProperties())) {
+        return;
+      }
+      if (node instanceof Label label) {
+        LabelService.initialize(label);
+      }
+    } else if (!node.hasProperties() || !unmark(node.getProperties())) {
+      return;
+    }
+
+    if (node instanceof Parent parent) {
+      if (watch) {
+        parent.getChildrenUnmodifiable().addListener(CHILDREN_LISTENER);
+      } else {
+        parent.getChildrenUnmodifiable().removeListener(CHILDREN_LISTENER);
+      }
+      for (Node child : parent.getChildrenUnmodifiable()) {
+        visit(child, watch);
+      }
+    }
+
+    if (node instanceof TabPane tabPane) {
+      if (watch) {
+        tabPane.getTabs().addListener(TABS_LISTENER);
+      } else {
+        tabPane.getTabs().removeListener(TABS_LISTENER);
+      }
+      for (Tab tab : tabPane.getTabs()) {
+        visitTab(tab, watch);
+      }
+
+    } else if (node instanceof TitledPane titledPane) {
+      if (watch) {
+        titledPane.contentProperty().addListener(CONTENT_LISTENER);
+      } else {
+        titledPane.contentProperty().removeListener(CONTENT_LISTENER);
+      }
+      if (titledPane.getContent() != null) {
+        visit(titledPane.getContent(), watch);
+      }
+    }
+  }
+
+  private static void indexTab(Tab tab) {
+    visitTab(tab, true);
+  }
+
+  private static void releaseTab(Tab tab) {
+    visitTab(tab, false);
+    if (tab.getContent() != null) {
+      unregisterLabels(tab.getContent());
+    }
+  }
+
+  private static void visitTab(Tab tab, boolean watch) {
+    if (watch ? !mark(tab.getProperties()) : !unmark(tab.getProperties())) {
+      // already in the requested state
+      return;
+    }
+    if (watch) {
+      tab.contentProperty().addListener(CONTENT_LISTENER);
+    } else {
+      tab.contentProperty().removeListener(CONTENT_LISTENER);
+    }
+    if (tab.getContent() != null) {
+      visit(tab.getContent(), watch);
+    }
+  }
+
+  /**
+   * Mark a node or tab as watched.
+   *
+   * @param properties The properties of the node or tab
+   * @return true, if it has not been watched before.
+   */
+  private static boolean mark(Map<Object, Object> properties) {
+    return properties.putIfAbsent(WATCHED_KEY, Boolean.TRUE) == null;
+  }
+
+  /**
+   * Remove the watched marker of a node or tab.
+   *
+   * @param properties The properties of the node or tab
+   * @return true, if it has been watched before.
+   */
+  private static boolean unmark(Map<Object, Object> properties) {
+    return properties.remove(WATCHED_KEY) != null;
+  }
+
+  private static void unregisterLabels(Node node) {
+    if (node instanceof Label label) {
+      LabelService.unregister(label);
+    }
+    if (node instanceof Parent parent) {
+      List<Node> children = parent.getChildrenUnmodifiable();
+      for (Node child : children) {
+        unregisterLabels(child);
+      }
+    }
+    if (node instanceof TabPane tabPane) {
+      for (Tab tab : tabPane.getTabs()) {
+        if (tab.getContent() != null) {
+          unregisterLabels(tab.getContent());
+        }
+      }
+    } else if (node instanceof TitledPane titledPane && titledPane.getContent() != null) {
+      unregisterLabels(titledPane.getContent());
+    }
+  }
+}
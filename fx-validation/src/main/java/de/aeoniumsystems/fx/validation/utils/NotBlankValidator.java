@@ -18,8 +18,10 @@
  */
 package de.aeoniumsystems.fx.validation.utils;
 
+import de.aeoniumsystems.fx.validation.rules.NotNullRule;
 import de.aeoniumsystems.fx.validation.*;
 import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
 import de.aeoniumsystems.fx.validation.exceptions.FXValidatorException;
 import de.aeoniumsystems.fx.validation.annotations.FXNotNull;
 import java.util.logging.Level;
@@ -27,7 +29,6 @@ import java.util.logging.Logger;
 import javafx.scene.control.Control;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
-import javafx.scene.input.KeyEvent;
 
 /**
  * Checks (currently only) TextFields and TeextAreas whether they have a text property value that is not null, not empty
@@ -37,11 +38,16 @@ import javafx.scene.input.KeyEvent;
  */
 public class NotBlankValidator extends FXAbstractValidator<Control, FXNotNull> {
 
+  /**
+   * The compiled rule, and the annotation it has been compiled from.
+   */
+  private NotNullRule rule;
+  private FXNotNull ruleAnnotation;
+
   private static final Logger LOG = Logger.getLogger(NotBlankValidator.class.getName());
 
   public NotBlankValidator() {
     super();
-    this.eventTypes.add(KeyEvent.KEY_RELEASED);
   }
 
   public NotBlankValidator(Control control, FXNotNull annotation) {
@@ -60,15 +66,28 @@ public class NotBlankValidator extends FXAbstractValidator<Control, FXNotNull> {
   }
 
   @Override
-  public void validate(Control control, FXNotNull annotation) throws ValidationException {
-// shortcut: do not check if disabled.
+  public void prepare() {
+    this.ruleFor(this.annotation);
+  }
+
+  private NotNullRule ruleFor(FXNotNull annotation) {
+    if (this.rule == null || annotation != this.ruleAnnotation) {
+      this.rule = FXRules.ruleFor(annotation);
+      this.ruleAnnotation = annotation;
+    }
+    return this.rule;
+  }
+
+  @Override
+  public ValidationResult evaluate(Control control, FXNotNull annotation) {
+    // shortcut: do not check if disabled.
     if (control.isDisabled()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
     if (!control.isVisible()) {
-      this.isValid.set(true);
-      return;
+      this.setValid(true);
+      return ValidationResult.VALID;
     }
 
     boolean valid = false;
@@ -85,10 +104,15 @@ public class NotBlankValidator extends FXAbstractValidator<Control, FXNotNull> {
       LOG.log(Level.WARNING, "{0} is applied to an unsupported control type: {1}", new Object[]{this.getClass().getSimpleName(), control.getClass().getName()});
     }
 
-    this.isValid.set(valid);
+    this.setValid(valid);
+    return valid ? ValidationResult.VALID : this.ruleFor(annotation).failure();
+  }
 
-    if (!valid) {
-      throw new ValidationException(annotation.message());
+  @Override
+  public void validate(Control control, FXNotNull annotation) throws ValidationException {
+    ValidationResult result = this.evaluate(control, annotation);
+    if (!result.isValid()) {
+      throw new ValidationException(result.getMessage());
     }
   }
 
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXCrossValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXItemValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the frame-budgeted full-form validation.
+ *
+ * @author robert rohm
+ */
+public class ChunkedValidationTest {
+
+  public static class Form {
+
+    @FXRequired
+    public TextField name = new TextField("Name");
+
+    @FXString(minLength = 2)
+    public TextField code = new TextField("a");
+
+    @FXString(maxLength = 3)
+    public TextField city = new TextField("Mannheim");
+
+    @FXString(maxLength = 3)
+    public TextField zip = new TextField("123");
+
+    public VBox root = new VBox();
+
+    public Form() {
+      for (TextField field : List.of(name, code, city, zip)) {
+        Label label = new Label();
+        label.setLabelFor(field);
+        root.getChildren().addAll(label, field);
+      }
+    }
+  }
+
+  public static class ItemForm {
+
+    public TextField first = new TextField("a");
+
+    public TextField second = new TextField("b");
+
+    public ListView<String> list = new ListView<>(FXCollections.observableArrayList("x", " ", "y"));
+
+    public VBox root = new VBox();
+
+    public ItemForm() {
+      for (TextField field : List.of(first, second)) {
+        Label label = new Label();
+        label.setLabelFor(field);
+        root.getChildren().addAll(label, field);
+      }
+      root.getChildren().add(list);
+    }
+
+    @FXCrossValidation(fields = {"first", "second"}, target = "second", message = "The values must match.")
+    private boolean sameValues() {
+      return first.getText().equals(second.getText());
+    }
+
+    @FXItemValidation(items = "list", message = "Blank entry.")
+    private boolean notBlank(String text) {
+      return !text.isBlank();
+    }
+  }
+
+  @Test
+  public void testCollectsAllFailures() throws Exception {
+    System.out.println("collects all failures");
+    Form form = new Form();
+    List<Double> progress = new ArrayList<>();
+    ChunkedValidation validation = fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      ChunkedValidation started = FXValidatorService.validateChunked(form, Duration.ofNanos(1));
+      started.progressProperty().addListener((observable, oldValue, newValue) -> progress.add(newValue.doubleValue()));
+      return started;
+    });
+
+    List<ValidationFailure> failures = validation.getResult().get(10, TimeUnit.SECONDS);
+    assertTrue(validation.isDone());
+    assertEquals(2, failures.size());
+    assertSame(form.code, failures.get(0).control());
+    assertEquals("Please enter at least 2 characters.", failures.get(0).message());
+    assertSame(form.city, failures.get(1).control());
+    assertEquals("Please enter max. 3 characters.", failures.get(1).message());
+
+    // one control per frame: the progress is reported in steps
+    assertTrue(progress.size() > 1);
+    assertEquals(1.0, progress.get(progress.size() - 1));
+    assertTrue(fx(() -> form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)));
+    fx(() -> {
+      FXValidatorService.dispose(form);
+      return null;
+    });
+  }
+
+  @Test
+  public void testCancel() throws Exception {
+    System.out.println("cancel");
+    Form form = new Form();
+    ChunkedValidation validation = fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      ChunkedValidation started = FXValidatorService.validateChunked(form, Duration.ofNanos(1));
+      started.cancel();
+      return started;
+    });
+    assertTrue(validation.getResult().isCancelled());
+    assertTrue(validation.getProgress() < 1);
+  }
+
+  @Test
+  public void testUnknownController() throws Exception {
+    System.out.println("unknown controller");
+    ChunkedValidation validation = fx(() -> FXValidatorService.validateChunked(new Object()));
+    assertTrue(validation.getResult().get(10, TimeUnit.SECONDS).isEmpty());
+    assertEquals(1.0, validation.getProgress());
+  }
+
+  @Test
+  public void testRequiresFxThread() {
+    System.out.println("requires FX thread");
+    assertThrows(IllegalStateException.class, () -> FXValidatorService.validateChunked(new Object()));
+    assertFalse(Platform.isFxApplicationThread());
+  }
+
+  @Test
+  public void testIncludesItemsAndCrossRules() throws Exception {
+    System.out.println("includes items and cross rules");
+    ItemForm form = new ItemForm();
+    ChunkedValidation validation = fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      return FXValidatorService.validateChunked(form, Duration.ofNanos(1));
+    });
+
+    List<ValidationFailure> failures = validation.getResult().get(10, TimeUnit.SECONDS);
+    assertEquals(2, failures.size());
+    assertSame(form.second, failures.get(0).control());
+    assertEquals("The values must match.", failures.get(0).message());
+    assertSame(form.list, failures.get(1).control());
+    assertEquals("Blank entry.", failures.get(1).message());
+    assertEquals(1.0, validation.getProgress());
+    fx(() -> {
+      FXValidatorService.dispose(form);
+      return null;
+    });
+  }
+}
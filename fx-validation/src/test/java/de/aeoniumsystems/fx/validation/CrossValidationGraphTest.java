@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXCrossValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.exceptions.FXValidatorException;
+import java.util.List;
+import javafx.scene.Scene;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the wiring and the targeted revalidation of cross-field rules.
+ *
+ * @author robert rohm
+ */
+public class CrossValidationGraphTest {
+
+  public static class Form {
+
+    public TextField start = new TextField("1");
+
+    public TextField end = new TextField("5");
+
+    public CheckBox other = new CheckBox();
+
+    public TextField otherText = new TextField();
+
+    public Label endMessage = new Label();
+
+    public VBox root = new VBox();
+
+    int orderRuns = 0;
+
+    int spanRuns = 0;
+
+    int otherRuns = 0;
+
+    public Form() {
+      Label startLabel = new Label("Start");
+      startLabel.setLabelFor(start);
+      Label endLabel = new Label("End");
+      endLabel.setLabelFor(end);
+      endMessage.setLabelFor(end);
+      endMessage.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+      Label otherLabel = new Label("Other");
+      otherLabel.setLabelFor(otherText);
+      root.getChildren().addAll(startLabel, start, endLabel, end, endMessage, other, otherLabel, otherText);
+    }
+
+    @FXCrossValidation(name = "span", fields = {"start", "end"}, dependsOn = "order", target = "end",
+            message = "At most 10 days.")
+    private boolean spanAtMostTen() {
+      spanRuns++;
+      return Integer.parseInt(end.getText()) - Integer.parseInt(start.getText()) <= 10;
+    }
+
+    @FXCrossValidation(name = "order", fields = {"start", "end"}, target = "end",
+            message = "The end must not be before the start.")
+    private boolean endAfterStart() {
+      orderRuns++;
+      return Integer.parseInt(end.getText()) >= Integer.parseInt(start.getText());
+    }
+
+    @FXCrossValidation(fields = {"other", "otherText"}, target = "otherText")
+    private boolean otherRequired() {
+      otherRuns++;
+      return !other.isSelected() || !otherText.getText().isEmpty();
+    }
+  }
+
+  public static class RequiredForm {
+
+    public TextField start = new TextField("1");
+
+    @FXRequired(message = "The end is required.")
+    public TextField end = new TextField("5");
+
+    public Label endMessage = new Label();
+
+    public VBox root = new VBox();
+
+    public RequiredForm() {
+      Label startLabel = new Label("Start");
+      startLabel.setLabelFor(start);
+      Label endLabel = new Label("End");
+      endLabel.setLabelFor(end);
+      endMessage.setLabelFor(end);
+      endMessage.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+      root.getChildren().addAll(startLabel, start, endLabel, end, endMessage);
+    }
+
+    @FXCrossValidation(fields = {"start", "end"}, target = "end", message = "The end must not be before the start.")
+    private boolean endAfterStart() {
+      return end.getText().isEmpty() || Integer.parseInt(end.getText()) >= Integer.parseInt(start.getText());
+    }
+  }
+
+  public static class CyclicForm {
+
+    public TextField a = new TextField();
+
+    public VBox root = new VBox(a);
+
+    @FXCrossValidation(name = "first", fields = "a", dependsOn = "second")
+    private boolean first() {
+      return true;
+    }
+
+    @FXCrossValidation(name = "second", fields = "a", dependsOn = "first")
+    private boolean second() {
+      return true;
+    }
+  }
+
+  @Test
+  public void testTargetedRevalidation() throws Exception {
+    System.out.println("targeted revalidation");
+    Form form = new Form();
+    fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      ValidationContext context = FXValidatorService.findContext(form);
+      List<String> order = context.crossValidation.getOrder();
+      assertEquals(3, order.size());
+      assertTrue(order.indexOf("order") < order.indexOf("span"));
+
+      // checked once on wiring, so the aggregate starts from the actual state
+      FXValidationAggregate aggregate = FXValidatorService.getAggregate(form);
+      assertEquals(3, aggregate.size());
+      assertTrue(aggregate.isValid());
+      form.orderRuns = 0;
+      form.spanRuns = 0;
+      form.otherRuns = 0;
+
+      // one change: each affected rule runs once, unaffected rules not at all
+      form.end.setText("0");
+      assertEquals(1, form.orderRuns);
+      assertEquals(1, form.spanRuns);
+      assertEquals(0, form.otherRuns);
+      assertFalse(aggregate.isValid());
+      assertEquals("The end must not be before the start.", form.endMessage.getText());
+      assertTrue(form.end.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+      form.end.setText("20");
+      assertEquals(2, form.orderRuns);
+      assertEquals(2, form.spanRuns);
+      assertFalse(aggregate.isValid());
+      assertEquals("At most 10 days.", form.endMessage.getText());
+
+      form.start.setText("15");
+      assertTrue(aggregate.isValid());
+      assertFalse(form.end.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+      form.other.setSelected(true);
+      assertEquals(1, form.otherRuns);
+      assertEquals(3, form.orderRuns);
+      assertFalse(aggregate.isValid());
+      form.otherText.setText("details");
+      assertTrue(aggregate.isValid());
+
+      // disposed rules do not run anymore
+      FXValidatorService.dispose(form);
+      form.end.setText("0");
+      assertEquals(3, form.orderRuns);
+    });
+  }
+
+  @Test
+  public void testChangeBackWithinPulse() throws Exception {
+    System.out.println("change back within pulse");
+    Form form = new Form();
+    fx(() -> {
+      Scene scene = new Scene(form.root);
+      FXValidatorService.initialize(form.root, form);
+      FXValidatorService.setValidationMode(ValidationMode.PULSE);
+      try {
+        form.end.setText("6");
+        pulse(scene);
+        form.orderRuns = 0;
+        form.spanRuns = 0;
+        form.otherRuns = 0;
+
+        // A -> B -> A: the values are unchanged, but the rules are dirty
+        form.start.setText("2");
+        form.start.setText("1");
+        pulse(scene);
+        assertEquals(1, form.orderRuns);
+        assertEquals(1, form.spanRuns);
+
+        // ...and clean afterwards, so an unrelated change does not run them
+        form.other.setSelected(true);
+        pulse(scene);
+        assertEquals(1, form.otherRuns);
+        assertEquals(1, form.orderRuns);
+        assertEquals(1, form.spanRuns);
+      } finally {
+        FXValidatorService.setValidationMode(ValidationMode.IMMEDIATE);
+        FXValidatorService.dispose(form);
+      }
+    });
+  }
+
+  /**
+   * Run the pre-layout pulse listener of the scene, as the pulse would do.
+   *
+   * @param scene The scene
+   */
+  private static void pulse(Scene scene) {
+    Runnable queue = (Runnable) scene.getProperties().get(ValidationScheduler.class.getName());
+    if (queue != null) {
+      queue.run();
+    }
+  }
+
+  @Test
+  public void testFieldAndCrossRuleOnSameTarget() throws Exception {
+    System.out.println("field and cross rule on same target");
+    RequiredForm form = new RequiredForm();
+    fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      FXValidationAggregate aggregate = FXValidatorService.getAggregate(form);
+
+      // the field rule fails, the cross rule passes
+      form.end.setText("");
+      assertFalse(aggregate.isValid());
+      assertEquals("The end is required.", form.endMessage.getText());
+
+      // a change of another field runs only the cross rule, which passes
+      form.start.setText("3");
+      assertFalse(aggregate.isValid());
+      assertEquals("The end is required.", form.endMessage.getText());
+      assertTrue(form.end.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+      // the field rule passes, the cross rule fails
+      form.end.setText("2");
+      assertFalse(aggregate.isValid());
+      assertEquals("The end must not be before the start.", form.endMessage.getText());
+      assertTrue(form.end.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+      form.end.setText("4");
+      assertTrue(aggregate.isValid());
+      assertFalse(form.end.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+      FXValidatorService.dispose(form);
+    });
+  }
+
+  @Test
+  public void testCycle() throws Exception {
+    System.out.println("cycle");
+    CyclicForm form = new CyclicForm();
+    fx(() -> {
+      FXValidatorException ex = assertThrows(FXValidatorException.class,
+              () -> FXValidatorService.initialize(form.root, form));
+      assertTrue(ex.getMessage().contains("first"));
+      assertTrue(ex.getMessage().contains("second"));
+      FXValidatorService.dispose(form);
+    });
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.annotations.FXValidation;
+import de.aeoniumsystems.fx.validation.exceptions.ValidationException;
+import java.util.List;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the instances of a form get their own validators, with the
+ * immutable parts shared.
+ *
+ * @author robert rohm
+ */
+public class DefaultFXValidationHandlerTest {
+
+  public static class Form {
+
+    @FXString(minLength = 3, maxLength = 5)
+    public TextField code = new TextField();
+
+    @FXValidation(validation = Form.UpperCaseValidator.class)
+    public TextField name = new TextField();
+
+    public VBox root = new VBox();
+
+    String expected = "ABC";
+
+    public Form() {
+      Label codeLabel = new Label("Code");
+      codeLabel.setLabelFor(code);
+      Label nameLabel = new Label("Name");
+      nameLabel.setLabelFor(name);
+      root.getChildren().addAll(codeLabel, code, nameLabel, name);
+    }
+
+    /**
+     * An inner validator - created with the form as enclosing instance.
+     */
+    public class UpperCaseValidator extends FXAbstractValidator<TextField, FXValidation> {
+
+      @Override
+      public void validate(TextField control, FXValidation annotation) throws ValidationException {
+        this.setValid(expected.equals(control.getText()));
+        if (!this.isValid()) {
+          throw new ValidationException(annotation.message());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testFormInstances() throws Exception {
+    System.out.println("form instances");
+    Form first = new Form();
+    Form second = new Form();
+    second.expected = "XYZ";
+    fx(() -> {
+      FXValidatorService.initialize(first.root, first);
+      FXValidatorService.initialize(second.root, second);
+
+      List<FXAbstractValidator<?, ?>> firstValidators = FXValidatorService.getValidators(first.code, first.name);
+      List<FXAbstractValidator<?, ?>> secondValidators = FXValidatorService.getValidators(second.code, second.name);
+      assertEquals(2, firstValidators.size());
+      assertEquals(2, secondValidators.size());
+      for (int i = 0; i < 2; i++) {
+        assertNotSame(firstValidators.get(i), secondValidators.get(i));
+        assertSame(firstValidators.get(i).getClass(), secondValidators.get(i).getClass());
+        // the annotation instance is the one of the field, for all instances
+        assertSame(firstValidators.get(i).getAnnotation(), secondValidators.get(i).getAnnotation());
+      }
+
+      // the state is per instance
+      first.code.setText("abc");
+      assertTrue(firstValidators.get(0).isValidProperty().get());
+      assertFalse(secondValidators.get(0).isValidProperty().get());
+
+      // inner validators see their own form
+      first.name.setText("ABC");
+      second.name.setText("ABC");
+      assertTrue(firstValidators.get(1).isValidProperty().get());
+      assertFalse(secondValidators.get(1).isValidProperty().get());
+
+      FXValidatorService.dispose(first);
+      FXValidatorService.dispose(second);
+    });
+  }
+}
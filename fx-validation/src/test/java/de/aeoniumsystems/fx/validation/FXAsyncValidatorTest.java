@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.control.TextField;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link FXAsyncValidator}.
+ *
+ * @author robert rohm
+ */
+public class FXAsyncValidatorTest {
+
+  /**
+   * Checks the text on another thread - the check of "slow" waits for the
+   * latch.
+   */
+  static class SlowValidator extends FXAsyncValidator<TextField, FXRequired, String> {
+
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    protected String extract(TextField control) {
+      return control.getText();
+    }
+
+    @Override
+    protected ValidationResult check(String value, FXRequired annotation) throws Exception {
+      if ("slow".equals(value)) {
+        latch.await();
+      }
+      return value.startsWith("ok") ? ValidationResult.VALID : ValidationResult.invalid("bad");
+    }
+  }
+
+  @Test
+  public void testStaleResultIsDiscarded() throws Exception {
+    System.out.println("stale result");
+    TextField control = new TextField();
+    SlowValidator instance = new SlowValidator();
+    instance.setExecutor(Executors.newSingleThreadExecutor());
+    CompletableFuture<ValidationResult> delivered = new CompletableFuture<>();
+    instance.setOnResult(delivered::complete);
+
+    ValidationResult first = fx(() -> {
+      control.setText("slow");
+      return instance.evaluate(control, null);
+    });
+    assertTrue(first.isPending());
+    assertTrue(instance.isPending());
+    assertFalse(instance.isValidProperty().get());
+
+    // a new input cancels the slow check:
+    ValidationResult second = fx(() -> {
+      control.setText("ok");
+      return instance.evaluate(control, null);
+    });
+    assertTrue(second.isPending());
+    instance.latch.countDown();
+
+    ValidationResult result = delivered.get(10, TimeUnit.SECONDS);
+    assertTrue(result.isValid());
+    assertTrue(fx(() -> instance.isValidProperty().get()));
+    assertFalse(fx(() -> instance.isPending()));
+
+    // unchanged input: the last result, without a new check
+    assertEquals(ValidationResult.VALID, fx(() -> instance.evaluate(control, null)));
+  }
+
+  @Test
+  public void testPendingIsCountedInAggregate() throws Exception {
+    System.out.println("pending in aggregate");
+    TextField control = new TextField();
+    SlowValidator instance = new SlowValidator();
+    FXValidationAggregate aggregate = new FXValidationAggregate();
+    CompletableFuture<ValidationResult> delivered = new CompletableFuture<>();
+    instance.setOnResult(delivered::complete);
+
+    fx(() -> {
+      aggregate.add(instance);
+      control.setText("slow");
+      return instance.evaluate(control, null);
+    });
+    assertTrue(fx(() -> aggregate.isPending()));
+    assertFalse(fx(() -> aggregate.isValid()));
+
+    instance.latch.countDown();
+    assertFalse(delivered.get(10, TimeUnit.SECONDS).isValid());
+    assertFalse(fx(() -> aggregate.isPending()));
+    assertEquals(0, (int) fx(() -> aggregate.getPendingCount()));
+  }
+}
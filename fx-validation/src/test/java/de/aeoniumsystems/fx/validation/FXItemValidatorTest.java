@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXItemValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXValidationChecked;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javafx.beans.Observable;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Control;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the incremental validation of table and list items.
+ *
+ * @author robert rohm
+ */
+public class FXItemValidatorTest {
+
+  public static class Order {
+
+    final SimpleStringProperty code = new SimpleStringProperty();
+
+    final SimpleIntegerProperty quantity = new SimpleIntegerProperty();
+
+    Order(String code, int quantity) {
+      this.code.set(code);
+      this.quantity.set(quantity);
+    }
+  }
+
+  public static class Form {
+
+    public TableView<Order> table = new TableView<>();
+
+    public ListView<String> list = new ListView<>();
+
+    @FXValidationChecked
+    public BooleanProperty ok = new SimpleBooleanProperty(false);
+
+    public VBox root = new VBox(table, list);
+
+    int quantityChecks = 0;
+
+    public Form(ObservableList<Order> orders) {
+      TableColumn<Order, String> codeColumn = new TableColumn<>("Code");
+      codeColumn.setId("code");
+      codeColumn.setCellValueFactory(features -> features.getValue().code);
+      TableColumn<Order, Number> quantityColumn = new TableColumn<>("Quantity");
+      quantityColumn.setId("quantity");
+      quantityColumn.setCellValueFactory(features -> features.getValue().quantity);
+      table.getColumns().add(codeColumn);
+      table.getColumns().add(quantityColumn);
+      table.setItems(orders);
+      list.getItems().addAll("a", "b");
+    }
+
+    @FXItemValidation(items = "table", column = "quantity", message = "The quantity must be positive.")
+    private boolean positiveQuantity(Order order) {
+      quantityChecks++;
+      return order.quantity.get() > 0;
+    }
+
+    @FXItemValidation(items = "table", message = "The code is required.")
+    private boolean codeRequired(Order order) {
+      return order.code.get() != null && !order.code.get().isEmpty();
+    }
+
+    @FXItemValidation(items = "list")
+    private boolean notBlank(String text) {
+      return !text.isBlank();
+    }
+  }
+
+  private static FXItemValidator<?> validatorOf(Object control) {
+    return (FXItemValidator<?>) FXValidatorService.getValidators((Control) control).get(0);
+  }
+
+  private static List<Integer> invalidRows(FXItemValidator<?> validator) {
+    List<Integer> rows = new ArrayList<>();
+    for (int i = validator.nextInvalid(0); i >= 0; i = validator.nextInvalid(i + 1)) {
+      rows.add(i);
+    }
+    return rows;
+  }
+
+  @Test
+  public void testIncrementalValidation() throws Exception {
+    System.out.println("incremental validation");
+    // the extractor reports changes of the quantity as list updates
+    ObservableList<Order> orders = FXCollections.observableArrayList(order -> new Observable[]{order.quantity});
+    for (int i = 0; i < 100_000; i++) {
+      orders.add(new Order("o" + i, i % 25_000 == 0 ? 0 : 1));
+    }
+    Form form = new Form(orders);
+    fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      FXItemValidator<?> validator = validatorOf(form.table);
+      assertEquals(List.of(0, 25_000, 50_000, 75_000), invalidRows(validator));
+      assertTrue(validator.isInvalid(25_000, "quantity"));
+      assertFalse(validator.isInvalid(25_001, "quantity"));
+      assertEquals("The quantity must be positive.", validator.getResult(0).getMessage());
+      assertFalse(form.ok.get());
+
+      // only dirty rows get checked, the others move along
+      form.quantityChecks = 0;
+      orders.remove(25_000);
+      orders.add(0, new Order("", 5));
+      assertEquals(1, form.quantityChecks);
+      assertEquals(List.of(0, 1, 50_000, 75_000), invalidRows(validator));
+      assertFalse(validator.isInvalid(0, "quantity"));
+      assertEquals("The code is required.", validator.getResult(0).getMessage());
+
+      form.quantityChecks = 0;
+      orders.get(50_000).quantity.set(7);
+      assertEquals(1, form.quantityChecks);
+      assertEquals(List.of(0, 1, 75_000), invalidRows(validator));
+
+      // permutation: 7, 5 (no code), the 1s, then the two 0s
+      orders.sort(Comparator.comparingInt((Order order) -> order.quantity.get()).reversed());
+      assertEquals(List.of(1, 99_998, 99_999), invalidRows(validator));
+      assertTrue(validator.isInvalid(99_998, "quantity"));
+      assertFalse(validator.isInvalid(1, "quantity"));
+      assertEquals(1, form.quantityChecks);
+
+      orders.remove(99_998, 100_000);
+      assertFalse(validator.isValidProperty().get());
+      // changes the list does not observe need an explicit check
+      orders.get(1).code.set("c");
+      validator.revalidate(1);
+      assertTrue(validator.isValidProperty().get());
+      assertEquals(0, validator.getInvalidCount());
+      assertTrue(form.ok.get());
+
+      // a replaced list gets checked completely
+      form.table.setItems(FXCollections.observableArrayList(new Order("x", -1)));
+      assertEquals(List.of(0), invalidRows(validator));
+      assertFalse(form.ok.get());
+
+      FXValidatorService.dispose(form);
+      orders.add(new Order(null, 0));
+      assertEquals(List.of(0), invalidRows(validator));
+    });
+  }
+
+  private static <S, V> TableCell<S, V> cellOf(TableColumn<S, V> column, TableView<S> table, TableRow<S> row) {
+    TableCell<S, V> cell = column.getCellFactory().call(column);
+    cell.updateTableView(table);
+    cell.updateTableColumn(column);
+    cell.updateTableRow(row);
+    return cell;
+  }
+
+  @Test
+  public void testMarks() throws Exception {
+    System.out.println("marks");
+    ObservableList<Order> orders = FXCollections.observableArrayList(new Order("a", 1), new Order("b", 0), new Order("", 1));
+    Form form = new Form(orders);
+    fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      TableColumn<Order, ?> quantityColumn = form.table.getColumns().get(1);
+
+      // rows and cells get marked when they get bound to an index
+      TableRow<Order> row = form.table.getRowFactory().call(form.table);
+      row.updateTableView(form.table);
+      TableCell<Order, ?> cell = cellOf(quantityColumn, form.table, row);
+      row.updateIndex(0);
+      cell.updateIndex(0);
+      assertFalse(row.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertFalse(cell.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      row.updateIndex(1);
+      cell.updateIndex(1);
+      assertTrue(row.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertTrue(cell.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      row.updateIndex(2);
+      cell.updateIndex(2);
+      assertTrue(row.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertFalse(cell.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+
+      // bound rows and cells follow the checks
+      row.updateIndex(1);
+      cell.updateIndex(1);
+      orders.get(1).quantity.set(3);
+      validatorOf(form.table).revalidate(1);
+      assertFalse(row.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertFalse(cell.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+
+      ListCell<String> listCell = form.list.getCellFactory().call(form.list);
+      listCell.updateListView(form.list);
+      listCell.updateIndex(0);
+      assertFalse(listCell.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertEquals("a", listCell.getText());
+      form.list.getItems().set(0, " ");
+      assertTrue(validatorOf(form.list).isInvalid(0));
+      assertTrue(listCell.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+
+      // disposing restores the factories
+      FXValidatorService.dispose(form);
+      assertEquals(null, form.table.getRowFactory());
+      assertEquals(null, form.list.getCellFactory());
+      FXValidatorService.dispose(form);
+    });
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXNumber;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.engine.ValidationEngine;
+import de.aeoniumsystems.fx.validation.engine.Violation;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that objects get validated with the rules of the JavaFX annotations,
+ * without a running JavaFX toolkit.
+ *
+ * @author robert rohm
+ */
+public class FXRuleProviderTest {
+
+  public static class Customer {
+
+    @FXRequired
+    private String name;
+
+    @FXString(minLength = 5, maxLength = 5, pattern = "\\d*")
+    private String zip;
+
+    public Customer(String name, String zip) {
+      this.name = name;
+      this.zip = zip;
+    }
+  }
+
+  public record Article(@FXString(minLength = 3) String code, @FXNumber(min = 0, max = 1000, integer = true) Object stock) {
+  }
+
+  @Test
+  public void testPojo() {
+    System.out.println("POJO");
+    ValidationEngine engine = ValidationEngine.shared();
+
+    assertTrue(engine.isValid(new Customer("Robert", "68159")));
+    List<Violation> violations = engine.validate(new Customer("", "6815"));
+    assertEquals(2, violations.size());
+    assertEquals("name", violations.get(0).property());
+    assertEquals("zip", violations.get(1).property());
+    assertEquals("Please enter at least 5 characters.", violations.get(1).message());
+    assertFalse(engine.isValid(new Customer("Robert", "6815x")));
+  }
+
+  @Test
+  public void testRecord() {
+    System.out.println("record");
+    ValidationEngine engine = ValidationEngine.shared();
+
+    assertTrue(engine.isValid(new Article("A-1", 7)));
+    assertTrue(engine.isValid(new Article("A-1", "7")));
+    assertFalse(engine.isValid(new Article("A-1", 7.5)));
+    assertFalse(engine.isValid(new Article("A-1", 1001)));
+    assertFalse(engine.isValid(new Article("A", 7)));
+  }
+}
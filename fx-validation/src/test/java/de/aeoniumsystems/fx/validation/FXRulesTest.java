@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXNumber;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.rules.NumberRule;
+import de.aeoniumsystems.fx.validation.rules.StringRule;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.lang.reflect.Proxy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link FXRules}.
+ *
+ * @author robert rohm
+ */
+public class FXRulesTest {
+
+  @FXString(minLength = 2, maxLength = 5)
+  private Object lengths;
+
+  @FXString(minLength = 2, maxLength = 5)
+  private Object sameLengths;
+
+  @FXString(pattern = "[a-z]*", messagePattern = "Lowercase only")
+  private Object pattern;
+
+  @FXNumber
+  private Object number;
+
+  @FXNumber(min = 5, max = 15)
+  private Object range;
+
+  private static <A extends java.lang.annotation.Annotation> A annotation(String field, Class<A> type) throws Exception {
+    return FXRulesTest.class.getDeclaredField(field).getAnnotation(type);
+  }
+
+  @Test
+  public void testCompileString_rendersMessages() throws Exception {
+    System.out.println("compile FXString");
+    StringRule rule = FXRules.compile(annotation("lengths", FXString.class));
+
+    assertEquals(2, rule.minLength());
+    assertEquals(5, rule.maxLength());
+    assertNull(rule.pattern());
+    assertEquals("Please enter at least 2 characters.", rule.tooShort().getMessage());
+    assertEquals("Please enter max. 5 characters.", rule.tooLong().getMessage());
+
+    assertSame(rule.tooShort(), rule.check("a"));
+    assertSame(ValidationResult.VALID, rule.check("ab"));
+    assertSame(ValidationResult.VALID, rule.check("abcde"));
+    assertSame(rule.tooLong(), rule.check("abcdef"));
+  }
+
+  @Test
+  public void testCompileString_pattern() throws Exception {
+    System.out.println("compile FXString pattern");
+    StringRule rule = FXRules.compile(annotation("pattern", FXString.class));
+
+    assertNotNull(rule.pattern());
+    assertTrue(rule.pattern().matcher("abc").matches());
+    assertFalse(rule.pattern().matcher("aBc").matches());
+    assertEquals("Lowercase only", rule.noMatch().getMessage());
+    assertSame(rule.noMatch(), rule.check("aBc"));
+  }
+
+  @Test
+  public void testCompileNumber() throws Exception {
+    System.out.println("compile FXNumber");
+    NumberRule rule = FXRules.compile(annotation("number", FXNumber.class));
+    assertFalse(rule.checkMin());
+    assertFalse(rule.checkMax());
+
+    rule = FXRules.compile(annotation("range", FXNumber.class));
+    assertTrue(rule.checkMin());
+    assertTrue(rule.checkMax());
+    assertEquals(5, rule.min());
+    assertEquals(15, rule.max());
+
+    assertSame(ValidationResult.VALID, rule.check("5"));
+    assertSame(ValidationResult.VALID, rule.check("15.0"));
+    assertSame(rule.failure(), rule.check("4.9"));
+    assertSame(rule.failure(), rule.check("16"));
+    assertSame(rule.failure(), rule.check("1e"));
+    assertFalse(rule.failure().isValid());
+  }
+
+  @Test
+  public void testRuleFor_isShared() throws Exception {
+    System.out.println("shared rules");
+    FXString lengths = annotation("lengths", FXString.class);
+    StringRule rule = FXRules.ruleFor(lengths);
+    assertSame(rule, FXRules.ruleFor(lengths));
+    // equal annotations on different fields share the rule, too
+    assertSame(rule, FXRules.ruleFor(annotation("sameLengths", FXString.class)));
+    assertNotSame(rule, FXRules.ruleFor(annotation("pattern", FXString.class)));
+    assertNotSame(rule, FXRules.compile(lengths));
+
+    NumberRule range = FXRules.ruleFor(annotation("range", FXNumber.class));
+    assertSame(range, FXRules.ruleFor(annotation("range", FXNumber.class)));
+  }
+
+  /**
+   * Create an annotation at runtime, like a framework might.
+   */
+  private static FXRequired required(String message) {
+    return (FXRequired) Proxy.newProxyInstance(FXRequired.class.getClassLoader(), new Class<?>[]{FXRequired.class},
+            (proxy, method, args) -> switch (method.getName()) {
+      case "message" -> message;
+      case "required" -> true;
+      case "annotationType" -> FXRequired.class;
+      case "hashCode" -> message.hashCode();
+      case "equals" -> proxy == args[0];
+      case "toString" -> "@FXRequired(" + message + ")";
+      default -> method.getDefaultValue();
+    });
+  }
+
+  @Test
+  public void testRuleFor_isBounded() {
+    System.out.println("shared rules are bounded");
+    for (int i = 0; i < FXRules.SHARED_LIMIT + 100; i++) {
+      FXRequired annotation = required("message " + i);
+      assertEquals("message " + i, FXRules.ruleFor(annotation).failure().getMessage());
+      assertTrue(FXRules.sharedCount() <= FXRules.SHARED_LIMIT);
+    }
+    // the latest rule is still shared
+    FXRequired last = required("last");
+    assertSame(FXRules.ruleFor(last), FXRules.ruleFor(last));
+  }
+}
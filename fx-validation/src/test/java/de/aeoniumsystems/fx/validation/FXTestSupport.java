@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+
+/**
+ * Runs test code on the JavaFX application thread, starting the platform on
+ * first use.
+ *
+ * @author robert rohm
+ */
+public final class FXTestSupport {
+
+  private FXTestSupport() {
+    // static helper
+  }
+
+  /**
+   * Start the JavaFX platform, if it is not running yet.
+   */
+  public static void startPlatform() {
+    try {
+      Platform.startup(() -> {
+      });
+    } catch (IllegalStateException ex) {
+      // already running
+    }
+  }
+
+  /**
+   * Run the code on the JavaFX application thread and wait for it. Failed
+   * assertions and exceptions are rethrown, wrapped in an ExecutionException.
+   *
+   * @param runnable The code
+   * @throws Exception Thrown if the code fails or does not finish within a
+   * minute.
+   */
+  public static void fx(Runnable runnable) throws Exception {
+    fx(() -> {
+      runnable.run();
+      return null;
+    });
+  }
+
+  /**
+   * Compute a value on the JavaFX application thread and wait for it.
+   *
+   * @param <T> The value type
+   * @param callable The code
+   * @return The value
+   * @throws Exception Thrown if the code fails or does not finish within a
+   * minute.
+   */
+  public static <T> T fx(Callable<T> callable) throws Exception {
+    startPlatform();
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Platform.runLater(() -> {
+      try {
+        future.complete(callable.call());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    });
+    return future.get(60, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link FXValidationAggregate}.
+ *
+ * @author robert rohm
+ */
+public class FXValidationAggregateTest {
+
+  @Test
+  public void testEmptyAggregateIsValid() {
+    System.out.println("empty aggregate");
+    FXValidationAggregate instance = new FXValidationAggregate();
+
+    assertTrue(instance.isValid());
+    assertFalse(instance.invalidProperty().get());
+    assertEquals(0, instance.getInvalidCount());
+  }
+
+  @Test
+  public void testTransitions() {
+    System.out.println("transitions");
+    FXValidationAggregate instance = new FXValidationAggregate();
+    RequiredValidator v1 = new RequiredValidator();
+    RequiredValidator v2 = new RequiredValidator();
+
+    // validators start invalid:
+    instance.add(v1);
+    instance.add(v2);
+    assertEquals(2, instance.getInvalidCount());
+    assertFalse(instance.isValid());
+    assertTrue(instance.invalidProperty().get());
+
+    v1.setValid(true);
+    assertEquals(1, instance.getInvalidCount());
+    assertFalse(instance.isValid());
+
+    v2.setValid(true);
+    assertEquals(0, instance.getInvalidCount());
+    assertTrue(instance.isValid());
+    assertFalse(instance.invalidProperty().get());
+
+    // setting the same value again is not a transition:
+    v2.setValid(true);
+    assertEquals(0, instance.getInvalidCount());
+
+    v1.setValid(false);
+    assertEquals(1, instance.getInvalidCount());
+    assertFalse(instance.isValid());
+  }
+
+  @Test
+  public void testAddTwice_countsOnce() {
+    System.out.println("add twice");
+    FXValidationAggregate instance = new FXValidationAggregate();
+    RequiredValidator v1 = new RequiredValidator();
+
+    instance.add(v1);
+    instance.add(v1);
+    assertEquals(1, instance.size());
+    assertEquals(1, instance.getInvalidCount());
+
+    v1.setValid(true);
+    assertEquals(0, instance.getInvalidCount());
+  }
+
+  @Test
+  public void testRemove() {
+    System.out.println("remove");
+    FXValidationAggregate instance = new FXValidationAggregate();
+    RequiredValidator v1 = new RequiredValidator();
+    instance.add(v1);
+
+    instance.remove(v1);
+    assertEquals(0, instance.size());
+    assertTrue(instance.isValid());
+
+    // no longer counted after removal:
+    v1.setValid(true);
+    v1.setValid(false);
+    assertEquals(0, instance.getInvalidCount());
+  }
+}
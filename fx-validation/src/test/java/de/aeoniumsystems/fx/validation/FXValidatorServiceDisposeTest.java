@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.annotations.FXValidationChecked;
+import de.aeoniumsystems.fx.validation.utils.LabelService;
+import java.lang.ref.WeakReference;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that disposed - or just forgotten - forms do not leak.
+ *
+ * @author robert rohm
+ */
+public class FXValidatorServiceDisposeTest {
+
+  private static final int CYCLES = 10_000;
+
+  /**
+   * A small form, like a dialog that gets opened and closed.
+   */
+  public static class Form {
+
+    @FXRequired
+    public TextField name = new TextField();
+
+    @FXString(minLength = 2, maxLength = 5)
+    public TextField code = new TextField();
+
+    @FXValidationChecked
+    public Button ok = new Button("OK");
+
+    @FXValidationChecked
+    public BooleanProperty valid = new SimpleBooleanProperty(false);
+
+    public VBox root = new VBox();
+
+    public Form() {
+      Label nameLabel = new Label("Name");
+      nameLabel.setLabelFor(name);
+      Label codeLabel = new Label("Code");
+      codeLabel.setLabelFor(code);
+      root.getChildren().addAll(nameLabel, name, codeLabel, code, ok);
+    }
+  }
+
+  private static void openAndClose(int count, boolean dispose) throws Exception {
+    fx(() -> {
+      for (int i = 0; i < count; i++) {
+        Form form = new Form();
+        FXValidatorService.initialize(form.root, form);
+        form.name.setText("x");
+        if (dispose) {
+          FXValidatorService.dispose(form);
+        }
+      }
+    });
+  }
+
+  private static void collect(WeakReference<?> reference) throws InterruptedException {
+    for (int i = 0; i < 50 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+  }
+
+  private static long usedHeap() throws InterruptedException {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      Thread.sleep(20);
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @Test
+  public void testDispose() throws Exception {
+    System.out.println("dispose");
+    Form form = new Form();
+    fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      assertTrue(form.ok.disableProperty().isBound());
+      FXValidatorService.dispose(form);
+    });
+
+    assertNull(FXValidatorService.getAggregate(form));
+    assertNull(FXValidatorService.getValidators(form.name));
+    assertNull(LabelService.getLabelsFor(form.name));
+    assertFalse(form.ok.disableProperty().isBound());
+    assertFalse(form.valid.isBound());
+    assertTrue(form.name.getProperties().isEmpty());
+    assertTrue(form.ok.getProperties().isEmpty());
+  }
+
+  @Test
+  public void testControllerIsCollectedWithoutDispose() throws Exception {
+    System.out.println("collected without dispose");
+    WeakReference<Form> reference = new WeakReference<>(new Form());
+    fx(() -> FXValidatorService.initialize(reference.get().root, reference.get()));
+
+    collect(reference);
+    assertNull(reference.get());
+  }
+
+  /**
+   * A form whose checked property gets registered before any control.
+   */
+  public static class PropertyForm {
+
+    @FXString(minLength = 2)
+    public TextField code = new TextField("abc");
+
+    public BooleanProperty valid = new SimpleBooleanProperty(false);
+
+    public VBox root = new VBox();
+
+    public PropertyForm() {
+      Label codeLabel = new Label("Code");
+      codeLabel.setLabelFor(code);
+      root.getChildren().addAll(codeLabel, code);
+    }
+  }
+
+  @Test
+  public void testContextSurvivesCollectionBeforeInitialize() throws Exception {
+    System.out.println("context survives collection before initialize");
+    PropertyForm form = new PropertyForm();
+    FXValidatorService.registerCheckedProperty(form, form.valid);
+    WeakReference<ValidationContext> context = new WeakReference<>(FXValidatorService.findContext(form));
+
+    collect(context);
+    assertNotNull(context.get());
+    fx(() -> FXValidatorService.initialize(form.root, form));
+    assertTrue(form.valid.isBound());
+
+    collect(context);
+    assertNotNull(FXValidatorService.getAggregate(form));
+    fx(() -> FXValidatorService.dispose(form));
+    assertFalse(form.valid.isBound());
+  }
+
+  @Test
+  public void testUninitializedControllerIsCollected() throws Exception {
+    System.out.println("uninitialized controller is collected");
+    PropertyForm form = new PropertyForm();
+    FXValidatorService.registerCheckedProperty(form, form.valid);
+    WeakReference<PropertyForm> reference = new WeakReference<>(form);
+    form = null;
+
+    collect(reference);
+    assertNull(reference.get());
+  }
+
+  @Test
+  public void testHeapStaysFlat() throws Exception {
+    System.out.println("heap stays flat");
+    WeakReference<Form> first = new WeakReference<>(new Form());
+    fx(() -> {
+      FXValidatorService.initialize(first.get().root, first.get());
+      FXValidatorService.dispose(first.get());
+    });
+
+    openAndClose(CYCLES / 10, true);
+    long before = usedHeap();
+    openAndClose(CYCLES, true);
+    long after = usedHeap();
+
+    collect(first);
+    assertNull(first.get());
+    // a leaking form costs some kilobytes - 10,000 of them would be far more
+    assertTrue(after - before < 8 * 1024 * 1024, "heap grew by " + (after - before) + " bytes");
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.utils.LabelService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import javafx.beans.InvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that marking a control only changes the scene graph on transitions.
+ *
+ * @author robert rohm
+ */
+public class MarkStateTest {
+
+  private static int changes(Runnable runnable, TextField control, Label... labels) {
+    AtomicInteger count = new AtomicInteger();
+    ListChangeListener<String> styleListener = change -> count.incrementAndGet();
+    InvalidationListener listener = observable -> count.incrementAndGet();
+    control.getStyleClass().addListener(styleListener);
+    for (Label label : labels) {
+      label.getStyleClass().addListener(styleListener);
+      label.visibleProperty().addListener(listener);
+      label.managedProperty().addListener(listener);
+      label.textProperty().addListener(listener);
+    }
+    runnable.run();
+    control.getStyleClass().removeListener(styleListener);
+    for (Label label : labels) {
+      label.getStyleClass().removeListener(styleListener);
+      label.visibleProperty().removeListener(listener);
+      label.managedProperty().removeListener(listener);
+      label.textProperty().removeListener(listener);
+    }
+    return count.get();
+  }
+
+  @Test
+  public void testMarkOnlyOnTransition() {
+    System.out.println("mark only on transition");
+    TextField control = new TextField();
+    Label label = new Label("Name");
+    label.setLabelFor(control);
+    Label message = new Label();
+    message.setLabelFor(control);
+    message.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+    VBox root = new VBox(label, control, message);
+    LabelService.initialize(root);
+
+    assertTrue(changes(() -> DefaultFXValidationHandler.mark(control, false, "Too short"), control, label, message) > 0);
+    assertTrue(control.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+    assertEquals("Too short", message.getText());
+
+    assertEquals(0, changes(() -> {
+      for (int i = 0; i < 100; i++) {
+        DefaultFXValidationHandler.mark(control, false, "Too short");
+      }
+    }, control, label, message));
+
+    assertTrue(changes(() -> DefaultFXValidationHandler.mark(control, false, "Too long"), control, label, message) > 0);
+    assertEquals("Too long", message.getText());
+
+    assertTrue(changes(() -> DefaultFXValidationHandler.mark(control, true, null), control, label, message) > 0);
+    assertFalse(control.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+    assertFalse(message.isVisible());
+    assertEquals(0, changes(() -> DefaultFXValidationHandler.mark(control, true, "ignored"), control, label, message));
+  }
+
+  @Test
+  public void testPseudoClassMode() {
+    System.out.println("pseudo class mode");
+    TextField control = new TextField();
+    Label label = new Label("Name");
+    label.setLabelFor(control);
+    VBox root = new VBox(label, control);
+    LabelService.initialize(root);
+
+    FXValidatorService.setStylingMode(StylingMode.PSEUDO_CLASS);
+    try {
+      AtomicInteger styleChanges = new AtomicInteger();
+      ListChangeListener<String> styleListener = change -> styleChanges.incrementAndGet();
+      control.getStyleClass().addListener(styleListener);
+      label.getStyleClass().addListener(styleListener);
+
+      DefaultFXValidationHandler.mark(control, false, "Required");
+      assertTrue(control.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertTrue(label.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      DefaultFXValidationHandler.mark(control, true, null);
+      assertFalse(control.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertFalse(label.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertEquals(0, styleChanges.get());
+
+      DefaultFXValidationHandler.mark(control, false, "Required");
+      FXValidatorService.setStylingMode(StylingMode.STYLE_CLASS);
+      DefaultFXValidationHandler.mark(control, false, "Required");
+      assertFalse(control.getPseudoClassStates().contains(FXValidatorService.AEFX_INVALID));
+      assertTrue(control.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+    } finally {
+      FXValidatorService.setStylingMode(StylingMode.STYLE_CLASS);
+    }
+  }
+
+  @Test
+  public void testMoveInvalidField() {
+    System.out.println("move invalid field");
+    TextField control = new TextField();
+    Label label = new Label("Name");
+    label.setLabelFor(control);
+    Label message = new Label();
+    message.setLabelFor(control);
+    message.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+    HBox row = new HBox(label, control, message);
+    Label other = new Label("Other");
+    VBox root = new VBox(other, row);
+    LabelService.watch(root);
+    DefaultFXValidationHandler.mark(control, false, "Too short");
+    assertTrue(message.isVisible());
+
+    // reorder in one change
+    root.getChildren().setAll(row, other);
+    assertTrue(message.isVisible());
+    assertEquals(2, LabelService.getLabelsFor(control).size());
+
+    // remove and add again
+    root.getChildren().remove(row);
+    root.getChildren().add(row);
+    assertTrue(message.isVisible());
+    assertEquals("Too short", message.getText());
+    assertEquals(2, LabelService.getLabelsFor(control).size());
+
+    // move within the row
+    row.getChildren().remove(message);
+    row.getChildren().add(0, message);
+    assertTrue(message.isVisible());
+
+    // the marks still follow the validation
+    DefaultFXValidationHandler.mark(control, true, null);
+    assertFalse(message.isVisible());
+    DefaultFXValidationHandler.mark(control, false, "Too long");
+    assertTrue(message.isVisible());
+    assertEquals("Too long", message.getText());
+
+    // a message label of a valid control gets hidden when re-added
+    DefaultFXValidationHandler.mark(control, true, null);
+    message.setVisible(true);
+    row.getChildren().remove(message);
+    row.getChildren().add(message);
+    assertFalse(message.isVisible());
+    LabelService.unwatch(root);
+  }
+
+  @Test
+  public void testMarkNewLabels() {
+    System.out.println("mark new labels");
+    TextField control = new TextField();
+    VBox root = new VBox(control);
+    LabelService.initialize(root);
+    DefaultFXValidationHandler.mark(control, false, "Required");
+
+    Label label = new Label("Name");
+    label.setLabelFor(control);
+    root.getChildren().add(label);
+    LabelService.register(label);
+    DefaultFXValidationHandler.mark(control, false, "Required");
+    assertTrue(label.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+  }
+
+  @Test
+  public void testMissingLabelsWarnOnce() {
+    System.out.println("missing labels warn once");
+    AtomicInteger warnings = new AtomicInteger();
+    Handler handler = new Handler() {
+      @Override
+      public void publish(LogRecord record) {
+        if (record.getLevel() == Level.WARNING) {
+          warnings.incrementAndGet();
+        }
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    Logger logger = Logger.getLogger(DefaultFXValidationHandler.class.getName());
+    logger.addHandler(handler);
+    try {
+      TextField control = new TextField();
+      for (int i = 0; i < 10; i++) {
+        DefaultFXValidationHandler.mark(control, i % 2 == 0, "Required");
+      }
+      assertEquals(1, warnings.get());
+    } finally {
+      logger.removeHandler(handler);
+    }
+  }
+}
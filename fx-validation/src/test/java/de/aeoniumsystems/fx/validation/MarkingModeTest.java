@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that marks get applied once per pulse in {@link MarkingMode#PULSE}.
+ *
+ * @author robert rohm
+ */
+public class MarkingModeTest {
+
+  public static class Form {
+
+    @FXString(minLength = 3, maxLength = 5)
+    public TextField code = new TextField();
+
+    public Label message = new Label();
+
+    public VBox root = new VBox();
+
+    public Form() {
+      Label codeLabel = new Label("Code");
+      codeLabel.setLabelFor(code);
+      message.setLabelFor(code);
+      message.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+      root.getChildren().addAll(codeLabel, code, message);
+    }
+  }
+
+  /**
+   * Run the pre-layout pulse listener of the scene, as the pulse would do.
+   *
+   * @param scene The scene
+   */
+  private static void pulse(Scene scene) {
+    Runnable queue = (Runnable) scene.getProperties().get(ValidationScheduler.class.getName());
+    if (queue != null) {
+      queue.run();
+    }
+  }
+
+  @Test
+  public void testMarkOncePerPulse() throws Exception {
+    System.out.println("mark once per pulse");
+    Form form = new Form();
+    fx(() -> {
+      Scene scene = new Scene(form.root);
+      FXValidatorService.initialize(form.root, form);
+      FXValidatorService.setMarkingMode(MarkingMode.PULSE);
+      try {
+        AtomicInteger textChanges = new AtomicInteger();
+        form.message.textProperty().addListener(observable -> textChanges.incrementAndGet());
+
+        form.code.setText("a");
+        form.code.setText("abcdefg");
+        form.code.setText("ab");
+        // recorded, but not visible yet
+        assertFalse(FXValidatorService.getValidators(form.code).get(0).isValidProperty().get());
+        assertEquals(0, textChanges.get());
+        assertFalse(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+        pulse(scene);
+        assertEquals(1, textChanges.get());
+        assertEquals("Please enter at least 3 characters.", form.message.getText());
+        assertTrue(form.message.isVisible());
+        assertTrue(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+        form.code.setText("abc");
+        form.code.setText("a");
+        form.code.setText("abcd");
+        pulse(scene);
+        assertFalse(form.message.isVisible());
+        assertFalse(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+
+        // disposed controls do not get marked anymore
+        form.code.setText("a");
+        FXValidatorService.dispose(form);
+        pulse(scene);
+        assertFalse(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+      } finally {
+        FXValidatorService.setMarkingMode(MarkingMode.IMMEDIATE);
+      }
+    });
+  }
+
+  @Test
+  public void testDrainWithoutShowingWindow() throws Exception {
+    System.out.println("drain without showing window");
+    Form form = new Form();
+    fx(() -> {
+      new Scene(form.root);
+      FXValidatorService.initialize(form.root, form);
+      FXValidatorService.setValidationMode(ValidationMode.PULSE);
+      FXValidatorService.setMarkingMode(MarkingMode.PULSE);
+      form.code.setText("ab");
+      assertFalse(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+    });
+    try {
+      // the scene has no window and gets no pulse - the queue drains anyway
+      fx(() -> {
+        assertFalse(FXValidatorService.getValidators(form.code).get(0).isValidProperty().get());
+        assertTrue(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+        assertEquals("Please enter at least 3 characters.", form.message.getText());
+        form.code.setText("abc");
+      });
+      fx(() -> {
+        assertTrue(FXValidatorService.getValidators(form.code).get(0).isValidProperty().get());
+        assertFalse(form.code.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR));
+      });
+    } finally {
+      fx(() -> {
+        FXValidatorService.dispose(form);
+        FXValidatorService.setValidationMode(ValidationMode.IMMEDIATE);
+        FXValidatorService.setMarkingMode(MarkingMode.IMMEDIATE);
+      });
+    }
+  }
+}
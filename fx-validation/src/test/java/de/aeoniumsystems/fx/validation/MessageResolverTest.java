@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import de.aeoniumsystems.fx.validation.rules.MessageTemplate;
+import de.aeoniumsystems.fx.validation.rules.ValidationResult;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the message templates and the cache of localized messages.
+ *
+ * @author robert rohm
+ */
+public class MessageResolverTest {
+
+  public static class German extends ListResourceBundle {
+
+    @Override
+    protected Object[][] getContents() {
+      return new Object[][]{
+        {"code.short", "Bitte mindestens %d Zeichen eingeben."},
+        {"required", "Pflichtfeld"}
+      };
+    }
+  }
+
+  public static class English extends ListResourceBundle {
+
+    @Override
+    protected Object[][] getContents() {
+      return new Object[][]{
+        {"code.short", "Please enter at least %d characters."},
+        {"required", "Required"}
+      };
+    }
+  }
+
+  public static class Form {
+
+    @FXString(minLength = 3, messageMinLength = "code.short")
+    public TextField code = new TextField();
+
+    public Label message = new Label();
+
+    public VBox root = new VBox();
+
+    public Form() {
+      Label codeLabel = new Label("Code");
+      codeLabel.setLabelFor(code);
+      message.setLabelFor(code);
+      message.getStyleClass().add(FXValidatorService.AEFX_VALIDATION_MSG);
+      root.getChildren().addAll(codeLabel, code, message);
+    }
+  }
+
+  @AfterEach
+  public void resetBundle() {
+    FXValidatorService.setBundle(null);
+  }
+
+  @Test
+  public void testTemplate() {
+    System.out.println("template");
+    assertEquals("at least 3 characters", MessageTemplate.compile("at least %d characters").render(3));
+    assertEquals("3 to 3", MessageTemplate.compile("%d to %d").render(3));
+    assertEquals("100% of 7", MessageTemplate.compile("100%% of %d").render(7));
+    assertEquals("50%s", MessageTemplate.compile("50%s").render(1));
+    assertFalse(MessageTemplate.compile("plain").hasPlaceholder());
+    assertTrue(MessageTemplate.compile("%d").hasPlaceholder());
+  }
+
+  @Test
+  public void testTemplateWithoutPlaceholderIsLiteral() {
+    System.out.println("template without placeholder");
+    // String.format has only been applied to messages containing %d
+    assertEquals("100%% sure", MessageTemplate.compile("100%% sure").render(7));
+    assertEquals("100%% sure", MessageResolver.resolve(ValidationResult.invalid("100%% sure")));
+    assertEquals("100%% sure", MessageResolver.resolve(ValidationResult.invalid("100%% sure", 7)));
+  }
+
+  @Test
+  public void testResolveWithoutBundle() {
+    System.out.println("resolve without bundle");
+    ValidationResult result = ValidationResult.invalid("Please enter at least %d characters.", 4);
+    assertEquals("Please enter at least 4 characters.", MessageResolver.resolve(result));
+    assertEquals("Please enter at least %d characters.", result.getKey());
+    assertEquals(null, MessageResolver.resolve(ValidationResult.VALID));
+  }
+
+  @Test
+  public void testResolveIsCached() {
+    System.out.println("resolve is cached");
+    FXValidatorService.setBundle(new German());
+    ValidationResult result = ValidationResult.invalid("code.short", 3);
+    ValidationResult required = ValidationResult.invalid("required");
+    ValidationResult unknown = ValidationResult.invalid("Not in the bundle");
+
+    String message = MessageResolver.resolve(result);
+    assertEquals("Bitte mindestens 3 Zeichen eingeben.", message);
+    assertSame(message, MessageResolver.resolve(result));
+    assertEquals("Pflichtfeld", MessageResolver.resolve(required));
+    assertEquals("Not in the bundle", MessageResolver.resolve(unknown));
+    assertEquals(3, MessageResolver.size());
+
+    FXValidatorService.setBundle(new English());
+    assertEquals(0, MessageResolver.size());
+    assertEquals("Please enter at least 3 characters.", MessageResolver.resolve(result));
+    assertEquals("Required", MessageResolver.resolve(required));
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    System.out.println("cache is bounded");
+    FXValidatorService.setBundle(new German());
+    for (int i = 0; i < MessageResolver.MAX_SIZE * 3; i++) {
+      MessageResolver.resolve(ValidationResult.invalid("message " + i));
+    }
+    assertTrue(MessageResolver.size() <= MessageResolver.MAX_SIZE);
+  }
+
+  @Test
+  public void testSetBundleRerendersMessages() throws Exception {
+    System.out.println("setBundle re-renders messages");
+    Form form = new Form();
+    ResourceBundle german = new German();
+    fx(() -> {
+      FXValidatorService.setBundle(german);
+      FXValidatorService.initialize(form.root, form);
+      form.code.setText("a");
+      assertTrue(form.message.isVisible());
+      assertEquals("Bitte mindestens 3 Zeichen eingeben.", form.message.getText());
+
+      FXValidatorService.setBundle(new English());
+      assertEquals("Please enter at least 3 characters.", form.message.getText());
+
+      form.code.setText("abc");
+      assertFalse(form.message.isVisible());
+      FXValidatorService.setBundle(german);
+      assertFalse(form.message.isVisible());
+      FXValidatorService.dispose(form);
+    });
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import de.aeoniumsystems.fx.validation.annotations.FXCrossValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXItemValidation;
+import de.aeoniumsystems.fx.validation.annotations.FXRequired;
+import de.aeoniumsystems.fx.validation.annotations.FXString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.VBox;
+import static de.aeoniumsystems.fx.validation.FXTestSupport.fx;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the snapshot based parallel validation.
+ *
+ * @author robert rohm
+ */
+public class ParallelValidationTest {
+
+  public static class Form {
+
+    @FXRequired
+    public TextField name = new TextField("Name");
+
+    @FXString(minLength = 2)
+    public TextField code = new TextField("a");
+
+    @FXString(maxLength = 3)
+    public TextField city = new TextField("Mannheim");
+
+    public VBox root = new VBox();
+
+    public Form() {
+      for (TextField field : List.of(name, code, city)) {
+        Label label = new Label();
+        label.setLabelFor(field);
+        root.getChildren().addAll(label, field);
+      }
+    }
+  }
+
+  public static class ItemForm {
+
+    public TextField first = new TextField("a");
+
+    public TextField second = new TextField("b");
+
+    public ListView<String> list = new ListView<>(FXCollections.observableArrayList("x", " ", "y"));
+
+    public VBox root = new VBox();
+
+    public ItemForm() {
+      for (TextField field : List.of(first, second)) {
+        Label label = new Label();
+        label.setLabelFor(field);
+        root.getChildren().addAll(label, field);
+      }
+      root.getChildren().add(list);
+    }
+
+    @FXCrossValidation(fields = {"first", "second"}, target = "second", message = "The values must match.")
+    private boolean sameValues() {
+      return first.getText().equals(second.getText());
+    }
+
+    @FXItemValidation(items = "list", message = "Blank entry.")
+    private boolean notBlank(String text) {
+      return !text.isBlank();
+    }
+  }
+
+  @Test
+  public void testChecksRunOffThread() throws Exception {
+    System.out.println("checks run off thread");
+    Form form = new Form();
+    Set<Boolean> fxThread = ConcurrentHashMap.newKeySet();
+    Executor executor = command -> new Thread(() -> {
+      fxThread.add(Platform.isFxApplicationThread());
+      command.run();
+    }).start();
+
+    CompletableFuture<List<ValidationFailure>> result = fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      return FXValidatorService.validateParallel(form, executor);
+    });
+    List<ValidationFailure> failures = result.get(10, TimeUnit.SECONDS);
+
+    assertEquals(Set.of(false), fxThread);
+    assertEquals(2, failures.size());
+    assertSame(form.code, failures.get(0).control());
+    assertSame(form.city, failures.get(1).control());
+    assertEquals("Please enter max. 3 characters.", failures.get(1).message());
+    assertTrue(fx(() -> form.city.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)));
+    assertFalse(fx(() -> FXValidatorService.getValidators(form.city).get(0).isValidProperty().get()));
+    fx(() -> {
+      FXValidatorService.dispose(form);
+      return null;
+    });
+  }
+
+  @Test
+  public void testOutdatedResultsAreNotApplied() throws Exception {
+    System.out.println("outdated results are not applied");
+    Form form = new Form();
+    List<Runnable> deferred = new ArrayList<>();
+    Executor executor = deferred::add;
+
+    CompletableFuture<List<ValidationFailure>> result = fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      CompletableFuture<List<ValidationFailure>> started = FXValidatorService.validateParallel(form, executor);
+      // the user keeps typing while the checks run
+      form.city.setText("MA");
+      return started;
+    });
+    for (Runnable runnable : deferred) {
+      runnable.run();
+    }
+    List<ValidationFailure> failures = result.get(10, TimeUnit.SECONDS);
+
+    // reported from the snapshot, but the newer validation stays applied
+    assertEquals(2, failures.size());
+    assertFalse(fx(() -> form.city.getStyleClass().contains(FXValidatorService.AEFX_VALIDATION_ERROR)));
+    assertTrue(fx(() -> FXValidatorService.getValidators(form.city).get(0).isValidProperty().get()));
+    fx(() -> {
+      FXValidatorService.dispose(form);
+      return null;
+    });
+  }
+
+  @Test
+  public void testUnknownController() throws Exception {
+    System.out.println("unknown controller");
+    assertTrue(fx(() -> FXValidatorService.validateParallel(new Object())).get(10, TimeUnit.SECONDS).isEmpty());
+  }
+
+  @Test
+  public void testIncludesItemsAndCrossRules() throws Exception {
+    System.out.println("includes items and cross rules");
+    ItemForm form = new ItemForm();
+    List<ValidationFailure> failures = fx(() -> {
+      FXValidatorService.initialize(form.root, form);
+      return FXValidatorService.validateParallel(form);
+    }).get(10, TimeUnit.SECONDS);
+
+    assertEquals(2, failures.size());
+    assertSame(form.second, failures.get(0).control());
+    assertEquals("The values must match.", failures.get(0).message());
+    assertSame(form.list, failures.get(1).control());
+    assertEquals("Blank entry.", failures.get(1).message());
+    fx(() -> {
+      FXValidatorService.dispose(form);
+      return null;
+    });
+  }
+}
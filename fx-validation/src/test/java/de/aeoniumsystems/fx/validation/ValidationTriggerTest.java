@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleStringProperty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link ValidationTrigger}.
+ *
+ * @author robert rohm
+ */
+public class ValidationTriggerTest {
+
+  @Test
+  public void testValidatesOncePerChange() {
+    System.out.println("once per change");
+    SimpleStringProperty text = new SimpleStringProperty("");
+    SimpleBooleanProperty disabled = new SimpleBooleanProperty(false);
+    AtomicInteger runs = new AtomicInteger();
+
+    ValidationTrigger instance = new ValidationTrigger(null, List.of(text, disabled), runs::incrementAndGet);
+    instance.install();
+
+    text.set("a");
+    assertEquals(1, runs.get());
+    text.set("ab");
+    assertEquals(2, runs.get());
+
+    // further triggers without a change, e.g. key or focus events:
+    instance.fire();
+    instance.fire();
+    assertEquals(2, runs.get());
+
+    // equal, but not identical value:
+    text.set(new String("ab"));
+    assertEquals(2, runs.get());
+
+    disabled.set(true);
+    assertEquals(3, runs.get());
+  }
+
+  @Test
+  public void testFirstFireValidates() {
+    System.out.println("first fire");
+    SimpleStringProperty text = new SimpleStringProperty(null);
+    AtomicInteger runs = new AtomicInteger();
+
+    ValidationTrigger instance = new ValidationTrigger(null, List.of(text), runs::incrementAndGet);
+    instance.fire();
+    assertEquals(1, runs.get());
+    instance.fire();
+    assertEquals(1, runs.get());
+
+    instance.reset();
+    instance.fire();
+    assertEquals(2, runs.get());
+  }
+
+  @Test
+  public void testUninstall() {
+    System.out.println("uninstall");
+    SimpleStringProperty text = new SimpleStringProperty("");
+    AtomicInteger runs = new AtomicInteger();
+
+    ValidationTrigger instance = new ValidationTrigger(null, List.of(text), runs::incrementAndGet);
+    instance.install();
+    instance.uninstall();
+
+    text.set("a");
+    assertEquals(0, runs.get());
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Robert Rohm &lt;r.rohm@aeonium-systems.de&gt;.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.scene.input.KeyEvent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link ValidityProperty} and {@link ValidityStore}.
+ *
+ * @author robert rohm
+ */
+public class ValidityPropertyTest {
+
+  @Test
+  public void testStore() {
+    System.out.println("store");
+    ValidityStore store = new ValidityStore();
+    List<RequiredValidator> validators = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      RequiredValidator validator = new RequiredValidator();
+      validator.setValid(i % 3 == 0);
+      validator.attachValidity(store);
+      validators.add(validator);
+    }
+    assertEquals(200, store.size());
+    for (int i = 0; i < 200; i++) {
+      assertEquals(i % 3 == 0, store.get(i));
+      assertEquals(i % 3 == 0, validators.get(i).isValid());
+    }
+    validators.get(130).setValid(false);
+    validators.get(131).setValid(true);
+    assertFalse(store.get(130));
+    assertTrue(store.get(131));
+
+    // attaching again keeps the slot
+    validators.get(0).attachValidity(store);
+    assertEquals(200, store.size());
+  }
+
+  @Test
+  public void testAggregateWithoutListeners() {
+    System.out.println("aggregate without listeners");
+    FXValidationAggregate aggregate = new FXValidationAggregate();
+    RequiredValidator validator = new RequiredValidator();
+    aggregate.add(validator);
+    assertFalse(validator.isValidityObserved());
+    assertEquals(1, aggregate.getInvalidCount());
+
+    validator.setValid(true);
+    assertTrue(aggregate.isValid());
+
+    // a second aggregate falls back to a listener
+    FXValidationAggregate second = new FXValidationAggregate();
+    second.add(validator);
+    assertTrue(validator.isValidityObserved());
+    validator.setValid(false);
+    assertEquals(1, aggregate.getInvalidCount());
+    assertEquals(1, second.getInvalidCount());
+    second.remove(validator);
+    assertFalse(validator.isValidityObserved());
+  }
+
+  @Test
+  public void testListenersAndBinding() {
+    System.out.println("listeners and binding");
+    RequiredValidator validator = new RequiredValidator();
+    List<Boolean> changes = new ArrayList<>();
+    validator.isValidProperty().addListener((observable, oldValue, newValue) -> {
+      assertTrue(observable == validator.isValidProperty());
+      changes.add(newValue);
+    });
+    validator.setValid(true);
+    validator.setValid(true);
+    validator.setValid(false);
+    assertEquals(List.of(true, false), changes);
+
+    SimpleBooleanProperty source = new SimpleBooleanProperty(true);
+    validator.isValidProperty().bind(source);
+    assertTrue(validator.isValidProperty().isBound());
+    assertTrue(validator.isValid());
+    source.set(false);
+    assertFalse(validator.isValid());
+    validator.isValidProperty().unbind();
+    source.set(true);
+    assertFalse(validator.isValid());
+    assertEquals(List.of(true, false, true, false), changes);
+  }
+
+  @Test
+  public void testValidatorOwnsNoHelperObjects() throws Exception {
+    System.out.println("validator owns no helper objects");
+    ValidityStore store = new ValidityStore();
+    FXValidationAggregate aggregate = new FXValidationAggregate();
+    RequiredValidator first = new RequiredValidator();
+    RequiredValidator second = new RequiredValidator();
+    for (RequiredValidator validator : List.of(first, second)) {
+      validator.attachValidity(store);
+      aggregate.add(validator);
+      validator.setValid(true);
+      validator.setValid(false);
+    }
+    assertEquals(2, aggregate.getInvalidCount());
+    assertSame(first.getEventTypes(), second.getEventTypes());
+
+    // all references point to shared objects - no property, no listeners
+    List<Object> shared = List.of(store, aggregate, first.getEventTypes());
+    for (Class<?> type = first.getClass(); type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+          continue;
+        }
+        field.setAccessible(true);
+        Object value = field.get(first);
+        assertTrue(value == null || shared.stream().anyMatch(object -> object == value), field.getName());
+      }
+    }
+
+    // the property is created on demand and shows the state
+    assertFalse(first.isValidProperty().get());
+    assertSame(first.isValidProperty(), first.isValidProperty());
+    assertFalse(first.isValidityObserved());
+  }
+
+  @Test
+  public void testAddEventType() {
+    System.out.println("add event type");
+    RequiredValidator plain = new RequiredValidator();
+    RequiredValidator keyed = new RequiredValidator() {
+      {
+        this.addEventType(KeyEvent.KEY_RELEASED);
+      }
+    };
+    assertTrue(plain.getEventTypes().isEmpty());
+    assertEquals(List.of(KeyEvent.KEY_RELEASED), keyed.getEventTypes());
+    assertTrue(new RequiredValidator().getEventTypes().isEmpty());
+  }
+}
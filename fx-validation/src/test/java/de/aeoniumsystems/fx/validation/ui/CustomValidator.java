@@ -61,12 +61,12 @@ public class CustomValidator extends FXAbstractValidator<TextInputControl, FXVal
   public void validate(TextInputControl control, FXValidation annotation) throws ValidationException {
     List<String> validInput = Arrays.asList("Apples", "Peas", "Bananas");
 
-    // Step 1 - Evaluate the input and set the isValid property accordingly:
-    this.isValid.set(validInput.contains(control.getText()));
+    // Step 1 - Evaluate the input and set the validity accordingly:
+    this.setValid(validInput.contains(control.getText()));
 
     // Step 2 - Tell the validation framework if the input is invalid - throw a 
     // ValidationException with a proper message:
-    if (!this.isValid.get()) {
+    if (!this.isValid()) {
       throw new ValidationException("Only Apples, Peas or Bananas!");
     }
   }
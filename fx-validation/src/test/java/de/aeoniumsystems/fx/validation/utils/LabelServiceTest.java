@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2024 aeonium software systems UG (haftungsbeschränkt).
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package de.aeoniumsystems.fx.validation.utils;
+
+import de.aeoniumsystems.fx.validation.FXTestSupport;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.VBox;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link LabelService}.
+ *
+ * @author robert rohm
+ */
+public class LabelServiceTest {
+
+  @BeforeAll
+  public static void startPlatform() {
+    FXTestSupport.startPlatform();
+  }
+
+  @Test
+  public void testInitializeTwice_registersOnce() {
+    System.out.println("initialize twice");
+    TextField field = new TextField();
+    Label label = new Label("Field");
+    label.setLabelFor(field);
+    VBox root = new VBox(label, field);
+
+    LabelService.initialize(root);
+    LabelService.initialize(root);
+
+    assertEquals(1, LabelService.getLabelsFor(field).size());
+    assertSame(label, LabelService.getLabelsFor(field).get(0));
+    assertTrue(label.disableProperty().isBound());
+  }
+
+  @Test
+  public void testSceneIndexFollowsTheLabel() {
+    System.out.println("scene index");
+    TextField field = new TextField();
+    Label label = new Label("Field");
+    label.setLabelFor(field);
+    VBox form = new VBox(label, field);
+    VBox root = new VBox(form);
+    Scene scene = new Scene(root);
+
+    LabelService.initialize(scene);
+    assertTrue(LabelService.getLabels(scene).contains(label));
+
+    // detaching the subtree removes the label from the index:
+    root.getChildren().remove(form);
+    assertFalse(LabelService.getLabels(scene).contains(label));
+
+    Scene other = new Scene(form);
+    assertTrue(LabelService.getLabels(other).contains(label));
+    assertEquals(1, LabelService.getLabelsFor(field).size());
+  }
+
+  @Test
+  public void testRelease() {
+    System.out.println("release");
+    TextField field = new TextField();
+    Label label = new Label("Field");
+    label.setLabelFor(field);
+    Scene scene = new Scene(new VBox(label, field));
+
+    LabelService.initialize(scene);
+    LabelService.release(field);
+
+    assertNull(LabelService.getLabelsFor(field));
+    assertFalse(label.disableProperty().isBound());
+    assertTrue(LabelService.getLabels(scene).isEmpty());
+  }
+
+  @Test
+  public void testWatch_indexesAddedAndRemovedNodes() {
+    System.out.println("watch");
+    VBox root = new VBox();
+    LabelService.watch(root);
+
+    TextField field = new TextField();
+    Label label = new Label("Field");
+    label.setLabelFor(field);
+    VBox form = new VBox(label, field);
+
+    root.getChildren().add(form);
+    assertSame(label, LabelService.getLabelsFor(field).get(0));
+
+    root.getChildren().remove(form);
+    assertNull(LabelService.getLabelsFor(field));
+  }
+
+  @Test
+  public void testWatch_lazyTabContent() {
+    System.out.println("watch tab content");
+    TabPane tabPane = new TabPane(new Tab("first"));
+    VBox root = new VBox(tabPane);
+    LabelService.watch(root);
+
+    TextField field = new TextField();
+    Label label = new Label("Field");
+    label.setLabelFor(field);
+    Tab second = new Tab("second");
+    tabPane.getTabs().add(second);
+
+    // content loaded when the tab gets selected:
+    second.setContent(new VBox(label, field));
+    assertSame(label, LabelService.getLabelsFor(field).get(0));
+
+    TextField other = new TextField();
+    Label otherLabel = new Label("Other");
+    otherLabel.setLabelFor(other);
+    TitledPane titledPane = new TitledPane();
+    ((VBox) second.getContent()).getChildren().add(titledPane);
+    titledPane.setContent(new VBox(otherLabel, other));
+    assertSame(otherLabel, LabelService.getLabelsFor(other).get(0));
+
+    LabelService.unwatch(root);
+    tabPane.getTabs().remove(second);
+    // no longer watched, the labels stay registered:
+    assertEquals(1, LabelService.getLabelsFor(field).size());
+  }
+}